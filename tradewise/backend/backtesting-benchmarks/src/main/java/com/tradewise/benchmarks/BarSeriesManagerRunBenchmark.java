@@ -0,0 +1,80 @@
+package com.tradewise.benchmarks;
+
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.ComparisonOperator;
+import com.tradewise.backtestingservice.engine.PrimitiveBacktestEngine;
+import com.tradewise.backtestingservice.engine.PrimitiveStrategy;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import com.tradewise.backtestingservice.engine.Ta4jBacktestEngine;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.TradingRecord;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation cost per indicator and operator. ta4j indicators memoise their values, so the ta4j run
+ * builds a fresh strategy inside the measured call to time a cold run as the service performs it;
+ * the build itself only wires the indicators together, and {@link BuildStrategyBenchmark} times it
+ * alone. The vector run includes computing its signal bitsets, which is where the SIMD passes happen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class BarSeriesManagerRunBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bars;
+
+    @Param({"PRICE", "SMA", "EMA", "RSI"})
+    public String indicator;
+
+    @Param({"GREATER_THAN", "LESS_THAN", "CROSSES_ABOVE", "CROSSES_BELOW"})
+    public ComparisonOperator operator;
+
+    private final Ta4jBacktestEngine ta4jEngine = new Ta4jBacktestEngine();
+    private final PrimitiveBacktestEngine primitiveEngine = new PrimitiveBacktestEngine();
+    private BarColumns columns;
+    private BarSeries series;
+    private StrategyDefinition definition;
+    private PrimitiveStrategy primitiveStrategy;
+
+    @Setup
+    public void setUp() {
+        columns = SyntheticBars.randomWalk(bars, 42);
+        series = ta4jEngine.convertToBarSeries(columns);
+        definition = BenchmarkStrategies.of(indicator, operator);
+        primitiveStrategy = PrimitiveStrategy.compile(definition, columns);
+    }
+
+    @Benchmark
+    public TradingRecord ta4jRun() {
+        BaseStrategy ta4jStrategy = ta4jEngine.buildTa4jStrategy(definition, series);
+        return ta4jEngine.run(series, ta4jStrategy, 10);
+    }
+
+    @Benchmark
+    public TradeLog primitiveRun() {
+        return primitiveEngine.run(columns, primitiveStrategy, 10);
+    }
+
+    @Benchmark
+    public TradeLog vectorRun() {
+        return primitiveEngine.run(columns, primitiveStrategy.precomputeSignals(columns.size()), 10);
+    }
+}
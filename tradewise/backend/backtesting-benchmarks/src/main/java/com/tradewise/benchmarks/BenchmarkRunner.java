@@ -0,0 +1,30 @@
+package com.tradewise.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code target/benchmarks.jar}. Accepts the usual JMH command line and always adds
+ * the GC profiler, so every result carries {@code gc.alloc.rate.norm} (bytes allocated per operation).
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar                                    # everything
+ * java -jar target/benchmarks.jar BarSeriesManagerRun -p bars=100000 # one class, one size
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
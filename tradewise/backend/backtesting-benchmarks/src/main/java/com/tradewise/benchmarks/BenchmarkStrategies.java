@@ -0,0 +1,64 @@
+package com.tradewise.benchmarks;
+
+import com.tradewise.backtestingservice.engine.ComparisonOperator;
+import com.tradewise.backtestingservice.engine.ConditionSpec;
+import com.tradewise.backtestingservice.engine.IndicatorSpec;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Single-condition strategies covering every indicator and operator the strategy service accepts.
+ * The exit rule applies the opposite operator to the same operands.
+ */
+final class BenchmarkStrategies {
+
+    private BenchmarkStrategies() {
+    }
+
+    static StrategyDefinition of(String indicator, ComparisonOperator operator) {
+        return new StrategyDefinition(
+                indicator + " " + operator,
+                List.of(List.of(condition(indicator, operator))),
+                List.of(List.of(condition(indicator, opposite(operator))))
+        );
+    }
+
+    /** A strategy mixing all indicators, used where a single representative strategy is needed. */
+    static StrategyDefinition mixed() {
+        return new StrategyDefinition(
+                "mixed",
+                List.of(
+                        List.of(condition("SMA", ComparisonOperator.CROSSES_ABOVE), condition("RSI", ComparisonOperator.LESS_THAN)),
+                        List.of(condition("EMA", ComparisonOperator.CROSSES_ABOVE))
+                ),
+                List.of(
+                        List.of(condition("SMA", ComparisonOperator.CROSSES_BELOW)),
+                        List.of(condition("RSI", ComparisonOperator.GREATER_THAN), condition("PRICE", ComparisonOperator.LESS_THAN))
+                )
+        );
+    }
+
+    private static ConditionSpec condition(String indicator, ComparisonOperator operator) {
+        boolean crossing = operator == ComparisonOperator.CROSSES_ABOVE || operator == ComparisonOperator.CROSSES_BELOW;
+
+        return switch (indicator) {
+            case "PRICE" -> new ConditionSpec(IndicatorSpec.price(), operator, new IndicatorSpec("SMA", 50), null);
+            case "RSI" -> crossing
+                    ? new ConditionSpec(new IndicatorSpec("RSI", 14), operator, new IndicatorSpec("RSI", 28), null)
+                    : new ConditionSpec(new IndicatorSpec("RSI", 14), operator, null,
+                            operator == ComparisonOperator.LESS_THAN ? BigDecimal.valueOf(30) : BigDecimal.valueOf(70));
+            default -> new ConditionSpec(new IndicatorSpec(indicator, 10), operator, new IndicatorSpec(indicator, 50), null);
+        };
+    }
+
+    private static ComparisonOperator opposite(ComparisonOperator operator) {
+        return switch (operator) {
+            case GREATER_THAN -> ComparisonOperator.LESS_THAN;
+            case LESS_THAN -> ComparisonOperator.GREATER_THAN;
+            case CROSSES_ABOVE -> ComparisonOperator.CROSSES_BELOW;
+            case CROSSES_BELOW -> ComparisonOperator.CROSSES_ABOVE;
+        };
+    }
+}
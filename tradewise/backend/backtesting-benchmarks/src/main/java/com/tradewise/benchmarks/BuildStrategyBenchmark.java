@@ -0,0 +1,66 @@
+package com.tradewise.benchmarks;
+
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.ComparisonOperator;
+import com.tradewise.backtestingservice.engine.PrimitiveStrategy;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import com.tradewise.backtestingservice.engine.Ta4jBacktestEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ta4j builds lazy indicator objects, so its cost is independent of series length; the primitive
+ * engine computes whole indicator columns up front and is included for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuildStrategyBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bars;
+
+    @Param({"PRICE", "SMA", "EMA", "RSI"})
+    public String indicator;
+
+    @Param({"GREATER_THAN", "LESS_THAN", "CROSSES_ABOVE", "CROSSES_BELOW"})
+    public ComparisonOperator operator;
+
+    private final Ta4jBacktestEngine engine = new Ta4jBacktestEngine();
+    private BarColumns columns;
+    private BarSeries series;
+    private StrategyDefinition definition;
+
+    @Setup
+    public void setUp() {
+        columns = SyntheticBars.randomWalk(bars, 42);
+        series = engine.convertToBarSeries(columns);
+        definition = BenchmarkStrategies.of(indicator, operator);
+    }
+
+    @Benchmark
+    public BaseStrategy buildTa4jStrategy() {
+        return engine.buildTa4jStrategy(definition, series);
+    }
+
+    @Benchmark
+    public PrimitiveStrategy compilePrimitiveStrategy() {
+        return PrimitiveStrategy.compile(definition, columns);
+    }
+}
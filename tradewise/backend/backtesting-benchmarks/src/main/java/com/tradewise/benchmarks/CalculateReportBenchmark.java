@@ -0,0 +1,73 @@
+package com.tradewise.benchmarks;
+
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.PrimitiveBacktestEngine;
+import com.tradewise.backtestingservice.engine.PrimitiveStrategy;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import com.tradewise.backtestingservice.engine.Ta4jBacktestEngine;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import com.tradewise.backtestingservice.service.BacktestReportCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report cost over a fixed trading record. The calculation walks every bar once, so its cost grows
+ * with series length rather than with the number of positions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculateReportBenchmark {
+
+    private static final double INITIAL_CASH = 10_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int bars;
+
+    private final Ta4jBacktestEngine ta4jEngine = new Ta4jBacktestEngine();
+    private final PrimitiveBacktestEngine primitiveEngine = new PrimitiveBacktestEngine();
+    private final BacktestReportCalculator calculator = new BacktestReportCalculator();
+    private BarColumns columns;
+    private TradingRecord tradingRecord;
+    private TradeLog tradeLog;
+    private double amount;
+
+    @Setup
+    public void setUp() {
+        columns = SyntheticBars.randomWalk(bars, 42);
+        BarSeries series = ta4jEngine.convertToBarSeries(columns);
+
+        StrategyDefinition definition = BenchmarkStrategies.mixed();
+        amount = Math.max(1, Math.floor(INITIAL_CASH / columns.close()[0]));
+        tradingRecord = ta4jEngine.run(series, ta4jEngine.buildTa4jStrategy(definition, series), amount);
+        tradeLog = primitiveEngine.run(columns, PrimitiveStrategy.compile(definition, columns), amount);
+    }
+
+    /** Includes copying the ta4j record into a trade log, as the ta4j engine path does. */
+    @Benchmark
+    public BacktestReportResponse ta4jReport() {
+        return calculator.calculateReport("bench", "BENCH", columns, ta4jEngine.toTradeLog(tradingRecord, amount), INITIAL_CASH);
+    }
+
+    @Benchmark
+    public BacktestReportResponse primitiveReport() {
+        return calculator.calculateReport("bench", "BENCH", columns, tradeLog, INITIAL_CASH);
+    }
+}
@@ -0,0 +1,43 @@
+package com.tradewise.benchmarks;
+
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.Ta4jBacktestEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConvertToBarSeriesBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bars;
+
+    private final Ta4jBacktestEngine engine = new Ta4jBacktestEngine();
+    private BarColumns columns;
+
+    @Setup
+    public void setUp() {
+        columns = SyntheticBars.randomWalk(bars, 42);
+    }
+
+    @Benchmark
+    public BarSeries convertToBarSeries() {
+        return engine.convertToBarSeries(columns);
+    }
+}
@@ -0,0 +1,57 @@
+package com.tradewise.benchmarks;
+
+import com.tradewise.backtestingservice.engine.BarColumns;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded random-walk daily bars, so every fork of a benchmark sees the same series.
+ */
+final class SyntheticBars {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private SyntheticBars() {
+    }
+
+    static BarColumns randomWalk(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long firstClose = ZonedDateTime.of(1990, 1, 2, 16, 0, 0, 0, ZoneId.of("America/New_York"))
+                .toInstant().toEpochMilli();
+
+        long[] endTimes = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+        double last = 100;
+
+        for (int i = 0; i < size; i++) {
+            double o = round(last * (1 + gaussian(random) * 0.005));
+            double c = round(Math.max(1, last * (1 + gaussian(random) * 0.02)));
+            endTimes[i] = firstClose + i * DAY_MILLIS;
+            open[i] = o;
+            close[i] = c;
+            high[i] = Math.max(o, c) + 0.5;
+            low[i] = Math.max(0.01, Math.min(o, c) - 0.5);
+            volume[i] = 1_000_000 + random.nextInt(500_000);
+            last = c;
+        }
+
+        return new BarColumns("BENCH", endTimes, open, high, low, close, volume, size);
+    }
+
+    /** Box-Muller, since SplittableRandom has no nextGaussian on Java 17. */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.tradewise.backtestingservice.codec;
+
+import com.tradewise.backtestingservice.engine.BarColumns;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads market-data-service's {@value #MEDIA_TYPE_VALUE} bar payload into {@link BarColumns}
+ * without any per-bar objects. Layout, all big-endian:
+ *
+ * <pre>
+ * int     magic "TWB1"
+ * int     bar count n
+ * long    first end time, epoch millis
+ * varint  n - 1 end-time deltas in millis (unsigned LEB128; bars are sorted ascending)
+ * double  n opens, then n highs, n lows, n closes and n volumes
+ * </pre>
+ */
+public final class BinaryBarDecoder {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.tradewise.bars";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int MAGIC = 0x54574231;
+
+    private BinaryBarDecoder() {
+    }
+
+    public static BarColumns decode(String symbol, InputStream body) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(body));
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary bar payload");
+        }
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Negative bar count: " + count);
+        }
+
+        long[] endTimes = new long[count];
+        long endTime = in.readLong();
+        if (count > 0) {
+            endTimes[0] = endTime;
+        }
+        for (int i = 1; i < count; i++) {
+            endTime += readVarLong(in);
+            endTimes[i] = endTime;
+        }
+
+        byte[] buffer = new byte[count * Double.BYTES];
+        double[] open = readColumn(in, buffer, count);
+        double[] high = readColumn(in, buffer, count);
+        double[] low = readColumn(in, buffer, count);
+        double[] close = readColumn(in, buffer, count);
+        double[] volume = readColumn(in, buffer, count);
+
+        return new BarColumns(symbol, endTimes, open, high, low, close, volume, count);
+    }
+
+    private static double[] readColumn(DataInputStream in, byte[] buffer, int count) throws IOException {
+        in.readFully(buffer);
+        double[] column = new double[count];
+        ByteBuffer.wrap(buffer).asDoubleBuffer().get(column);
+        return column;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed end-time delta");
+    }
+}
@@ -0,0 +1,199 @@
+package com.tradewise.backtestingservice.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tradewise.backtestingservice.engine.BarColumns;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Reads market-data-service's JSON bar history, an array of {@code BarDTO} objects, token by token
+ * into {@link BarColumns}. No per-bar DTOs, ZonedDateTimes or BigDecimals are built: prices go
+ * straight from the parser into growable double columns. {@code endTime} may be an ISO-8601 string or
+ * Jackson's epoch-seconds timestamp. Unknown fields are skipped.
+ *
+ * <p>market-data-service already sends bars in ascending end-time order, so the order is only
+ * verified while reading; an out-of-order payload is sorted once at the end.
+ */
+public final class JsonBarDecoder {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final int END_TIME = 1;
+    private static final int OPEN = 1 << 1;
+    private static final int HIGH = 1 << 2;
+    private static final int LOW = 1 << 3;
+    private static final int CLOSE = 1 << 4;
+    private static final int VOLUME = 1 << 5;
+    private static final int ALL_FIELDS = END_TIME | OPEN | HIGH | LOW | CLOSE | VOLUME;
+
+    private JsonBarDecoder() {
+    }
+
+    public static BarColumns decode(String symbol, InputStream body) throws IOException {
+        Columns columns = new Columns();
+
+        try (JsonParser parser = JSON.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return columns.toBars(symbol);
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of bars, found " + token);
+            }
+
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a bar object at index " + columns.size + ", found " + token);
+                }
+                readBar(parser, columns);
+            }
+        }
+
+        return columns.toBars(symbol);
+    }
+
+    private static void readBar(JsonParser parser, Columns columns) throws IOException {
+        int i = columns.append();
+        int seen = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "endTime" -> {
+                    columns.endTimes[i] = readEpochMillis(parser);
+                    seen |= END_TIME;
+                }
+                case "open" -> {
+                    columns.open[i] = readDouble(parser, field);
+                    seen |= OPEN;
+                }
+                case "high" -> {
+                    columns.high[i] = readDouble(parser, field);
+                    seen |= HIGH;
+                }
+                case "low" -> {
+                    columns.low[i] = readDouble(parser, field);
+                    seen |= LOW;
+                }
+                case "close" -> {
+                    columns.close[i] = readDouble(parser, field);
+                    seen |= CLOSE;
+                }
+                case "volume" -> {
+                    columns.volume[i] = readDouble(parser, field);
+                    seen |= VOLUME;
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (seen != ALL_FIELDS) {
+            throw new IOException("Bar at index " + i + " is missing fields");
+        }
+        columns.checkOrder(i);
+    }
+
+    private static long readEpochMillis(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> {
+                try {
+                    yield DateTimeFormatter.ISO_DATE_TIME.parse(parser.getText(), Instant::from).toEpochMilli();
+                } catch (DateTimeParseException ex) {
+                    throw new IOException("Unreadable endTime: " + parser.getText(), ex);
+                }
+            }
+            case VALUE_NUMBER_INT -> parser.getLongValue() * 1000;
+            case VALUE_NUMBER_FLOAT -> parser.getDecimalValue().movePointRight(3).longValue();
+            default -> throw new IOException("Unreadable endTime token: " + parser.currentToken());
+        };
+    }
+
+    private static double readDouble(JsonParser parser, String field) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_STRING -> {
+                try {
+                    yield new BigDecimal(parser.getText()).doubleValue();
+                } catch (NumberFormatException ex) {
+                    throw new IOException("Unreadable " + field + ": " + parser.getText(), ex);
+                }
+            }
+            default -> throw new IOException("Unreadable " + field + " token: " + parser.currentToken());
+        };
+    }
+
+    private static final class Columns {
+        private long[] endTimes = new long[INITIAL_CAPACITY];
+        private double[] open = new double[INITIAL_CAPACITY];
+        private double[] high = new double[INITIAL_CAPACITY];
+        private double[] low = new double[INITIAL_CAPACITY];
+        private double[] close = new double[INITIAL_CAPACITY];
+        private double[] volume = new double[INITIAL_CAPACITY];
+        private int size;
+        private boolean sorted = true;
+
+        /** Reserves the next row and returns its index. */
+        private int append() {
+            if (size == endTimes.length) {
+                int capacity = endTimes.length + (endTimes.length >> 1);
+                endTimes = Arrays.copyOf(endTimes, capacity);
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                close = Arrays.copyOf(close, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+            }
+            return size++;
+        }
+
+        private void checkOrder(int i) {
+            if (i > 0 && endTimes[i] < endTimes[i - 1]) {
+                sorted = false;
+            }
+        }
+
+        private BarColumns toBars(String symbol) {
+            if (sorted) {
+                return new BarColumns(symbol, Arrays.copyOf(endTimes, size), Arrays.copyOf(open, size),
+                        Arrays.copyOf(high, size), Arrays.copyOf(low, size), Arrays.copyOf(close, size),
+                        Arrays.copyOf(volume, size), size);
+            }
+
+            int[] order = IntStream.range(0, size).boxed()
+                    .sorted(Comparator.comparingLong(i -> endTimes[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            return new BarColumns(symbol, permute(endTimes, order), permute(open, order), permute(high, order),
+                    permute(low, order), permute(close, order), permute(volume, order), size);
+        }
+
+        private static long[] permute(long[] column, int[] order) {
+            long[] permuted = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                permuted[i] = column[order[i]];
+            }
+            return permuted;
+        }
+
+        private static double[] permute(double[] column, int[] order) {
+            double[] permuted = new double[order.length];
+            for (int i = 0; i < order.length; i++) {
+                permuted[i] = column[order[i]];
+            }
+            return permuted;
+        }
+    }
+}
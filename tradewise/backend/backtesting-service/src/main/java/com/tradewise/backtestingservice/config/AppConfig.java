@@ -1,12 +1,110 @@
 package com.tradewise.backtestingservice.config;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
 @Configuration
+@EnableScheduling
 public class AppConfig {
+    /**
+     * Client for market-data-service history calls. Each response must start arriving within the
+     * bar fetch timeout, so a fetch abandoned by a caller still releases its thread and connection.
+     */
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient upstreamHttpClient,
+                                     @Value("${backtest.fetch.bars-timeout:30s}") Duration barFetchTimeout) {
+        return timedRestTemplate(upstreamHttpClient, barFetchTimeout);
+    }
+
+    /** Client for strategy-service calls, bounded by the shorter strategy fetch timeout. */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate strategyRestTemplate(CloseableHttpClient upstreamHttpClient,
+                                             @Value("${backtest.fetch.strategy-timeout:5s}") Duration strategyFetchTimeout) {
+        return timedRestTemplate(upstreamHttpClient, strategyFetchTimeout);
+    }
+
+    private static RestTemplate timedRestTemplate(CloseableHttpClient upstreamHttpClient, Duration responseTimeout) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+        requestFactory.setReadTimeout(responseTimeout);
+        return new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Pooled keep-alive client for calls to strategy-service and market-data-service. Connections are
+     * reused across requests instead of being opened per call; the per-route limit is sized for the
+     * fetch pool, job workers and sync requests all hitting the same two hosts. Idle connections are
+     * evicted before the upstream side is likely to close them.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(
+            @Value("${backtest.http.max-connections:64}") int maxConnections,
+            @Value("${backtest.http.max-connections-per-route:32}") int maxConnectionsPerRoute,
+            @Value("${backtest.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${backtest.http.read-timeout:30s}") Duration readTimeout,
+            @Value("${backtest.http.idle-timeout:30s}") Duration idleTimeout) {
+        PoolingHttpClientConnectionManager connections = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connections)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    /**
+     * CPU-bound pool for parallel simulations, kept apart from the common pool so sweeps cannot
+     * starve unrelated parallel streams. A parallelism of 0 means one worker per core.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool backtestForkJoinPool(@Value("${backtest.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(workers);
+    }
+
+    /**
+     * I/O pool for upstream history fetches. Its size bounds how many market-data calls a batch
+     * keeps in flight at once.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService backtestFetchExecutor(@Value("${backtest.fetch.concurrency:8}") int concurrency) {
+        return Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("backtest-fetch-"));
+    }
+
+    /**
+     * I/O pool for the bar fetches of single backtests, kept apart from {@link #backtestFetchExecutor}
+     * so their fetch timeouts never run out while queued behind a batch.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService backtestRunFetchExecutor(@Value("${backtest.fetch.run-concurrency:4}") int concurrency) {
+        return Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("backtest-run-fetch-"));
     }
 }
@@ -0,0 +1,29 @@
+package com.tradewise.backtestingservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Topics for distributed sweeps and batches. The work topic's partition count caps how many
+ * instances can consume units at once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "backtest.distributed.enabled", havingValue = "true")
+public class KafkaTopicsConfig {
+
+    @Bean
+    public NewTopic backtestWorkTopic(@Value("${backtest.distributed.work-topic:backtest-work}") String name,
+                                      @Value("${backtest.distributed.partitions:12}") int partitions) {
+        return TopicBuilder.name(name).partitions(partitions).build();
+    }
+
+    @Bean
+    public NewTopic backtestResultTopic(@Value("${backtest.distributed.reply-topic:backtest-results}") String name,
+                                        @Value("${backtest.distributed.partitions:12}") int partitions) {
+        return TopicBuilder.name(name).partitions(partitions).build();
+    }
+}
@@ -1,28 +1,186 @@
 package com.tradewise.backtestingservice.controller;
 
 import com.tradewise.backtestingservice.dto.BacktestRequest;
+import com.tradewise.backtestingservice.dto.BatchBacktestRequest;
+import com.tradewise.backtestingservice.dto.ParameterSweepRequest;
+import com.tradewise.backtestingservice.dto.PortfolioBacktestRequest;
+import com.tradewise.backtestingservice.dto.WalkForwardRequest;
+import com.tradewise.backtestingservice.dto.response.BacktestJobResponse;
 import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.dto.response.BarCacheStatsResponse;
+import com.tradewise.backtestingservice.dto.response.BatchBacktestResponse;
+import com.tradewise.backtestingservice.dto.response.DecisionPlanResponse;
+import com.tradewise.backtestingservice.dto.response.ParameterSweepResponse;
+import com.tradewise.backtestingservice.dto.response.PortfolioBacktestResponse;
+import com.tradewise.backtestingservice.dto.response.ResultCacheStatsResponse;
+import com.tradewise.backtestingservice.dto.response.WalkForwardResponse;
+import com.tradewise.backtestingservice.model.BacktestJob;
+import com.tradewise.backtestingservice.service.BacktestJobService;
+import com.tradewise.backtestingservice.service.BacktestLimits;
+import com.tradewise.backtestingservice.service.BacktestProgressListener;
+import com.tradewise.backtestingservice.service.BacktestResultCache;
+import com.tradewise.backtestingservice.service.BacktestTimings;
+import com.tradewise.backtestingservice.service.BacktestStreamService;
 import com.tradewise.backtestingservice.service.BacktestingService;
+import com.tradewise.backtestingservice.service.BatchBacktestService;
+import com.tradewise.backtestingservice.service.HistoricalBarCache;
+import com.tradewise.backtestingservice.service.ParameterSweepService;
+import com.tradewise.backtestingservice.service.PortfolioBacktestService;
+import com.tradewise.backtestingservice.service.WalkForwardService;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/backtest")
 public class BacktestingController {
 
     private final BacktestingService backtestingService;
+    private final ParameterSweepService parameterSweepService;
+    private final BatchBacktestService batchBacktestService;
+    private final WalkForwardService walkForwardService;
+    private final PortfolioBacktestService portfolioBacktestService;
+    private final BacktestJobService backtestJobService;
+    private final BacktestStreamService backtestStreamService;
+    private final HistoricalBarCache barCache;
+    private final BacktestResultCache resultCache;
+    private final BacktestLimits backtestLimits;
 
-    public BacktestingController(BacktestingService backtestingService) {
+    public BacktestingController(BacktestingService backtestingService,
+                                 ParameterSweepService parameterSweepService,
+                                 BatchBacktestService batchBacktestService,
+                                 WalkForwardService walkForwardService,
+                                 PortfolioBacktestService portfolioBacktestService,
+                                 BacktestJobService backtestJobService,
+                                 BacktestStreamService backtestStreamService,
+                                 HistoricalBarCache barCache,
+                                 BacktestResultCache resultCache,
+                                 BacktestLimits backtestLimits) {
         this.backtestingService = backtestingService;
+        this.parameterSweepService = parameterSweepService;
+        this.batchBacktestService = batchBacktestService;
+        this.walkForwardService = walkForwardService;
+        this.portfolioBacktestService = portfolioBacktestService;
+        this.backtestJobService = backtestJobService;
+        this.backtestStreamService = backtestStreamService;
+        this.barCache = barCache;
+        this.resultCache = resultCache;
+        this.backtestLimits = backtestLimits;
     }
 
     @PostMapping
     public ResponseEntity<BacktestReportResponse> runBacktest(
             @Valid @RequestBody BacktestRequest request,
-            @RequestHeader("X-User-Email") String userEmail) {
+            @RequestHeader("X-User-Email") String userEmail,
+            @RequestHeader(value = "X-Request-Timeout-Ms", required = false) Long gatewayTimeoutMillis,
+            @RequestHeader(value = "X-Backtest-Timing", defaultValue = "false") boolean timingRequested) {
+
+        BacktestTimings timings = new BacktestTimings();
+        BacktestReportResponse report = backtestingService.runBacktest(request, userEmail, BacktestProgressListener.NONE,
+                backtestLimits.newBudget(request.getTimeoutMillis(), gatewayTimeoutMillis), timings);
 
-        BacktestReportResponse report = backtestingService.runBacktest(request, userEmail);
+        // Opt-in stage breakdown for troubleshooting a slow run from the browser's network panel
+        if (timingRequested) {
+            return ResponseEntity.ok().header("Server-Timing", timings.toServerTiming()).body(report);
+        }
         return ResponseEntity.ok(report);
     }
-}
\ No newline at end of file
+
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBacktest(
+            @Valid @RequestBody BacktestRequest request,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        return backtestStreamService.stream(request, userEmail);
+    }
+
+    @PostMapping("/sweep")
+    public ResponseEntity<ParameterSweepResponse> runSweep(
+            @Valid @RequestBody ParameterSweepRequest request,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        ParameterSweepResponse response = parameterSweepService.runSweep(request, userEmail);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBacktestResponse> runBatch(
+            @Valid @RequestBody BatchBacktestRequest request,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        BatchBacktestResponse response = batchBacktestService.runBatch(request, userEmail);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/walk-forward")
+    public ResponseEntity<WalkForwardResponse> runWalkForward(
+            @Valid @RequestBody WalkForwardRequest request,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        WalkForwardResponse response = walkForwardService.runWalkForward(request, userEmail);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/portfolio")
+    public ResponseEntity<PortfolioBacktestResponse> runPortfolio(
+            @Valid @RequestBody PortfolioBacktestRequest request,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        PortfolioBacktestResponse response = portfolioBacktestService.runPortfolio(request, userEmail);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<BacktestJobResponse> submitJob(
+            @Valid @RequestBody BacktestRequest request,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        BacktestJob job = backtestJobService.submit(request, userEmail);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/backtest/jobs/" + job.getId()))
+                .body(BacktestJobResponse.from(job));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<BacktestJobResponse> getJob(
+            @PathVariable UUID jobId,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        return backtestJobService.findJob(jobId, userEmail)
+                .map(job -> ResponseEntity.ok(BacktestJobResponse.from(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<BacktestJobResponse> cancelJob(
+            @PathVariable UUID jobId,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        return backtestJobService.cancel(jobId, userEmail)
+                .map(job -> ResponseEntity.ok(BacktestJobResponse.from(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/strategies/{strategyId}/plan")
+    public ResponseEntity<DecisionPlanResponse> explainPlan(
+            @PathVariable UUID strategyId,
+            @RequestHeader("X-User-Email") String userEmail) {
+
+        return ResponseEntity.ok(backtestingService.explainPlan(strategyId, userEmail));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<BarCacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(barCache.stats());
+    }
+
+    @GetMapping("/cache/results/stats")
+    public ResponseEntity<ResultCacheStatsResponse> getResultCacheStats() {
+        return ResponseEntity.ok(resultCache.stats());
+    }
+}
@@ -0,0 +1,11 @@
+package com.tradewise.backtestingservice.dto;
+
+/** Why a backtest stopped before evaluating all of its bars. */
+public enum AbortReason {
+    /** The wall-clock budget ran out. */
+    DEADLINE,
+    /** The range holds more bars than one backtest may evaluate. */
+    BAR_LIMIT,
+    /** The run was cancelled through the job API. */
+    CANCELLED
+}
@@ -0,0 +1,8 @@
+package com.tradewise.backtestingservice.dto;
+
+public enum BacktestEngineType {
+    TA4J,
+    PRIMITIVE,
+    /** The primitive engine with every condition evaluated up front in SIMD passes where available. */
+    VECTOR
+}
@@ -0,0 +1,10 @@
+package com.tradewise.backtestingservice.dto;
+
+public enum BacktestPhase {
+    STRATEGY_FETCHED,
+    BARS_LOADED,
+    SIMULATING,
+    /** Only reported when the request asks for Monte Carlo and the run closed trades. */
+    MONTE_CARLO,
+    REPORT_READY
+}
@@ -1,5 +1,8 @@
 package com.tradewise.backtestingservice.dto;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -24,4 +27,22 @@ public class BacktestRequest {
 
     @NotNull(message = "Initial cash is required")
     private Double initialCash;
+
+    private BacktestEngineType engine = BacktestEngineType.TA4J;
+
+    /** Length of each bar; intraday intervals are fetched month by month up to the bar limit. */
+    private BarInterval interval = BarInterval.ONE_DAY;
+
+    /** Runs the Monte Carlo stage on the resulting trades when present. */
+    @Valid
+    private MonteCarloOptions monteCarlo;
+
+    /** Adds equity and drawdown curves downsampled to at most this many points each. */
+    @Min(value = 3, message = "Curve points must be >= 3")
+    @Max(value = 5000, message = "Curve points must be <= 5000")
+    private Integer curvePoints;
+
+    /** Stops the run after this long and returns partial metrics; capped by the service limit. */
+    @Min(value = 1, message = "Timeout must be >= 1 ms")
+    private Long timeoutMillis;
 }
\ No newline at end of file
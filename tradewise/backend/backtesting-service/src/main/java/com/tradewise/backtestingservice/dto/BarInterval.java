@@ -0,0 +1,53 @@
+package com.tradewise.backtestingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.Duration;
+
+/** Length of one bar, written as market-data-service's short codes such as {@code 5m} or {@code 1d}. */
+public enum BarInterval {
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+    FIFTEEN_MINUTES("15m", Duration.ofMinutes(15)),
+    ONE_HOUR("1h", Duration.ofHours(1)),
+    ONE_DAY("1d", Duration.ofDays(1));
+
+    private final String code;
+    private final Duration duration;
+
+    BarInterval(String code, Duration duration) {
+        this.code = code;
+        this.duration = duration;
+    }
+
+    @JsonValue
+    public String code() {
+        return code;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    public boolean isIntraday() {
+        return this != ONE_DAY;
+    }
+
+    /** Accepts the short code or the constant name, case-insensitively. */
+    @JsonCreator
+    public static BarInterval fromCode(String value) {
+        for (BarInterval interval : values()) {
+            if (interval.code.equalsIgnoreCase(value) || interval.name().equalsIgnoreCase(value)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported bar interval: " + value
+                + ". Use one of 1m, 5m, 15m, 1h or 1d");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,33 @@
+package com.tradewise.backtestingservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BatchBacktestRequest {
+
+    @NotNull(message = "Strategy ID is required")
+    private UUID strategyId;
+
+    @NotEmpty(message = "At least one symbol is required")
+    @Size(max = 500, message = "A batch can contain at most 500 symbols")
+    private List<String> symbols = new ArrayList<>();
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Initial cash is required")
+    private Double initialCash;
+
+    private BacktestEngineType engine = BacktestEngineType.TA4J;
+}
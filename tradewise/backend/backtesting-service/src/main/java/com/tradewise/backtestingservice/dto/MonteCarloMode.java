@@ -0,0 +1,8 @@
+package com.tradewise.backtestingservice.dto;
+
+public enum MonteCarloMode {
+    /** Draws trades with replacement, so both the trade mix and its order vary. */
+    RESAMPLE,
+    /** Permutes the actual trades; total return is fixed and only the path (drawdown) varies. */
+    SHUFFLE
+}
@@ -0,0 +1,23 @@
+package com.tradewise.backtestingservice.dto;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * Optional Monte Carlo stage of a backtest. The simulation stops at whichever comes first of
+ * {@code iterations} and the time budget; the summary reports how many iterations completed.
+ */
+@Data
+public class MonteCarloOptions {
+
+    @Min(value = 1, message = "Monte Carlo iterations must be > 0")
+    private int iterations = 1000;
+
+    private MonteCarloMode mode = MonteCarloMode.RESAMPLE;
+
+    @Min(value = 1, message = "Monte Carlo time budget must be > 0")
+    private Long timeBudgetMillis;
+
+    /** Fixes the random sequence so a run can be reproduced. */
+    private Long seed;
+}
@@ -0,0 +1,35 @@
+package com.tradewise.backtestingservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sweeps the period of one indicator of the strategy. The indicator is identified by its name and the
+ * period it has in the saved strategy; every condition that uses it gets the swept value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParameterRange {
+
+    @NotBlank(message = "Indicator is required")
+    private String indicator;
+
+    @NotNull(message = "Period is required")
+    private Integer period;
+
+    @NotNull(message = "Range start is required")
+    @Min(value = 1, message = "Range start must be > 0")
+    private Integer from;
+
+    @NotNull(message = "Range end is required")
+    @Min(value = 1, message = "Range end must be > 0")
+    private Integer to;
+
+    @Min(value = 1, message = "Step must be > 0")
+    private int step = 1;
+}
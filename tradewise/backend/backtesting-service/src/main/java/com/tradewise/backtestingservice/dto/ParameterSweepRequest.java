@@ -0,0 +1,41 @@
+package com.tradewise.backtestingservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class ParameterSweepRequest {
+
+    @NotNull(message = "Strategy ID is required")
+    private UUID strategyId;
+
+    @NotBlank(message = "Symbol is required")
+    private String symbol;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Initial cash is required")
+    private Double initialCash;
+
+    @Valid
+    @NotEmpty(message = "At least one parameter range is required")
+    private List<ParameterRange> parameters = new ArrayList<>();
+
+    @Min(value = 1, message = "top must be > 0")
+    @Max(value = 100, message = "top must be <= 100")
+    private int top = 10;
+}
@@ -0,0 +1,48 @@
+package com.tradewise.backtestingservice.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class PortfolioBacktestRequest {
+
+    @NotNull(message = "Strategy ID is required")
+    private UUID strategyId;
+
+    @NotEmpty(message = "At least one symbol is required")
+    @Size(max = 500, message = "A portfolio can contain at most 500 symbols")
+    private List<String> symbols = new ArrayList<>();
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Initial cash is required")
+    private Double initialCash;
+
+    /** Share of portfolio equity each new position is sized to; defaults to an equal weight per symbol. */
+    @DecimalMin(value = "0.01", message = "Position size must be at least 0.01%")
+    @DecimalMax(value = "100", message = "Position size must be at most 100%")
+    private Double positionSizePercent;
+
+    /** Resizes open positions back to the target weight every this many calendar days when set. */
+    @Min(value = 1, message = "Rebalance interval must be > 0")
+    private Integer rebalanceDays;
+
+    @Min(value = 3, message = "Curve points must be >= 3")
+    @Max(value = 5000, message = "Curve points must be <= 5000")
+    private Integer curvePoints;
+}
@@ -0,0 +1,53 @@
+package com.tradewise.backtestingservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rolling walk-forward analysis. Windows are laid out in calendar days from {@code startDate}: each
+ * optimises the swept periods over {@code inSampleDays}, then trades the winner over the following
+ * {@code outOfSampleDays}. The next window starts {@code stepDays} later (defaults to the
+ * out-of-sample length, so out-of-sample periods tile the range).
+ */
+@Data
+public class WalkForwardRequest {
+
+    @NotNull(message = "Strategy ID is required")
+    private UUID strategyId;
+
+    @NotBlank(message = "Symbol is required")
+    private String symbol;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Initial cash is required")
+    private Double initialCash;
+
+    @Valid
+    @NotEmpty(message = "At least one parameter range is required")
+    private List<ParameterRange> parameters = new ArrayList<>();
+
+    @NotNull(message = "In-sample length is required")
+    @Min(value = 1, message = "In-sample length must be > 0")
+    private Integer inSampleDays;
+
+    @NotNull(message = "Out-of-sample length is required")
+    @Min(value = 1, message = "Out-of-sample length must be > 0")
+    private Integer outOfSampleDays;
+
+    @Min(value = 1, message = "Step must be > 0")
+    private Integer stepDays;
+}
@@ -0,0 +1,8 @@
+package com.tradewise.backtestingservice.dto.internal;
+
+public enum BacktestWorkKind {
+    /** A contiguous range of parameter sweep grid points. */
+    SWEEP,
+    /** A subset of the symbols of a batch backtest. */
+    BATCH
+}
@@ -0,0 +1,38 @@
+package com.tradewise.backtestingservice.dto.internal;
+
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.dto.response.SymbolBacktestResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Reply to a {@link BacktestWorkUnit}, published to the reply topic by whichever instance ran it. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestWorkResult {
+    private String runId;
+    private int unitIndex;
+    private String worker;
+    private boolean success;
+    private String error;
+
+    /** SWEEP: the unit's best grid points, at most {@code top} of them, and its indicator column count. */
+    private List<SweepPoint> sweepPoints;
+    private int indicatorsComputed;
+
+    /** BATCH: one result per symbol of the unit, in unit order. */
+    private List<SymbolBacktestResult> symbolResults;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SweepPoint {
+        private int point;
+        private BacktestReportResponse report;
+    }
+}
@@ -0,0 +1,42 @@
+package com.tradewise.backtestingservice.dto.internal;
+
+import com.tradewise.backtestingservice.dto.BacktestEngineType;
+import com.tradewise.backtestingservice.dto.ParameterRange;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One shard of a sweep or batch, published to the work topic. It carries the already fetched and
+ * ownership-checked strategy, so any instance can run it without calling strategy-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestWorkUnit {
+    private String runId;
+    private int unitIndex;
+    private int unitCount;
+    private BacktestWorkKind kind;
+    private String userEmail;
+    private InternalStrategyResponse strategy;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Double initialCash;
+
+    /** SWEEP: the symbol, ranges and grid points {@code [fromPoint, toPoint)} to evaluate. */
+    private String symbol;
+    private List<ParameterRange> parameters;
+    private int fromPoint;
+    private int toPoint;
+    private int top;
+
+    /** BATCH: the symbols of this unit and the engine to run them on. */
+    private List<String> symbols;
+    private BacktestEngineType engine;
+}
@@ -0,0 +1,37 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import com.tradewise.backtestingservice.model.BacktestJob;
+import com.tradewise.backtestingservice.model.BacktestJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestJobResponse {
+    private UUID jobId;
+    private BacktestJobStatus status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private BacktestReportResponse result;
+    private String error;
+
+    public static BacktestJobResponse from(BacktestJob job) {
+        return BacktestJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .result(job.getResult())
+                .error(job.getError())
+                .build();
+    }
+}
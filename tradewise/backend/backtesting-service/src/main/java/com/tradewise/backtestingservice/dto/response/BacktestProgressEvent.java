@@ -0,0 +1,28 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import com.tradewise.backtestingservice.dto.BacktestPhase;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Progress of a streamed backtest. The simulation fields are only set on {@code SIMULATING} events
+ * and describe the trades closed so far.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestProgressEvent {
+    private BacktestPhase phase;
+    private long elapsedMillis;
+    private Integer percentComplete;
+    private Integer barsProcessed;
+    private Integer totalBars;
+    private Integer closedTrades;
+    private BigDecimal realizedProfitLoss;
+    private Boolean positionOpen;
+}
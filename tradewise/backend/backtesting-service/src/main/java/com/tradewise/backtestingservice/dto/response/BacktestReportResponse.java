@@ -1,14 +1,17 @@
 package com.tradewise.backtestingservice.dto.response;
 
+import com.tradewise.backtestingservice.dto.AbortReason;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class BacktestReportResponse {
@@ -19,4 +22,19 @@ public class BacktestReportResponse {
     private BigDecimal totalReturnPercent;
     private BigDecimal winRatePercent;
     private BigDecimal maxDrawdownPercent;
+    private BigDecimal sharpeRatio;
+    private BigDecimal sortinoRatio;
+    private BigDecimal cagrPercent;
+    private BigDecimal exposurePercent;
+    private BigDecimal averageTradeProfitLoss;
+    private long longestDrawdownDays;
+    private MonteCarloSummary monteCarlo;
+    /** Account value per bar, downsampled; only present when the request sets {@code curvePoints}. */
+    private List<CurvePoint> equityCurve;
+    /** Percent below the running equity peak, downsampled independently of the equity curve. */
+    private List<CurvePoint> drawdownCurve;
+    /** Set when the run stopped early; the metrics then cover the bars up to {@code evaluatedUntil}. */
+    private boolean aborted;
+    private AbortReason abortReason;
+    private Instant evaluatedUntil;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BarCacheStatsResponse {
+    private boolean enabled;
+    private int symbols;
+    private long cachedBars;
+    private long maxBars;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private double hitRatePercent;
+}
@@ -0,0 +1,22 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAggregateResponse {
+    private int totalTrades;
+    private BigDecimal totalProfitLoss;
+    private BigDecimal averageReturnPercent;
+    private BigDecimal averageWinRatePercent;
+    private BigDecimal worstMaxDrawdownPercent;
+    private String bestSymbol;
+    private String worstSymbol;
+}
@@ -0,0 +1,29 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBacktestResponse {
+    private String strategyName;
+    private int symbolsRequested;
+    private int succeeded;
+    private int failed;
+    private long elapsedMillis;
+    private BatchAggregateResponse aggregate;
+    private List<SymbolBacktestResult> results;
+
+    /**
+     * Units the run was sharded into over Kafka, and how many of them ran here after failing or
+     * timing out. Both are null for a local run.
+     */
+    private Integer workUnits;
+    private Integer workUnitsRunLocally;
+}
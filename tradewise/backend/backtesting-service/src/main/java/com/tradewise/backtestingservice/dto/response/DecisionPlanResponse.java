@@ -0,0 +1,22 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecisionPlanResponse {
+    private String strategyName;
+    private List<PlannedCondition> conditions;
+    /** Condition ids of each BUY rule, rules and conditions both in evaluation order. */
+    private List<List<Integer>> entryRules;
+    private List<List<Integer>> exitRules;
+    /** The same plan as text, as written to the debug log. */
+    private String explain;
+}
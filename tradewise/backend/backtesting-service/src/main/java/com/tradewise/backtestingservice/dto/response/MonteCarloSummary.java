@@ -0,0 +1,24 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import com.tradewise.backtestingservice.dto.MonteCarloMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloSummary {
+    private MonteCarloMode mode;
+    private int iterationsRequested;
+    private int iterationsCompleted;
+    private boolean timeBudgetExceeded;
+    private long elapsedMillis;
+    private PercentileSummary totalReturnPercent;
+    private PercentileSummary maxDrawdownPercent;
+    private BigDecimal probabilityOfLossPercent;
+}
@@ -0,0 +1,28 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParameterSweepResponse {
+    private String strategyName;
+    private String symbol;
+    private int combinationsEvaluated;
+    private int indicatorsComputed;
+    private long elapsedMillis;
+    private List<SweepResultResponse> results;
+
+    /**
+     * Units the run was sharded into over Kafka, and how many of them ran here after failing or
+     * timing out. Both are null for a local run.
+     */
+    private Integer workUnits;
+    private Integer workUnitsRunLocally;
+}
@@ -0,0 +1,20 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PercentileSummary {
+    private BigDecimal p5;
+    private BigDecimal p25;
+    private BigDecimal p50;
+    private BigDecimal p75;
+    private BigDecimal p95;
+}
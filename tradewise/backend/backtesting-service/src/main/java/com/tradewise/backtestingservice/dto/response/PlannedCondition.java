@@ -0,0 +1,21 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedCondition {
+    private int id;
+    /** Canonical form: values without trailing zeros and indicator operands in a fixed order. */
+    private String expression;
+    private double estimatedCost;
+    /** Estimated share of bars on which the condition holds. */
+    private double estimatedSelectivity;
+    /** How many BUY and SELL rules reference the condition after deduplication. */
+    private int usedByRules;
+}
@@ -0,0 +1,33 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioBacktestResponse {
+    private String strategyName;
+    private int symbolsRequested;
+    private List<String> symbolsWithoutData;
+    private long elapsedMillis;
+    private BigDecimal initialCash;
+    private BigDecimal finalEquity;
+    private BigDecimal totalProfitLoss;
+    private BigDecimal totalReturnPercent;
+    private BigDecimal cagrPercent;
+    private BigDecimal maxDrawdownPercent;
+    private BigDecimal sharpeRatio;
+    private BigDecimal exposurePercent;
+    private int totalTrades;
+    private BigDecimal winRatePercent;
+    private List<PortfolioSymbolResult> positions;
+    private List<CurvePoint> equityCurve;
+    private List<CurvePoint> drawdownCurve;
+}
@@ -0,0 +1,20 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSymbolResult {
+    private String symbol;
+    private int bars;
+    private int totalTrades;
+    private BigDecimal winRatePercent;
+    private BigDecimal profitLoss;
+}
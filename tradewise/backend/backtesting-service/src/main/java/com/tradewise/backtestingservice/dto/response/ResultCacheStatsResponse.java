@@ -0,0 +1,22 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultCacheStatsResponse {
+    private boolean enabled;
+    private int entries;
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private long invalidations;
+    private long expirations;
+    private double hitRatePercent;
+}
@@ -0,0 +1,16 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepResultResponse {
+    private int rank;
+    private Map<String, Integer> parameters;
+    private BacktestReportResponse report;
+}
@@ -0,0 +1,15 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SymbolBacktestResult {
+    private String symbol;
+    private boolean success;
+    private BacktestReportResponse report;
+    private String error;
+}
@@ -0,0 +1,28 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkForwardResponse {
+    private String strategyName;
+    private String symbol;
+    private int windowsEvaluated;
+    private int combinationsPerWindow;
+    private long elapsedMillis;
+    private int outOfSampleTrades;
+    private BigDecimal outOfSampleProfitLoss;
+    private BigDecimal averageInSampleReturnPercent;
+    private BigDecimal averageOutOfSampleReturnPercent;
+    /** Average out-of-sample return as a percentage of average in-sample return. */
+    private BigDecimal walkForwardEfficiencyPercent;
+    private List<WalkForwardWindowResult> windows;
+}
@@ -0,0 +1,24 @@
+package com.tradewise.backtestingservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkForwardWindowResult {
+    private int window;
+    private LocalDate inSampleStart;
+    private LocalDate inSampleEnd;
+    private LocalDate outOfSampleStart;
+    private LocalDate outOfSampleEnd;
+    private Map<String, Integer> parameters;
+    private BacktestReportResponse inSampleReport;
+    private BacktestReportResponse outOfSampleReport;
+}
@@ -0,0 +1,164 @@
+package com.tradewise.backtestingservice.engine;
+
+import com.tradewise.backtestingservice.dto.BarDTO;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bar history stored as parallel primitive columns. Index {@code i} of every column describes the
+ * same bar; bars are ordered by ascending end time.
+ */
+public final class BarColumns {
+
+    private final String symbol;
+    private final long[] endTimes;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private final int size;
+
+    public BarColumns(String symbol, long[] endTimes, double[] open, double[] high,
+                      double[] low, double[] close, double[] volume, int size) {
+        this.symbol = symbol;
+        this.endTimes = endTimes;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.size = size;
+    }
+
+    public static BarColumns fromBars(String symbol, List<BarDTO> bars) {
+        int size = bars.size();
+        long[] endTimes = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            BarDTO bar = bars.get(i);
+            endTimes[i] = bar.getEndTime().toInstant().toEpochMilli();
+            open[i] = bar.getOpen().doubleValue();
+            high[i] = bar.getHigh().doubleValue();
+            low[i] = bar.getLow().doubleValue();
+            close[i] = bar.getClose().doubleValue();
+            volume[i] = bar.getVolume().doubleValue();
+        }
+
+        return new BarColumns(symbol, endTimes, open, high, low, close, volume, size);
+    }
+
+    /** Joins consecutive histories of one symbol; each chunk must end before the next one starts. */
+    public static BarColumns concat(String symbol, List<BarColumns> chunks) {
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+
+        int size = 0;
+        for (BarColumns chunk : chunks) {
+            size += chunk.size;
+        }
+        long[] endTimes = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+
+        int offset = 0;
+        for (BarColumns chunk : chunks) {
+            if (chunk.size > 0 && offset > 0 && chunk.endTimes[0] <= endTimes[offset - 1]) {
+                throw new IllegalArgumentException("Bar chunks overlap or are out of order");
+            }
+            System.arraycopy(chunk.endTimes, 0, endTimes, offset, chunk.size);
+            System.arraycopy(chunk.open, 0, open, offset, chunk.size);
+            System.arraycopy(chunk.high, 0, high, offset, chunk.size);
+            System.arraycopy(chunk.low, 0, low, offset, chunk.size);
+            System.arraycopy(chunk.close, 0, close, offset, chunk.size);
+            System.arraycopy(chunk.volume, 0, volume, offset, chunk.size);
+            offset += chunk.size;
+        }
+
+        return new BarColumns(symbol, endTimes, open, high, low, close, volume, size);
+    }
+
+    /**
+     * Copies the bars whose end time falls in {@code [fromMillis, toMillis)}. Bounds are found by
+     * binary search, so slicing a long history costs O(log n) plus the copy.
+     */
+    public BarColumns slice(long fromMillis, long toMillis) {
+        int from = indexAtOrAfter(fromMillis);
+        int to = indexAtOrAfter(toMillis);
+        if (from >= to) {
+            return new BarColumns(symbol, new long[0], new double[0], new double[0],
+                    new double[0], new double[0], new double[0], 0);
+        }
+        return new BarColumns(
+                symbol,
+                Arrays.copyOfRange(endTimes, from, to),
+                Arrays.copyOfRange(open, from, to),
+                Arrays.copyOfRange(high, from, to),
+                Arrays.copyOfRange(low, from, to),
+                Arrays.copyOfRange(close, from, to),
+                Arrays.copyOfRange(volume, from, to),
+                to - from
+        );
+    }
+
+    /** First index whose end time is {@code >= millis}, or {@code size} if there is none. */
+    public int indexAtOrAfter(long millis) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (endTimes[mid] < millis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] endTimes() {
+        return endTimes;
+    }
+
+    public double[] open() {
+        return open;
+    }
+
+    public double[] high() {
+        return high;
+    }
+
+    public double[] low() {
+        return low;
+    }
+
+    public double[] close() {
+        return close;
+    }
+
+    public double[] volume() {
+        return volume;
+    }
+}
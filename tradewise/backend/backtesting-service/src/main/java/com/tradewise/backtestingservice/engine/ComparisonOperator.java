@@ -0,0 +1,8 @@
+package com.tradewise.backtestingservice.engine;
+
+public enum ComparisonOperator {
+    GREATER_THAN,
+    LESS_THAN,
+    CROSSES_ABOVE,
+    CROSSES_BELOW
+}
@@ -0,0 +1,68 @@
+package com.tradewise.backtestingservice.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bulk comparisons of whole indicator columns into bitsets, one bit per bar in {@code long} words
+ * (bar {@code i} is bit {@code i & 63} of word {@code i >>> 6}). Every method uses Java's
+ * {@code double} comparison semantics, so a NaN operand never satisfies {@code >}, {@code <} or
+ * {@code ==}; this keeps the bits identical to {@link PrimitiveStrategy}'s per-bar evaluation.
+ */
+interface ConditionKernel {
+
+    /** {@code out[i] = a[i] > b[i]} for bars {@code [0, size)}. */
+    void greaterThan(double[] a, double[] b, int size, long[] out);
+
+    /** {@code out[i] = a[i] > value}. */
+    void greaterThan(double[] a, double value, int size, long[] out);
+
+    /** {@code out[i] = a[i] < value}. */
+    void lessThan(double[] a, double value, int size, long[] out);
+
+    /**
+     * The three relations a crossing is derived from: {@code notAtOrAbove[i] = !(up[i] >= low[i])},
+     * {@code above[i] = up[i] > low[i]} and {@code tied[i] = up[i] == low[i]}.
+     */
+    void relations(double[] up, double[] low, int size, long[] notAtOrAbove, long[] above, long[] tied);
+
+    static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /**
+     * The SIMD kernel when the {@code jdk.incubator.vector} module is resolved (the JVM was started
+     * with {@code --add-modules jdk.incubator.vector}), the scalar one otherwise.
+     */
+    static ConditionKernel preferred() {
+        return Holder.PREFERRED;
+    }
+
+    final class Holder {
+
+        private static final Logger logger = LoggerFactory.getLogger(ConditionKernel.class);
+
+        static final ConditionKernel PREFERRED = load();
+
+        private Holder() {
+        }
+
+        private static ConditionKernel load() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    ConditionKernel kernel = (ConditionKernel) Class
+                            .forName("com.tradewise.backtestingservice.engine.VectorConditionKernel")
+                            .getDeclaredConstructor()
+                            .newInstance();
+                    logger.info("Vectorised condition evaluation uses {}", kernel);
+                    return kernel;
+                } catch (ReflectiveOperationException | LinkageError ex) {
+                    logger.warn("Vector API unavailable, using scalar condition evaluation: {}", ex.toString());
+                }
+            } else {
+                logger.info("jdk.incubator.vector is not enabled, using scalar condition evaluation");
+            }
+            return new ScalarConditionKernel();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.tradewise.backtestingservice.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * One validated condition. Exactly one of {@code right} (INDICATOR comparison) or
+ * {@code value} (VALUE comparison) is set.
+ */
+public record ConditionSpec(
+        IndicatorSpec left,
+        ComparisonOperator operator,
+        IndicatorSpec right,
+        BigDecimal value
+) {
+
+    public boolean isValueComparison() {
+        return right == null;
+    }
+
+    @Override
+    public String toString() {
+        return left + " " + operator + " " + (isValueComparison() ? value.toPlainString() : right);
+    }
+}
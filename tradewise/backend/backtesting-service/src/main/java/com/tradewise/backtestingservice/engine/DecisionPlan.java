@@ -0,0 +1,256 @@
+package com.tradewise.backtestingservice.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Flat evaluation order for a {@link StrategyDefinition}, shared by both engines. Identical
+ * conditions, including mirrored ones such as {@code A > B} and {@code B < A}, get one id across all
+ * BUY and SELL rules. Within a rule, AND'ed conditions run cheapest-per-rejection first; the OR'ed
+ * rules of a side run cheapest-per-acceptance first. Duplicate rules and rules that contain another
+ * rule of the same side are dropped, since they can never change the outcome.
+ *
+ * <p>Costs and selectivities are static estimates from the indicator kinds, operators and RSI
+ * thresholds; they only decide the order, never the result. {@link #explain()} renders the plan.
+ */
+public final class DecisionPlan {
+
+    /** Cap on the estimated probability of a condition being true, so no rank divides by zero. */
+    private static final double MAX_SELECTIVITY = 0.98;
+    private static final double MIN_SELECTIVITY = 0.02;
+
+    private final String strategyName;
+    private final List<ConditionSpec> conditions;
+    private final double[] costs;
+    private final double[] selectivities;
+    private final int[][] entryRules;
+    private final int[][] exitRules;
+
+    private DecisionPlan(String strategyName, List<ConditionSpec> conditions, double[] costs, double[] selectivities,
+                         int[][] entryRules, int[][] exitRules) {
+        this.strategyName = strategyName;
+        this.conditions = conditions;
+        this.costs = costs;
+        this.selectivities = selectivities;
+        this.entryRules = entryRules;
+        this.exitRules = exitRules;
+    }
+
+    public static DecisionPlan compile(StrategyDefinition definition) {
+        Map<ConditionSpec, Integer> ids = new HashMap<>();
+        List<ConditionSpec> conditions = new ArrayList<>();
+
+        List<BitSet> entry = intern(definition.entryRules(), ids, conditions);
+        List<BitSet> exit = intern(definition.exitRules(), ids, conditions);
+
+        double[] costs = new double[conditions.size()];
+        double[] selectivities = new double[conditions.size()];
+        for (int id = 0; id < conditions.size(); id++) {
+            costs[id] = estimateCost(conditions.get(id));
+            selectivities[id] = estimateSelectivity(conditions.get(id));
+        }
+
+        return new DecisionPlan(definition.name(), List.copyOf(conditions), costs, selectivities,
+                order(entry, costs, selectivities), order(exit, costs, selectivities));
+    }
+
+    public String strategyName() {
+        return strategyName;
+    }
+
+    /** Distinct conditions in canonical form; a condition's id is its index in this list. */
+    public List<ConditionSpec> conditions() {
+        return conditions;
+    }
+
+    public double estimatedCost(int conditionId) {
+        return costs[conditionId];
+    }
+
+    /** Estimated probability that the condition holds on a bar. */
+    public double estimatedSelectivity(int conditionId) {
+        return selectivities[conditionId];
+    }
+
+    /** Condition ids of each BUY rule, in evaluation order. */
+    public int[][] entryRules() {
+        return copy(entryRules);
+    }
+
+    /** Condition ids of each SELL rule, in evaluation order; empty when the strategy never exits. */
+    public int[][] exitRules() {
+        return copy(exitRules);
+    }
+
+    /** Human-readable plan: the condition table followed by both sides in evaluation order. */
+    public String explain() {
+        StringBuilder text = new StringBuilder("Plan for '").append(strategyName).append("'\n");
+        for (int id = 0; id < conditions.size(); id++) {
+            text.append(String.format(Locale.ROOT, "  c%-3d %-40s cost %5.1f  p(true) %.2f%n",
+                    id, conditions.get(id), costs[id], selectivities[id]));
+        }
+        appendSide(text, "BUY", entryRules);
+        appendSide(text, "SELL", exitRules);
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+
+    private static void appendSide(StringBuilder text, String side, int[][] rules) {
+        text.append(side).append(rules.length == 0 ? " never\n" : " when any of\n");
+        for (int[] rule : rules) {
+            text.append("  ");
+            for (int k = 0; k < rule.length; k++) {
+                text.append(k == 0 ? "" : " AND ").append('c').append(rule[k]);
+            }
+            text.append('\n');
+        }
+    }
+
+    private static List<BitSet> intern(List<List<ConditionSpec>> rules, Map<ConditionSpec, Integer> ids,
+                                       List<ConditionSpec> conditions) {
+        List<BitSet> interned = new ArrayList<>(rules.size());
+        for (List<ConditionSpec> rule : rules) {
+            BitSet members = new BitSet();
+            for (ConditionSpec condition : rule) {
+                members.set(ids.computeIfAbsent(canonical(condition), key -> {
+                    conditions.add(key);
+                    return conditions.size() - 1;
+                }));
+            }
+            interned.add(members);
+        }
+        return interned;
+    }
+
+    /**
+     * Drops rules subsumed by another rule of the same side, then orders conditions within each rule
+     * by cost over rejection probability and the rules by expected cost over acceptance probability.
+     */
+    private static int[][] order(List<BitSet> rules, double[] costs, double[] selectivities) {
+        List<BitSet> kept = new ArrayList<>();
+        for (int r = 0; r < rules.size(); r++) {
+            BitSet rule = rules.get(r);
+            boolean redundant = false;
+            for (int other = 0; other < rules.size() && !redundant; other++) {
+                BitSet candidate = rules.get(other);
+                if (other != r && isSubset(candidate, rule) && (!candidate.equals(rule) || other < r)) {
+                    redundant = true;
+                }
+            }
+            if (!redundant) {
+                kept.add(rule);
+            }
+        }
+
+        Comparator<Integer> byRejectionRank = Comparator.comparingDouble(
+                (Integer id) -> costs[id] / (1 - selectivities[id])).thenComparing(id -> id);
+
+        List<int[]> ordered = new ArrayList<>(kept.size());
+        for (BitSet rule : kept) {
+            ordered.add(rule.stream().boxed().sorted(byRejectionRank).mapToInt(Integer::intValue).toArray());
+        }
+
+        ordered.sort(Comparator.comparingDouble((int[] rule) -> expectedCost(rule, costs, selectivities)
+                / acceptance(rule, selectivities)));
+        return ordered.toArray(new int[0][]);
+    }
+
+    private static boolean isSubset(BitSet candidate, BitSet rule) {
+        BitSet missing = (BitSet) candidate.clone();
+        missing.andNot(rule);
+        return missing.isEmpty();
+    }
+
+    /** Cost of evaluating an AND chain that stops at the first false condition. */
+    private static double expectedCost(int[] rule, double[] costs, double[] selectivities) {
+        double expected = 0;
+        double reached = 1;
+        for (int id : rule) {
+            expected += reached * costs[id];
+            reached *= selectivities[id];
+        }
+        return expected;
+    }
+
+    private static double acceptance(int[] rule, double[] selectivities) {
+        double accepted = 1;
+        for (int id : rule) {
+            accepted *= selectivities[id];
+        }
+        return Math.max(accepted, 1e-9);
+    }
+
+    /**
+     * Normalises values ({@code 30} and {@code 30.0} are the same threshold) and puts the operands of
+     * an indicator comparison in a fixed order, mirroring the operator when they are swapped.
+     */
+    static ConditionSpec canonical(ConditionSpec condition) {
+        if (condition.isValueComparison()) {
+            BigDecimal value = condition.value().stripTrailingZeros();
+            return new ConditionSpec(condition.left(), condition.operator(), null, value);
+        }
+        if (condition.left().toString().compareTo(condition.right().toString()) <= 0) {
+            return condition;
+        }
+        ComparisonOperator mirrored = switch (condition.operator()) {
+            case GREATER_THAN -> ComparisonOperator.LESS_THAN;
+            case LESS_THAN -> ComparisonOperator.GREATER_THAN;
+            case CROSSES_ABOVE -> ComparisonOperator.CROSSES_BELOW;
+            case CROSSES_BELOW -> ComparisonOperator.CROSSES_ABOVE;
+        };
+        return new ConditionSpec(condition.right(), mirrored, condition.left(), null);
+    }
+
+    /** Relative work per bar: operand lookups, doubled for crosses, which also read the previous bar. */
+    private static double estimateCost(ConditionSpec condition) {
+        double operands = operandCost(condition.left()) + (condition.isValueComparison() ? 0 : operandCost(condition.right()));
+        return switch (condition.operator()) {
+            case GREATER_THAN, LESS_THAN -> 1 + operands;
+            case CROSSES_ABOVE, CROSSES_BELOW -> 1 + 2 * operands;
+        };
+    }
+
+    private static double operandCost(IndicatorSpec indicator) {
+        return switch (indicator.name()) {
+            case "PRICE" -> 1;
+            case "RSI" -> 4;
+            default -> 2;
+        };
+    }
+
+    /**
+     * Crosses fire on few bars. RSI is bounded to [0, 100], so a threshold maps to a rough share of
+     * bars; other levels and indicator-to-indicator comparisons are a coin flip.
+     */
+    private static double estimateSelectivity(ConditionSpec condition) {
+        double estimate = switch (condition.operator()) {
+            case CROSSES_ABOVE, CROSSES_BELOW -> 0.05;
+            case GREATER_THAN, LESS_THAN -> {
+                if (!condition.isValueComparison() || !"RSI".equals(condition.left().name())) {
+                    yield 0.5;
+                }
+                double below = condition.value().doubleValue() / 100;
+                yield condition.operator() == ComparisonOperator.LESS_THAN ? below : 1 - below;
+            }
+        };
+        return Math.max(MIN_SELECTIVITY, Math.min(MAX_SELECTIVITY, estimate));
+    }
+
+    private static int[][] copy(int[][] rules) {
+        int[][] copy = new int[rules.length][];
+        for (int r = 0; r < rules.length; r++) {
+            copy[r] = rules[r].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tradewise.backtestingservice.engine;
+
+import com.tradewise.indicators.Indicators;
+import com.tradewise.indicators.RollingIndicator;
+
+/**
+ * Computes whole indicator columns over primitive prices by streaming them through the shared
+ * incremental indicators, which mirror ta4j bar for bar including the warm-up behaviour.
+ */
+public final class IndicatorColumns {
+
+    private IndicatorColumns() {
+    }
+
+    public static double[] compute(IndicatorSpec spec, double[] close, int size) {
+        if ("PRICE".equals(spec.name())) {
+            return close;
+        }
+
+        RollingIndicator indicator = Indicators.create(spec.name(), spec.period());
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = indicator.update(close[i]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,18 @@
+package com.tradewise.backtestingservice.engine;
+
+/**
+ * A resolved indicator reference. {@code period} is 0 for PRICE, which takes no parameters.
+ * Two conditions that reference the same indicator produce equal specs, so a spec can be used
+ * directly as a cache key by both engines.
+ */
+public record IndicatorSpec(String name, int period) {
+
+    public static IndicatorSpec price() {
+        return new IndicatorSpec("PRICE", 0);
+    }
+
+    @Override
+    public String toString() {
+        return period == 0 ? name : name + "(" + period + ")";
+    }
+}
@@ -0,0 +1,260 @@
+package com.tradewise.backtestingservice.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Simulates one strategy over many symbols that share a cash balance. A min-heap of per-symbol
+ * cursors merges the bar columns by end time, so each step only touches the symbols that have a bar
+ * at that instant and no joined table is ever built.
+ *
+ * <p>Execution follows {@link PrimitiveBacktestEngine}: a signal on a symbol's bar fills at that
+ * symbol's next open and a position still open on its last bar is closed at that close. Within a
+ * step, exits fill before entries so freed cash can be reused. An entry buys whole shares worth
+ * {@code positionWeight} of the previous step's equity, capped by the cash left, and is skipped when
+ * not even one share is affordable. With a rebalance interval, the first step at or after each
+ * rebalance time resizes the open positions that trade in that step back to the target weight.
+ * Trimming part of a position realizes its P/L but is not a trade; the trade, and whether it was a
+ * win, is counted when the position is closed. A trim down to zero shares closes the position.
+ */
+@Component
+public class PortfolioBacktestEngine {
+
+    public PortfolioResult run(BarColumns[] bars, PrimitiveStrategy[] strategies, double initialCash,
+                               double positionWeight, long rebalanceIntervalMillis) {
+        int symbols = bars.length;
+        int[] cursor = new int[symbols];
+        double[] shares = new double[symbols];
+        double[] costBasis = new double[symbols];
+        double[] positionValue = new double[symbols];
+        boolean[] pendingEntry = new boolean[symbols];
+        boolean[] pendingExit = new boolean[symbols];
+
+        int[] trades = new int[symbols];
+        int[] wins = new int[symbols];
+        double[] profitLoss = new double[symbols];
+
+        CursorHeap heap = new CursorHeap(bars);
+        int maxBars = 0;
+        for (int s = 0; s < symbols; s++) {
+            maxBars = Math.max(maxBars, bars[s].size());
+            if (!bars[s].isEmpty()) {
+                heap.push(s, bars[s].endTimes()[0]);
+            }
+        }
+
+        long[] times = new long[Math.max(16, maxBars)];
+        double[] equityCurve = new double[times.length];
+        int steps = 0;
+        int exposedSteps = 0;
+
+        double cash = initialCash;
+        double invested = 0;
+        double equity = initialCash;
+        long nextRebalance = Long.MIN_VALUE;
+        int[] group = new int[symbols];
+
+        while (!heap.isEmpty()) {
+            long time = heap.peekTime();
+            int groupSize = 0;
+            while (!heap.isEmpty() && heap.peekTime() == time) {
+                group[groupSize++] = heap.pop();
+            }
+
+            // 1. Fills at this step's opens: exits first, then rebalancing, then entries
+            for (int g = 0; g < groupSize; g++) {
+                int s = group[g];
+                if (pendingExit[s]) {
+                    cash += close(s, bars[s].open()[cursor[s]], shares, costBasis, trades, wins, profitLoss);
+                    pendingExit[s] = false;
+                }
+            }
+
+            boolean rebalance = rebalanceIntervalMillis > 0 && time >= nextRebalance;
+            if (rebalance) {
+                nextRebalance = nextRebalance == Long.MIN_VALUE ? time : nextRebalance;
+                while (nextRebalance <= time) {
+                    nextRebalance += rebalanceIntervalMillis;
+                }
+                for (int g = 0; g < groupSize; g++) {
+                    int s = group[g];
+                    double price = bars[s].open()[cursor[s]];
+                    if (price <= 0) {
+                        continue;
+                    }
+                    double excess = shares[s] - Math.floor(equity * positionWeight / price);
+                    if (shares[s] > 0 && excess >= shares[s]) {
+                        cash += close(s, price, shares, costBasis, trades, wins, profitLoss);
+                    } else if (shares[s] > 0 && excess > 0) {
+                        double realized = excess * (price - costBasis[s]);
+                        profitLoss[s] += realized;
+                        cash += excess * price;
+                        shares[s] -= excess;
+                    }
+                }
+                for (int g = 0; g < groupSize; g++) {
+                    int s = group[g];
+                    double price = bars[s].open()[cursor[s]];
+                    if (price <= 0) {
+                        continue;
+                    }
+                    double missing = Math.min(Math.floor(equity * positionWeight / price) - shares[s], Math.floor(cash / price));
+                    if (shares[s] > 0 && missing > 0) {
+                        costBasis[s] = (costBasis[s] * shares[s] + price * missing) / (shares[s] + missing);
+                        shares[s] += missing;
+                        cash -= missing * price;
+                    }
+                }
+            }
+
+            for (int g = 0; g < groupSize; g++) {
+                int s = group[g];
+                if (pendingEntry[s]) {
+                    double price = bars[s].open()[cursor[s]];
+                    double quantity = price > 0 ? Math.floor(Math.min(equity * positionWeight, cash) / price) : 0;
+                    if (quantity >= 1) {
+                        shares[s] = quantity;
+                        costBasis[s] = price;
+                        cash -= quantity * price;
+                    }
+                    pendingEntry[s] = false;
+                }
+            }
+
+            // 2. Mark to this step's closes
+            for (int g = 0; g < groupSize; g++) {
+                int s = group[g];
+                double value = shares[s] * bars[s].close()[cursor[s]];
+                invested += value - positionValue[s];
+                positionValue[s] = value;
+            }
+            equity = cash + invested;
+
+            if (steps == times.length) {
+                times = Arrays.copyOf(times, steps * 2);
+                equityCurve = Arrays.copyOf(equityCurve, steps * 2);
+            }
+            times[steps] = time;
+            equityCurve[steps] = equity;
+            steps++;
+            if (invested > 0) {
+                exposedSteps++;
+            }
+
+            // 3. Signals on this step's bars, to fill at each symbol's next open
+            for (int g = 0; g < groupSize; g++) {
+                int s = group[g];
+                int i = cursor[s];
+                if (i == bars[s].size() - 1) {
+                    if (shares[s] > 0) {
+                        cash += close(s, bars[s].close()[i], shares, costBasis, trades, wins, profitLoss);
+                        invested -= positionValue[s];
+                        positionValue[s] = 0;
+                    }
+                    continue;
+                }
+
+                if (shares[s] > 0) {
+                    pendingExit[s] = strategies[s].shouldExit(i);
+                } else {
+                    pendingEntry[s] = strategies[s].shouldEnter(i);
+                }
+                cursor[s] = i + 1;
+                heap.push(s, bars[s].endTimes()[i + 1]);
+            }
+        }
+
+        return new PortfolioResult(times, equityCurve, steps, exposedSteps, cash, trades, wins, profitLoss);
+    }
+
+    /** Sells the whole position at {@code price} and returns the proceeds. */
+    private static double close(int s, double price, double[] shares, double[] costBasis,
+                                int[] trades, int[] wins, double[] profitLoss) {
+        double realized = shares[s] * (price - costBasis[s]);
+        profitLoss[s] += realized;
+        trades[s]++;
+        if (price > costBasis[s]) {
+            wins[s]++;
+        }
+        double proceeds = shares[s] * price;
+        shares[s] = 0;
+        return proceeds;
+    }
+
+    /** Binary min-heap of symbol indexes ordered by the end time of each symbol's next bar. */
+    private static final class CursorHeap {
+
+        private final int[] symbols;
+        private final long[] times;
+        private int size;
+
+        CursorHeap(BarColumns[] bars) {
+            this.symbols = new int[bars.length];
+            this.times = new long[bars.length];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peekTime() {
+            return times[0];
+        }
+
+        void push(int symbol, long time) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (times[parent] <= time) {
+                    break;
+                }
+                symbols[i] = symbols[parent];
+                times[i] = times[parent];
+                i = parent;
+            }
+            symbols[i] = symbol;
+            times[i] = time;
+        }
+
+        int pop() {
+            int top = symbols[0];
+            int lastSymbol = symbols[--size];
+            long lastTime = times[size];
+
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && times[child + 1] < times[child]) {
+                    child++;
+                }
+                if (lastTime <= times[child]) {
+                    break;
+                }
+                symbols[i] = symbols[child];
+                times[i] = times[child];
+                i = child;
+            }
+            symbols[i] = lastSymbol;
+            times[i] = lastTime;
+            return top;
+        }
+    }
+
+    /**
+     * Portfolio equity per merged step plus per-symbol trade totals. Only the first {@code steps}
+     * entries of {@code times} and {@code equity} are used.
+     */
+    public record PortfolioResult(
+            long[] times,
+            double[] equity,
+            int steps,
+            int exposedSteps,
+            double finalCash,
+            int[] trades,
+            int[] wins,
+            double[] profitLoss
+    ) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.tradewise.backtestingservice.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allocation-free alternative to {@link Ta4jBacktestEngine}. Reproduces ta4j's default execution
+ * model: a signal on bar {@code i} fills at the open of bar {@code i + 1}, signals on the last bar
+ * are dropped, and a position still open at the end is closed at the last close.
+ */
+@Component
+public class PrimitiveBacktestEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrimitiveBacktestEngine.class);
+
+    public TradeLog run(BarColumns bars, PrimitiveStrategy strategy, double amountToTrade) {
+        return run(bars, strategy, amountToTrade, 0, bars.size());
+    }
+
+    /**
+     * Trades only bars {@code [fromIndex, toIndex)}, as if the series ended at {@code toIndex - 1}.
+     * Indicators still see the bars before {@code fromIndex}, so they are warmed up at the window start.
+     */
+    public TradeLog run(BarColumns bars, PrimitiveStrategy strategy, double amountToTrade, int fromIndex, int toIndex) {
+        return run(bars, strategy, amountToTrade, fromIndex, toIndex, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Same as {@link #run(BarColumns, PrimitiveStrategy, double, int, int)}, calling {@code progress}
+     * after every {@code reportEvery} bars. The bar loop itself stays free of callbacks. When
+     * {@code progress} returns false the series is treated as ending at the last block boundary.
+     */
+    public TradeLog run(BarColumns bars, PrimitiveStrategy strategy, double amountToTrade, int fromIndex, int toIndex,
+                        int reportEvery, SimulationProgress progress) {
+        TradeLog tradeLog = new TradeLog(amountToTrade);
+        double[] open = bars.open();
+        int endIndex = toIndex - 1;
+
+        for (int blockStart = fromIndex; blockStart < endIndex; ) {
+            int blockEnd = (int) Math.min(endIndex, (long) blockStart + reportEvery);
+
+            for (int i = blockStart; i < blockEnd; i++) {
+                if (!tradeLog.isOpen()) {
+                    if (strategy.shouldEnter(i)) {
+                        tradeLog.enter(i + 1, open[i + 1]);
+                    }
+                } else if (strategy.shouldExit(i)) {
+                    tradeLog.exit(i + 1, open[i + 1]);
+                }
+            }
+
+            if (progress != null && !progress.onProgress(blockEnd - fromIndex, endIndex - fromIndex, tradeLog)) {
+                logger.info("Simulation stopped after {} of {} bars", blockEnd - fromIndex, endIndex - fromIndex);
+                endIndex = blockEnd;
+                break;
+            }
+            blockStart = blockEnd;
+        }
+
+        if (tradeLog.isOpen()) {
+            logger.info("Closing open position at end of series");
+            tradeLog.exit(endIndex, bars.close()[endIndex]);
+        }
+
+        return tradeLog;
+    }
+}
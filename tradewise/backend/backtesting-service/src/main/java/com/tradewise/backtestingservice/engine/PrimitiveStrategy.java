@@ -0,0 +1,293 @@
+package com.tradewise.backtestingservice.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link StrategyDefinition} compiled against one {@link BarColumns}: every distinct indicator is
+ * materialised once as a {@code double[]} column and the rules are flattened into int/double arrays
+ * in {@link DecisionPlan} order, so evaluating a bar allocates nothing and stops at the first
+ * condition that decides it.
+ *
+ * <p>{@link #precomputeSignals(int)} instead evaluates every condition over all bars up front as
+ * column-wide passes, SIMD ones when the Vector API is enabled, and answers both sides from bitsets.
+ * The signals are bit-for-bit those of the per-bar evaluation.
+ */
+public final class PrimitiveStrategy {
+
+    static final int GREATER_THAN = 0;
+    static final int LESS_THAN = 1;
+    static final int CROSSES_ABOVE = 2;
+    static final int CROSSES_BELOW = 3;
+
+    private static final int CONSTANT = -1;
+
+    private final double[][] columns;
+    private final int[] operator;
+    private final int[] left;
+    private final int[] right;
+    private final double[] constant;
+    private final RuleSet entry;
+    private final RuleSet exit;
+    private final long[] entrySignals;
+    private final long[] exitSignals;
+
+    private PrimitiveStrategy(double[][] columns, int[] operator, int[] left, int[] right, double[] constant,
+                              RuleSet entry, RuleSet exit) {
+        this(columns, operator, left, right, constant, entry, exit, null, null);
+    }
+
+    private PrimitiveStrategy(double[][] columns, int[] operator, int[] left, int[] right, double[] constant,
+                              RuleSet entry, RuleSet exit, long[] entrySignals, long[] exitSignals) {
+        this.columns = columns;
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+        this.constant = constant;
+        this.entry = entry;
+        this.exit = exit;
+        this.entrySignals = entrySignals;
+        this.exitSignals = exitSignals;
+    }
+
+    public static PrimitiveStrategy compile(StrategyDefinition definition, BarColumns bars) {
+        return compile(definition, spec -> IndicatorColumns.compute(spec, bars.close(), bars.size()));
+    }
+
+    /**
+     * Compiles against columns supplied by {@code columnSource}, e.g. a {@link SharedIndicatorColumns}
+     * reused across many strategies over the same bars.
+     */
+    public static PrimitiveStrategy compile(StrategyDefinition definition, Function<IndicatorSpec, double[]> columnSource) {
+        return compile(DecisionPlan.compile(definition), columnSource);
+    }
+
+    public static PrimitiveStrategy compile(DecisionPlan plan, Function<IndicatorSpec, double[]> columnSource) {
+        Map<IndicatorSpec, Integer> slots = new HashMap<>();
+        List<double[]> columns = new ArrayList<>();
+
+        List<ConditionSpec> conditions = plan.conditions();
+        int[] operator = new int[conditions.size()];
+        int[] left = new int[conditions.size()];
+        int[] right = new int[conditions.size()];
+        double[] constant = new double[conditions.size()];
+
+        for (int c = 0; c < conditions.size(); c++) {
+            ConditionSpec condition = conditions.get(c);
+            operator[c] = condition.operator().ordinal();
+            left[c] = slot(condition.left(), columnSource, slots, columns);
+            if (condition.isValueComparison()) {
+                right[c] = CONSTANT;
+                constant[c] = condition.value().doubleValue();
+            } else {
+                right[c] = slot(condition.right(), columnSource, slots, columns);
+            }
+        }
+
+        return new PrimitiveStrategy(columns.toArray(new double[0][]), operator, left, right, constant,
+                RuleSet.of(plan.entryRules()), RuleSet.of(plan.exitRules()));
+    }
+
+    public boolean shouldEnter(int index) {
+        return entrySignals != null ? isSet(entrySignals, index) : isSatisfied(entry, index);
+    }
+
+    public boolean shouldExit(int index) {
+        return exitSignals != null ? isSet(exitSignals, index) : isSatisfied(exit, index);
+    }
+
+    /**
+     * The same strategy answering from entry and exit bitsets over bars {@code [0, size)}, computed
+     * with {@link ConditionKernel#preferred()}. Only bars below {@code size} may be queried afterwards.
+     */
+    public PrimitiveStrategy precomputeSignals(int size) {
+        return precomputeSignals(size, ConditionKernel.preferred());
+    }
+
+    PrimitiveStrategy precomputeSignals(int size, ConditionKernel kernel) {
+        long[][] conditionBits = new long[operator.length][];
+        for (int c = 0; c < operator.length; c++) {
+            conditionBits[c] = conditionBits(c, size, kernel);
+        }
+        return new PrimitiveStrategy(columns, operator, left, right, constant, entry, exit,
+                signals(entry, conditionBits, size), signals(exit, conditionBits, size));
+    }
+
+    private long[] conditionBits(int c, int size, ConditionKernel kernel) {
+        long[] bits = new long[ConditionKernel.words(size)];
+        double[] a = columns[left[c]];
+        if (right[c] == CONSTANT) {
+            if (operator[c] == GREATER_THAN) {
+                kernel.greaterThan(a, constant[c], size, bits);
+            } else {
+                kernel.lessThan(a, constant[c], size, bits);
+            }
+            return bits;
+        }
+
+        double[] b = columns[right[c]];
+        switch (operator[c]) {
+            case GREATER_THAN -> kernel.greaterThan(a, b, size, bits);
+            case LESS_THAN -> kernel.greaterThan(b, a, size, bits);
+            case CROSSES_ABOVE -> crossings(b, a, size, kernel, bits);
+            case CROSSES_BELOW -> crossings(a, b, size, kernel, bits);
+            default -> {
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Bitset form of {@link #crossed}: a bar crosses when {@code up} is not at or above {@code low} and
+     * was above it on the latest earlier bar where the two differed, bar 0 counting either way. Words
+     * without ties shift the previous bar's relation in; words with ties are walked bar by bar.
+     */
+    private static void crossings(double[] up, double[] low, int size, ConditionKernel kernel, long[] out) {
+        int words = out.length;
+        long[] notAtOrAbove = new long[words];
+        long[] above = new long[words];
+        long[] tied = new long[words];
+        kernel.relations(up, low, size, notAtOrAbove, above, tied);
+        if (words == 0) {
+            return;
+        }
+        tied[0] &= ~1L;
+
+        boolean wasAbove = false;
+        for (int w = 0; w < words; w++) {
+            if (tied[w] == 0) {
+                out[w] = notAtOrAbove[w] & (above[w] << 1 | (wasAbove ? 1L : 0L));
+                wasAbove = above[w] < 0;
+            } else {
+                long crossed = 0;
+                for (int bit = 0; bit < 64; bit++) {
+                    long mask = 1L << bit;
+                    if (wasAbove && (notAtOrAbove[w] & mask) != 0) {
+                        crossed |= mask;
+                    }
+                    if ((tied[w] & mask) == 0) {
+                        wasAbove = (above[w] & mask) != 0;
+                    }
+                }
+                out[w] = crossed;
+            }
+        }
+        out[0] &= ~1L;
+    }
+
+    /** OR over the rules of the AND of their conditions; a rule without conditions holds on every bar. */
+    private static long[] signals(RuleSet rules, long[][] conditionBits, int size) {
+        int words = ConditionKernel.words(size);
+        long[] signals = new long[words];
+        long[] rule = new long[words];
+        int start = 0;
+        for (int end : rules.ruleEnd) {
+            Arrays.fill(rule, -1L);
+            for (int k = start; k < end; k++) {
+                long[] bits = conditionBits[rules.conditionIds[k]];
+                for (int w = 0; w < words; w++) {
+                    rule[w] &= bits[w];
+                }
+            }
+            for (int w = 0; w < words; w++) {
+                signals[w] |= rule[w];
+            }
+            start = end;
+        }
+        return signals;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static int slot(
+            IndicatorSpec spec,
+            Function<IndicatorSpec, double[]> columnSource,
+            Map<IndicatorSpec, Integer> slots,
+            List<double[]> columns
+    ) {
+        Integer existing = slots.get(spec);
+        if (existing != null) {
+            return existing;
+        }
+        columns.add(columnSource.apply(spec));
+        slots.put(spec, columns.size() - 1);
+        return columns.size() - 1;
+    }
+
+    private boolean isSatisfied(RuleSet rules, int index) {
+        int[] conditionIds = rules.conditionIds;
+        int start = 0;
+        for (int end : rules.ruleEnd) {
+            boolean satisfied = true;
+            for (int k = start; k < end && satisfied; k++) {
+                satisfied = evaluate(conditionIds[k], index);
+            }
+            if (satisfied) {
+                return true;
+            }
+            start = end;
+        }
+        return false;
+    }
+
+    private boolean evaluate(int c, int index) {
+        double[] a = columns[left[c]];
+        if (right[c] == CONSTANT) {
+            return operator[c] == GREATER_THAN ? a[index] > constant[c] : a[index] < constant[c];
+        }
+
+        double[] b = columns[right[c]];
+        return switch (operator[c]) {
+            case GREATER_THAN -> a[index] > b[index];
+            case LESS_THAN -> a[index] < b[index];
+            case CROSSES_ABOVE -> crossed(b, a, index);
+            case CROSSES_BELOW -> crossed(a, b, index);
+            default -> false;
+        };
+    }
+
+    /**
+     * True when {@code up} has just dropped below {@code low}, skipping back over bars where the two
+     * were equal. Same semantics as ta4j's CrossIndicator.
+     */
+    private static boolean crossed(double[] up, double[] low, int index) {
+        if (index == 0 || up[index] >= low[index]) {
+            return false;
+        }
+        int i = index;
+        while (--i > 0 && up[i] == low[i]) {
+            // walk back over ties
+        }
+        return up[i] > low[i];
+    }
+
+    /** The OR'ed rules of one side as a flat list of condition ids, rule {@code r} ending at {@code ruleEnd[r]}. */
+    private static final class RuleSet {
+
+        private final int[] ruleEnd;
+        private final int[] conditionIds;
+
+        private RuleSet(int[] ruleEnd, int[] conditionIds) {
+            this.ruleEnd = ruleEnd;
+            this.conditionIds = conditionIds;
+        }
+
+        static RuleSet of(int[][] rules) {
+            int[] ruleEnd = new int[rules.length];
+            int[] conditionIds = new int[Arrays.stream(rules).mapToInt(rule -> rule.length).sum()];
+            int k = 0;
+            for (int r = 0; r < rules.length; r++) {
+                System.arraycopy(rules[r], 0, conditionIds, k, rules[r].length);
+                k += rules[r].length;
+                ruleEnd[r] = k;
+            }
+            return new RuleSet(ruleEnd, conditionIds);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.tradewise.backtestingservice.engine;
+
+/** Plain-loop {@link ConditionKernel}, used when the Vector API is not available. */
+final class ScalarConditionKernel implements ConditionKernel {
+
+    @Override
+    public void greaterThan(double[] a, double[] b, int size, long[] out) {
+        for (int i = 0; i < size; i++) {
+            if (a[i] > b[i]) {
+                out[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void greaterThan(double[] a, double value, int size, long[] out) {
+        for (int i = 0; i < size; i++) {
+            if (a[i] > value) {
+                out[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void lessThan(double[] a, double value, int size, long[] out) {
+        for (int i = 0; i < size; i++) {
+            if (a[i] < value) {
+                out[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void relations(double[] up, double[] low, int size, long[] notAtOrAbove, long[] above, long[] tied) {
+        for (int i = 0; i < size; i++) {
+            long bit = 1L << i;
+            if (!(up[i] >= low[i])) {
+                notAtOrAbove[i >>> 6] |= bit;
+            }
+            if (up[i] > low[i]) {
+                above[i >>> 6] |= bit;
+            }
+            if (up[i] == low[i]) {
+                tied[i >>> 6] |= bit;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
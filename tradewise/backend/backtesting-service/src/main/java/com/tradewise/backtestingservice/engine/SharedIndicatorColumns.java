@@ -0,0 +1,29 @@
+package com.tradewise.backtestingservice.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Indicator columns for one {@link BarColumns}, computed at most once per distinct
+ * {@link IndicatorSpec} and shared by every strategy compiled against it. Safe for concurrent use,
+ * so parallel sweep workers reuse each other's columns instead of rebuilding them per grid point.
+ */
+public final class SharedIndicatorColumns implements Function<IndicatorSpec, double[]> {
+
+    private final BarColumns bars;
+    private final Map<IndicatorSpec, double[]> columns = new ConcurrentHashMap<>();
+
+    public SharedIndicatorColumns(BarColumns bars) {
+        this.bars = bars;
+    }
+
+    @Override
+    public double[] apply(IndicatorSpec spec) {
+        return columns.computeIfAbsent(spec, key -> IndicatorColumns.compute(key, bars.close(), bars.size()));
+    }
+
+    public int size() {
+        return columns.size();
+    }
+}
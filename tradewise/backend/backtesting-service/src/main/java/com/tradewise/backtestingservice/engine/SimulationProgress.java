@@ -0,0 +1,17 @@
+package com.tradewise.backtestingservice.engine;
+
+/**
+ * Callback for a running simulation, invoked between blocks of bars. Returning {@code false} stops
+ * the run early: the engine closes any open position and returns the trades so far. Exceptions
+ * propagate out of the engine unchanged.
+ */
+@FunctionalInterface
+public interface SimulationProgress {
+
+    /**
+     * @param barsProcessed bars evaluated so far, out of {@code totalBars}
+     * @param tradeLog      the trade log being built; read it on the calling thread only
+     * @return whether to keep simulating
+     */
+    boolean onProgress(int barsProcessed, int totalBars, TradeLog tradeLog);
+}
@@ -0,0 +1,66 @@
+package com.tradewise.backtestingservice.engine;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Engine-neutral form of a strategy: each inner list is one rule whose conditions are AND'ed,
+ * and the rules of each side are OR'ed together.
+ */
+public record StrategyDefinition(
+        String name,
+        List<List<ConditionSpec>> entryRules,
+        List<List<ConditionSpec>> exitRules
+) {
+
+    /** Every distinct indicator referenced by the strategy, in declaration order. */
+    public Set<IndicatorSpec> indicators() {
+        Set<IndicatorSpec> indicators = new LinkedHashSet<>();
+        collectIndicators(entryRules, indicators);
+        collectIndicators(exitRules, indicators);
+        return indicators;
+    }
+
+    /**
+     * Returns a copy with every occurrence of a key of {@code replacements} swapped for its value.
+     * Indicators that are not keys are kept as they are.
+     */
+    public StrategyDefinition withIndicators(Map<IndicatorSpec, IndicatorSpec> replacements) {
+        return new StrategyDefinition(
+                name,
+                replaceIndicators(entryRules, replacements),
+                replaceIndicators(exitRules, replacements)
+        );
+    }
+
+    private static void collectIndicators(List<List<ConditionSpec>> rules, Set<IndicatorSpec> indicators) {
+        for (List<ConditionSpec> conditions : rules) {
+            for (ConditionSpec condition : conditions) {
+                indicators.add(condition.left());
+                if (!condition.isValueComparison()) {
+                    indicators.add(condition.right());
+                }
+            }
+        }
+    }
+
+    private static List<List<ConditionSpec>> replaceIndicators(
+            List<List<ConditionSpec>> rules,
+            Map<IndicatorSpec, IndicatorSpec> replacements
+    ) {
+        return rules.stream()
+                .map(conditions -> conditions.stream()
+                        .map(condition -> new ConditionSpec(
+                                replacements.getOrDefault(condition.left(), condition.left()),
+                                condition.operator(),
+                                condition.isValueComparison()
+                                        ? null
+                                        : replacements.getOrDefault(condition.right(), condition.right()),
+                                condition.value()
+                        ))
+                        .toList())
+                .toList();
+    }
+}
@@ -0,0 +1,284 @@
+package com.tradewise.backtestingservice.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Position;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DecimalNum;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.AbstractRule;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Reference engine backed by ta4j's {@link DecimalNum} series. Kept selectable so that other engines
+ * can be cross-checked against it for identical trades.
+ */
+@Component
+public class Ta4jBacktestEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(Ta4jBacktestEngine.class);
+
+    public BarSeries convertToBarSeries(BarColumns bars) {
+        return convertToBarSeries(bars, Duration.ofDays(1));
+    }
+
+    /** Series of bars lasting {@code barDuration} each, ending at the column end times. */
+    public BarSeries convertToBarSeries(BarColumns bars, Duration barDuration) {
+        BaseBarSeries series = new BaseBarSeries(bars.symbol());
+        for (int i = 0; i < bars.size(); i++) {
+            series.addBar(
+                    barDuration,
+                    ZonedDateTime.ofInstant(Instant.ofEpochMilli(bars.endTimes()[i]), ZoneOffset.UTC),
+                    bars.open()[i],
+                    bars.high()[i],
+                    bars.low()[i],
+                    bars.close()[i],
+                    bars.volume()[i]
+            );
+        }
+        return series;
+    }
+
+    public BaseStrategy buildTa4jStrategy(StrategyDefinition definition, BarSeries barSeries) {
+        return buildTa4jStrategy(DecisionPlan.compile(definition), barSeries);
+    }
+
+    /**
+     * Builds one ta4j rule per distinct condition of the plan and evaluates both sides through them in
+     * plan order, instead of chaining every condition onto {@code BooleanRule} seeds.
+     */
+    public BaseStrategy buildTa4jStrategy(DecisionPlan plan, BarSeries barSeries) {
+        Map<IndicatorSpec, Indicator<Num>> indicatorCache = new HashMap<>();
+
+        List<ConditionSpec> conditions = plan.conditions();
+        Rule[] conditionRules = new Rule[conditions.size()];
+        for (int c = 0; c < conditionRules.length; c++) {
+            conditionRules[c] = buildTa4jRule(conditions.get(c), barSeries, indicatorCache);
+        }
+
+        PlannedConditions planned = new PlannedConditions(conditionRules);
+        return new BaseStrategy(plan.strategyName(),
+                new PlanRule(planned, plan.entryRules()), new PlanRule(planned, plan.exitRules()));
+    }
+
+    /**
+     * Runs the strategy with ta4j's default next-open execution and force-closes any position still
+     * open at the last bar's close.
+     */
+    public TradingRecord run(BarSeries barSeries, BaseStrategy strategy, double amountToTrade) {
+        return run(barSeries, strategy, amountToTrade, barSeries.getEndIndex(), Integer.MAX_VALUE, processed -> true);
+    }
+
+    /**
+     * Same as {@link #run(BarSeries, BaseStrategy, double)}, with the series treated as ending at
+     * {@code endIndex} and {@code keepRunning} asked every {@code checkEvery} bars whether to go on.
+     * Once it says no, the remaining bars are skipped and the open position, if any, is closed at the
+     * close of the first bar that was not evaluated, as the primitive engine does at a block boundary.
+     */
+    public TradingRecord run(BarSeries barSeries, BaseStrategy strategy, double amountToTrade,
+                             int endIndex, int checkEvery, IntPredicate keepRunning) {
+        BarSeriesManager manager = new BarSeriesManager(barSeries);
+        StoppableStrategy stoppable = new StoppableStrategy(strategy, barSeries.getBeginIndex(), endIndex,
+                checkEvery, keepRunning);
+
+        TradingRecord tradingRecord = manager.run(
+                stoppable,
+                Trade.TradeType.BUY,
+                DecimalNum.valueOf(amountToTrade),
+                barSeries.getBeginIndex(),
+                endIndex
+        );
+
+        int lastIndex = stoppable.lastIndex();
+        if (tradingRecord.getCurrentPosition().isOpened()) {
+            logger.info("Closing open position at end of series");
+            tradingRecord.exit(
+                    lastIndex,
+                    barSeries.getBar(lastIndex).getClosePrice(),
+                    tradingRecord.getCurrentPosition().getEntry().getAmount()
+            );
+        }
+
+        return tradingRecord;
+    }
+
+    /**
+     * Copies the closed positions of a ta4j record into a {@link TradeLog} so both engines share the
+     * primitive report calculation.
+     */
+    public TradeLog toTradeLog(TradingRecord tradingRecord, double amountToTrade) {
+        TradeLog tradeLog = new TradeLog(amountToTrade);
+        for (Position position : tradingRecord.getPositions()) {
+            if (!position.isClosed()) {
+                continue;
+            }
+            tradeLog.enter(position.getEntry().getIndex(), position.getEntry().getNetPrice().doubleValue());
+            tradeLog.exit(position.getExit().getIndex(), position.getExit().getNetPrice().doubleValue());
+        }
+        return tradeLog;
+    }
+
+    private Rule buildTa4jRule(ConditionSpec condition, BarSeries series, Map<IndicatorSpec, Indicator<Num>> cache) {
+        Indicator<Num> indicatorA = getIndicator(condition.left(), series, cache);
+
+        if (condition.isValueComparison()) {
+            DecimalNum valueB = DecimalNum.valueOf(condition.value());
+
+            return switch (condition.operator()) {
+                case GREATER_THAN -> new OverIndicatorRule(indicatorA, valueB);
+                case LESS_THAN -> new UnderIndicatorRule(indicatorA, valueB);
+                default -> throw new RuntimeException("Unsupported operator for VALUE comparison: " + condition.operator());
+            };
+        }
+
+        Indicator<Num> indicatorB = getIndicator(condition.right(), series, cache);
+
+        return switch (condition.operator()) {
+            case GREATER_THAN -> new OverIndicatorRule(indicatorA, indicatorB);
+            case LESS_THAN -> new UnderIndicatorRule(indicatorA, indicatorB);
+            case CROSSES_ABOVE -> new CrossedUpIndicatorRule(indicatorA, indicatorB);
+            case CROSSES_BELOW -> new CrossedDownIndicatorRule(indicatorA, indicatorB);
+        };
+    }
+
+    private Indicator<Num> getIndicator(IndicatorSpec spec, BarSeries series, Map<IndicatorSpec, Indicator<Num>> cache) {
+        Indicator<Num> cached = cache.get(spec);
+        if (cached != null) {
+            return cached;
+        }
+
+        logger.info("Creating indicator: {}", spec);
+
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        Indicator<Num> indicator = switch (spec.name()) {
+            case "PRICE" -> closePrice;
+            case "SMA" -> new SMAIndicator(closePrice, spec.period());
+            case "EMA" -> new EMAIndicator(closePrice, spec.period());
+            case "RSI" -> new RSIIndicator(closePrice, spec.period());
+            default -> throw new RuntimeException("Unsupported indicator: " + spec.name());
+        };
+
+        cache.put(spec, indicator);
+        return indicator;
+    }
+
+    /**
+     * Delegates to the wrapped strategy until {@code endIndex} or until {@code keepRunning} declines,
+     * and refuses to operate afterwards. Signals on the last bar are dropped, which also keeps
+     * {@link BarSeriesManager} from filling past a shortened end.
+     */
+    private static final class StoppableStrategy extends BaseStrategy {
+
+        private final int beginIndex;
+        private final int endIndex;
+        private final int checkEvery;
+        private final IntPredicate keepRunning;
+        private int stopIndex = -1;
+
+        private StoppableStrategy(BaseStrategy strategy, int beginIndex, int endIndex, int checkEvery,
+                                  IntPredicate keepRunning) {
+            super(strategy.getName(), strategy.getEntryRule(), strategy.getExitRule(), strategy.getUnstableBars());
+            this.beginIndex = beginIndex;
+            this.endIndex = endIndex;
+            this.checkEvery = checkEvery;
+            this.keepRunning = keepRunning;
+        }
+
+        @Override
+        public boolean shouldOperate(int index, TradingRecord tradingRecord) {
+            if (stopIndex >= 0 || index >= endIndex) {
+                return false;
+            }
+            int processed = index - beginIndex;
+            if (processed > 0 && processed % checkEvery == 0 && !keepRunning.test(processed)) {
+                logger.info("Simulation stopped after {} of {} bars", processed, endIndex - beginIndex);
+                stopIndex = index;
+                return false;
+            }
+            return super.shouldOperate(index, tradingRecord);
+        }
+
+        int lastIndex() {
+            return stopIndex >= 0 ? stopIndex : endIndex;
+        }
+    }
+
+    /**
+     * The distinct condition rules of a plan with the last bar each was evaluated on, so a condition
+     * shared by several rules is computed once per bar. A ta4j strategy is only run by one thread.
+     */
+    private static final class PlannedConditions {
+
+        private final Rule[] rules;
+        private final int[] evaluatedAt;
+        private final boolean[] results;
+
+        private PlannedConditions(Rule[] rules) {
+            this.rules = rules;
+            this.evaluatedAt = new int[rules.length];
+            this.results = new boolean[rules.length];
+            Arrays.fill(evaluatedAt, -1);
+        }
+
+        boolean isSatisfied(int condition, int index, TradingRecord tradingRecord) {
+            if (evaluatedAt[condition] != index) {
+                results[condition] = rules[condition].isSatisfied(index, tradingRecord);
+                evaluatedAt[condition] = index;
+            }
+            return results[condition];
+        }
+    }
+
+    /** OR of AND'ed condition ids, evaluated in plan order and stopping as soon as the outcome is known. */
+    private static final class PlanRule extends AbstractRule {
+
+        private final PlannedConditions conditions;
+        private final int[][] rules;
+
+        private PlanRule(PlannedConditions conditions, int[][] rules) {
+            this.conditions = conditions;
+            this.rules = rules;
+        }
+
+        @Override
+        public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            for (int[] rule : rules) {
+                boolean satisfied = true;
+                for (int k = 0; k < rule.length && satisfied; k++) {
+                    satisfied = conditions.isSatisfied(rule[k], index, tradingRecord);
+                }
+                if (satisfied) {
+                    traceIsSatisfied(index, true);
+                    return true;
+                }
+            }
+            traceIsSatisfied(index, false);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.tradewise.backtestingservice.engine;
+
+import java.util.Arrays;
+
+/**
+ * Closed long positions as parallel primitive arrays. Every position trades the same {@code amount}.
+ */
+public final class TradeLog {
+
+    private final double amount;
+    private int[] entryIndex;
+    private int[] exitIndex;
+    private double[] entryPrice;
+    private double[] exitPrice;
+    private int count;
+    private boolean open;
+
+    public TradeLog(double amount) {
+        this.amount = amount;
+        this.entryIndex = new int[16];
+        this.exitIndex = new int[16];
+        this.entryPrice = new double[16];
+        this.exitPrice = new double[16];
+    }
+
+    public void enter(int index, double price) {
+        if (open) {
+            throw new IllegalStateException("Position already open");
+        }
+        if (count == entryIndex.length) {
+            grow();
+        }
+        entryIndex[count] = index;
+        entryPrice[count] = price;
+        open = true;
+    }
+
+    public void exit(int index, double price) {
+        if (!open) {
+            throw new IllegalStateException("No open position to exit");
+        }
+        exitIndex[count] = index;
+        exitPrice[count] = price;
+        count++;
+        open = false;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public double amount() {
+        return amount;
+    }
+
+    /** Number of closed positions. */
+    public int count() {
+        return count;
+    }
+
+    public int entryIndex(int position) {
+        return entryIndex[position];
+    }
+
+    public int exitIndex(int position) {
+        return exitIndex[position];
+    }
+
+    public double entryPrice(int position) {
+        return entryPrice[position];
+    }
+
+    public double exitPrice(int position) {
+        return exitPrice[position];
+    }
+
+    private void grow() {
+        int capacity = entryIndex.length * 2;
+        entryIndex = Arrays.copyOf(entryIndex, capacity);
+        exitIndex = Arrays.copyOf(exitIndex, capacity);
+        entryPrice = Arrays.copyOf(entryPrice, capacity);
+        exitPrice = Arrays.copyOf(exitPrice, capacity);
+    }
+}
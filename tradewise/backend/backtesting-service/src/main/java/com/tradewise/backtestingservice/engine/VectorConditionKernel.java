@@ -0,0 +1,93 @@
+package com.tradewise.backtestingservice.engine;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ConditionKernel} on the incubating Vector API. Each pass compares a full vector of bars and
+ * ORs the lane mask into the bitset; the lane count is a power of two no larger than 64, so a mask
+ * never straddles two words. The tail shorter than a vector falls back to scalar comparisons.
+ *
+ * <p>Only loaded through {@link ConditionKernel#preferred()} once the module is known to be present.
+ */
+final class VectorConditionKernel implements ConditionKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public void greaterThan(double[] a, double[] b, int size, long[] out) {
+        int bound = SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            VectorMask<Double> mask = DoubleVector.fromArray(SPECIES, a, i)
+                    .compare(VectorOperators.GT, DoubleVector.fromArray(SPECIES, b, i));
+            out[i >>> 6] |= mask.toLong() << i;
+        }
+        for (; i < size; i++) {
+            if (a[i] > b[i]) {
+                out[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void greaterThan(double[] a, double value, int size, long[] out) {
+        compare(a, value, VectorOperators.GT, size, out);
+        for (int i = SPECIES.loopBound(size); i < size; i++) {
+            if (a[i] > value) {
+                out[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void lessThan(double[] a, double value, int size, long[] out) {
+        compare(a, value, VectorOperators.LT, size, out);
+        for (int i = SPECIES.loopBound(size); i < size; i++) {
+            if (a[i] < value) {
+                out[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void relations(double[] up, double[] low, int size, long[] notAtOrAbove, long[] above, long[] tied) {
+        int bound = SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            DoubleVector u = DoubleVector.fromArray(SPECIES, up, i);
+            DoubleVector l = DoubleVector.fromArray(SPECIES, low, i);
+            notAtOrAbove[i >>> 6] |= u.compare(VectorOperators.GE, l).not().toLong() << i;
+            above[i >>> 6] |= u.compare(VectorOperators.GT, l).toLong() << i;
+            tied[i >>> 6] |= u.compare(VectorOperators.EQ, l).toLong() << i;
+        }
+        for (; i < size; i++) {
+            long bit = 1L << i;
+            if (!(up[i] >= low[i])) {
+                notAtOrAbove[i >>> 6] |= bit;
+            }
+            if (up[i] > low[i]) {
+                above[i >>> 6] |= bit;
+            }
+            if (up[i] == low[i]) {
+                tied[i >>> 6] |= bit;
+            }
+        }
+    }
+
+    private static void compare(double[] a, double value, VectorOperators.Comparison operator, int size, long[] out) {
+        DoubleVector threshold = DoubleVector.broadcast(SPECIES, value);
+        int bound = SPECIES.loopBound(size);
+        for (int i = 0; i < bound; i += LANES) {
+            out[i >>> 6] |= DoubleVector.fromArray(SPECIES, a, i).compare(operator, threshold).toLong() << i;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Vector API, " + LANES + " doubles per vector";
+    }
+}
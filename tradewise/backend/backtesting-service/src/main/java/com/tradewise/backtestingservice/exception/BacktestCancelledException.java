@@ -0,0 +1,11 @@
+package com.tradewise.backtestingservice.exception;
+
+/**
+ * Thrown inside a running backtest once its caller has gone away, to stop the remaining work.
+ */
+public class BacktestCancelledException extends RuntimeException {
+
+    public BacktestCancelledException(String message) {
+        super(message);
+    }
+}
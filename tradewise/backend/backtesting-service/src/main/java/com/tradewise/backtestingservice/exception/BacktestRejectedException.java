@@ -0,0 +1,18 @@
+package com.tradewise.backtestingservice.exception;
+
+/**
+ * Thrown when a backtest cannot be admitted because the worker pool and its queue are full.
+ */
+public class BacktestRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public BacktestRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
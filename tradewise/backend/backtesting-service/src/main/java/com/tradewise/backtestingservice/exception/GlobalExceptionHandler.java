@@ -1,5 +1,6 @@
 package com.tradewise.backtestingservice.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -21,6 +22,18 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(BacktestRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleRejected(BacktestRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "timestamp", LocalDateTime.now().toString(),
+                        "status", 429,
+                        "error", "Too Many Requests",
+                        "message", ex.getMessage()
+                ));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntime(RuntimeException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
@@ -0,0 +1,130 @@
+package com.tradewise.backtestingservice.model;
+
+import com.tradewise.backtestingservice.dto.BacktestRequest;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.service.BacktestBudget;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * In-memory state of one asynchronous backtest. Written by the worker thread and read by pollers,
+ * so every mutable field is volatile and only ever moves forward through {@link BacktestJobStatus}.
+ * Transitions are synchronized so that a cancellation cannot race the worker picking the job up.
+ */
+public class BacktestJob {
+
+    private final UUID id;
+    private final String userEmail;
+    private final BacktestRequest request;
+    private final Instant submittedAt;
+    private final BacktestBudget budget;
+
+    private volatile BacktestJobStatus status = BacktestJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile BacktestReportResponse result;
+    private volatile String error;
+
+    public BacktestJob(String userEmail, BacktestRequest request, BacktestBudget budget) {
+        this.id = UUID.randomUUID();
+        this.userEmail = userEmail;
+        this.request = request;
+        this.submittedAt = Instant.now();
+        this.budget = budget;
+    }
+
+    /** Returns false when the job left the queue some other way and must not run. */
+    public synchronized boolean markRunning() {
+        if (status != BacktestJobStatus.QUEUED) {
+            return false;
+        }
+        this.startedAt = Instant.now();
+        this.status = BacktestJobStatus.RUNNING;
+        return true;
+    }
+
+    public synchronized void markSucceeded(BacktestReportResponse result) {
+        this.result = result;
+        this.finishedAt = Instant.now();
+        this.status = BacktestJobStatus.SUCCEEDED;
+    }
+
+    public synchronized void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = BacktestJobStatus.FAILED;
+    }
+
+    /** Rejects the job if no worker has picked it up yet; returns false otherwise. */
+    public synchronized boolean rejectIfQueued(String reason) {
+        if (status != BacktestJobStatus.QUEUED) {
+            return false;
+        }
+        this.error = reason;
+        this.finishedAt = Instant.now();
+        this.status = BacktestJobStatus.REJECTED;
+        return true;
+    }
+
+    /** Cancels the job if no worker has picked it up yet; returns false otherwise. */
+    public synchronized boolean cancelIfQueued() {
+        if (status != BacktestJobStatus.QUEUED) {
+            return false;
+        }
+        markCancelled(null);
+        return true;
+    }
+
+    /** Finishes a running job as cancelled with the report of the bars it evaluated. */
+    public synchronized void markCancelled(BacktestReportResponse partialResult) {
+        this.result = partialResult;
+        this.error = "Cancelled by the user";
+        this.finishedAt = Instant.now();
+        this.status = BacktestJobStatus.CANCELLED;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public BacktestRequest getRequest() {
+        return request;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public BacktestBudget getBudget() {
+        return budget;
+    }
+
+    public BacktestJobStatus getStatus() {
+        return status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public BacktestReportResponse getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
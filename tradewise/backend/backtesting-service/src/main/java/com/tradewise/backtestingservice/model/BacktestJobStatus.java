@@ -0,0 +1,10 @@
+package com.tradewise.backtestingservice.model;
+
+public enum BacktestJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    REJECTED,
+    CANCELLED
+}
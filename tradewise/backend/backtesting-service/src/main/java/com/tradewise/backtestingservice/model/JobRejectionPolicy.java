@@ -0,0 +1,14 @@
+package com.tradewise.backtestingservice.model;
+
+/**
+ * What happens to a submission when every worker is busy and the queue is full.
+ */
+public enum JobRejectionPolicy {
+    /** Refuse the new job with 429 so the client backs off and retries. */
+    REJECT,
+    /**
+     * Drop the oldest queued job (marked REJECTED) to make room for the new one. If another submission
+     * takes the freed slot first, the new job is refused as with {@link #REJECT}.
+     */
+    DISCARD_OLDEST
+}
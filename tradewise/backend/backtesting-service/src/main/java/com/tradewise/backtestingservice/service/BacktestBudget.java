@@ -0,0 +1,72 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.AbortReason;
+
+import java.time.Duration;
+
+/**
+ * Wall-clock and bar-count allowance of one backtest, plus its cancellation flag. The deadline is
+ * armed by {@link #start()} when the run actually begins, so time spent queued does not count, and
+ * is polled by the run between stages and blocks of bars through {@link #check()}.
+ */
+public final class BacktestBudget {
+
+    private final Duration timeout;
+    private final int maxBars;
+
+    private volatile long deadline;
+    private volatile boolean started;
+    private volatile boolean cancelled;
+
+    public BacktestBudget(Duration timeout, int maxBars) {
+        this.timeout = timeout;
+        this.maxBars = maxBars;
+    }
+
+    public static BacktestBudget unlimited() {
+        return new BacktestBudget(null, Integer.MAX_VALUE);
+    }
+
+    /** Arms the deadline; later calls keep the first one. */
+    public synchronized void start() {
+        if (!started && timeout != null) {
+            deadline = System.nanoTime() + timeout.toNanos();
+            started = true;
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Returns why the run should stop now, or null to keep going. */
+    public AbortReason check() {
+        if (cancelled) {
+            return AbortReason.CANCELLED;
+        }
+        if (started && System.nanoTime() - deadline > 0) {
+            return AbortReason.DEADLINE;
+        }
+        return null;
+    }
+
+    /** Milliseconds left before the deadline, or {@link Long#MAX_VALUE} while none is armed. */
+    public long remainingMillis() {
+        if (!started) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public int getMaxBars() {
+        return maxBars;
+    }
+}
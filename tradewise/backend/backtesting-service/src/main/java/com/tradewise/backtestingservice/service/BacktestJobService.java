@@ -0,0 +1,180 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.AbortReason;
+import com.tradewise.backtestingservice.dto.BacktestRequest;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.exception.BacktestRejectedException;
+import com.tradewise.backtestingservice.model.BacktestJob;
+import com.tradewise.backtestingservice.model.JobRejectionPolicy;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs backtests as jobs on a dedicated bounded worker pool so that request threads return
+ * immediately. Finished jobs stay pollable for {@code backtest.jobs.result-ttl} and are then evicted.
+ * A job can be cancelled while queued, or while running, in which case it keeps the partial report of
+ * the bars evaluated before it stopped.
+ */
+@Service
+public class BacktestJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BacktestJobService.class);
+
+    private final BacktestingService backtestingService;
+    private final BacktestLimits limits;
+    private final JobRejectionPolicy rejectionPolicy;
+    private final Duration resultTtl;
+    private final ThreadPoolExecutor workers;
+    private final Map<UUID, BacktestJob> jobs = new ConcurrentHashMap<>();
+
+    public BacktestJobService(BacktestingService backtestingService,
+                              BacktestLimits limits,
+                              @Value("${backtest.jobs.pool-size:4}") int poolSize,
+                              @Value("${backtest.jobs.queue-capacity:100}") int queueCapacity,
+                              @Value("${backtest.jobs.rejection-policy:REJECT}") JobRejectionPolicy rejectionPolicy,
+                              @Value("${backtest.jobs.result-ttl:15m}") Duration resultTtl) {
+        this.backtestingService = backtestingService;
+        this.limits = limits;
+        this.rejectionPolicy = rejectionPolicy;
+        this.resultTtl = resultTtl;
+        this.workers = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("backtest-job-"),
+                rejectionHandler()
+        );
+    }
+
+    public BacktestJob submit(BacktestRequest request, String userEmail) {
+        BacktestJob job = new BacktestJob(userEmail, request, limits.newBudget(request.getTimeoutMillis()));
+        jobs.put(job.getId(), job);
+
+        try {
+            workers.execute(new JobTask(job));
+        } catch (BacktestRejectedException ex) {
+            jobs.remove(job.getId());
+            throw ex;
+        }
+
+        logger.info("Submitted backtest job {} for symbol: {}, queue depth: {}",
+                job.getId(), request.getSymbol(), workers.getQueue().size());
+        return job;
+    }
+
+    /**
+     * Returns the job only to the user who submitted it, so job ids cannot be used to read other
+     * users' results.
+     */
+    public Optional<BacktestJob> findJob(UUID jobId, String userEmail) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getUserEmail().equals(userEmail));
+    }
+
+    /**
+     * Cancels the user's job. A queued job is dropped from the queue at once; a running one stops at
+     * its next budget check and finishes as cancelled with its partial report.
+     */
+    public Optional<BacktestJob> cancel(UUID jobId, String userEmail) {
+        return findJob(jobId, userEmail).map(job -> {
+            job.getBudget().cancel();
+            if (job.cancelIfQueued()) {
+                workers.getQueue().removeIf(task -> task instanceof JobTask queued && queued.job == job);
+                limits.recordAbort(AbortReason.CANCELLED);
+                logger.info("Cancelled queued backtest job {}", job.getId());
+            }
+            return job;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${backtest.jobs.eviction-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+
+        int evicted = before - jobs.size();
+        if (evicted > 0) {
+            logger.info("Evicted {} expired backtest jobs", evicted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private RejectedExecutionHandler rejectionHandler() {
+        return (runnable, executor) -> {
+            if (executor.isShutdown()) {
+                throw new BacktestRejectedException("Backtest worker pool is shutting down", 30);
+            }
+
+            // Never runs the job on the submitting request thread: the submit must return at once
+            if (rejectionPolicy == JobRejectionPolicy.DISCARD_OLDEST) {
+                Runnable oldest = executor.getQueue().poll();
+                if (oldest instanceof JobTask discarded
+                        && discarded.job.rejectIfQueued("Discarded from a full queue in favour of a newer job")) {
+                    logger.warn("Backtest queue full, discarded oldest queued job {}", discarded.job.getId());
+                }
+                if (executor.getQueue().offer(runnable)) {
+                    return;
+                }
+            }
+            throw new BacktestRejectedException(
+                    "Backtest queue is full, please retry later", estimateRetryAfterSeconds(executor));
+        };
+    }
+
+    private long estimateRetryAfterSeconds(ThreadPoolExecutor executor) {
+        return Math.max(1, executor.getQueue().size() / Math.max(1, executor.getMaximumPoolSize()));
+    }
+
+    private final class JobTask implements Runnable {
+
+        private final BacktestJob job;
+
+        private JobTask(BacktestJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            if (!job.markRunning()) {
+                return;
+            }
+            try {
+                BacktestReportResponse report = backtestingService.runBacktest(job.getRequest(), job.getUserEmail(),
+                        BacktestProgressListener.NONE, job.getBudget());
+                if (report.getAbortReason() == AbortReason.CANCELLED) {
+                    job.markCancelled(report);
+                    logger.info("Backtest job {} cancelled while running", job.getId());
+                    return;
+                }
+                job.markSucceeded(report);
+                logger.info("Backtest job {} succeeded", job.getId());
+            } catch (Exception ex) {
+                logger.warn("Backtest job {} failed: {}", job.getId(), ex.getMessage());
+                job.markFailed(ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.AbortReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Service-wide ceilings for a single backtest. Callers may ask for a shorter deadline, never a longer
+ * one. Every aborted run is counted in {@code backtest.aborted}, tagged with its reason.
+ */
+@Component
+public class BacktestLimits {
+
+    private final Duration maxDuration;
+    private final int maxBars;
+    private final Map<AbortReason, Counter> abortCounters = new EnumMap<>(AbortReason.class);
+
+    public BacktestLimits(@Value("${backtest.limits.max-duration:60s}") Duration maxDuration,
+                          @Value("${backtest.limits.max-bars:5000000}") int maxBars,
+                          MeterRegistry meterRegistry) {
+        this.maxDuration = maxDuration;
+        this.maxBars = maxBars;
+        for (AbortReason reason : AbortReason.values()) {
+            abortCounters.put(reason, Counter.builder("backtest.aborted")
+                    .description("Backtests stopped before evaluating all of their bars")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Budget for one run: the smallest of the configured maximum and the given timeouts, which may be
+     * null when the caller did not ask for one.
+     */
+    public BacktestBudget newBudget(Long... requestedTimeoutMillis) {
+        Duration timeout = maxDuration;
+        for (Long millis : requestedTimeoutMillis) {
+            if (millis != null && millis > 0 && Duration.ofMillis(millis).compareTo(timeout) < 0) {
+                timeout = Duration.ofMillis(millis);
+            }
+        }
+        return new BacktestBudget(timeout, maxBars);
+    }
+
+    public void recordAbort(AbortReason reason) {
+        abortCounters.get(reason).increment();
+    }
+}
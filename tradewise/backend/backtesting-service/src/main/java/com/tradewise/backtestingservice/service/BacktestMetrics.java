@@ -0,0 +1,110 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.BacktestRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Publishes the stage timings of every single-symbol backtest. Tags are bucketed rather than raw,
+ * so the number of series stays bounded whatever symbols and strategies users send:
+ * <ul>
+ *     <li>{@code backtest.phase}: one timer per stage, tagged with {@code phase}, {@code symbol_class},
+ *     {@code bars}, {@code strategy_size} and {@code engine};</li>
+ *     <li>{@code backtest.duration}: the whole run, tagged with its {@code outcome} instead of the sizes;</li>
+ *     <li>{@code backtest.bars.loaded}: bars fetched for simulation, per engine.</li>
+ * </ul>
+ */
+@Component
+public class BacktestMetrics {
+
+    private static final Pattern US_TICKER = Pattern.compile("[A-Z]{1,5}([.-][A-Z])?");
+
+    private final MeterRegistry meterRegistry;
+
+    public BacktestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(BacktestRequest request, BacktestTimings timings, String outcome) {
+        String engine = request.getEngine().name().toLowerCase(Locale.ROOT);
+        String symbolClass = symbolClass(request.getSymbol());
+        Tags phaseTags = Tags.of(
+                "symbol_class", symbolClass,
+                "bars", barBucket(timings.getBarCount()),
+                "strategy_size", strategySizeBucket(timings.getConditionCount()),
+                "engine", engine);
+
+        for (BacktestTimings.Stage stage : BacktestTimings.Stage.values()) {
+            if (timings.has(stage)) {
+                Timer.builder("backtest.phase")
+                        .description("Time spent in one stage of a backtest")
+                        .tags(phaseTags)
+                        .tag("phase", stage.label())
+                        .register(meterRegistry)
+                        .record(timings.nanos(stage), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        Timer.builder("backtest.duration")
+                .description("End-to-end time of a backtest")
+                .tags("outcome", outcome, "symbol_class", symbolClass, "engine", engine)
+                .register(meterRegistry)
+                .record(timings.elapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (timings.getBarCount() > 0) {
+            Counter.builder("backtest.bars.loaded")
+                    .description("Bars loaded for simulation")
+                    .tag("engine", engine)
+                    .register(meterRegistry)
+                    .increment(timings.getBarCount());
+        }
+    }
+
+    /** {@code index} for caret symbols, {@code international} for exchange suffixes such as TSCO.LON. */
+    static String symbolClass(String symbol) {
+        String normalized = symbol == null ? "" : symbol.trim().toUpperCase(Locale.ROOT);
+        if (normalized.startsWith("^")) {
+            return "index";
+        }
+        if (US_TICKER.matcher(normalized).matches()) {
+            return "us_equity";
+        }
+        if (normalized.matches("[A-Z0-9-]+\\.[A-Z]{2,4}")) {
+            return "international";
+        }
+        return "other";
+    }
+
+    static String barBucket(int bars) {
+        if (bars < 0) {
+            return "none";
+        }
+        if (bars < 1_000) {
+            return "lt_1k";
+        }
+        if (bars < 10_000) {
+            return "1k_10k";
+        }
+        return bars < 100_000 ? "10k_100k" : "gte_100k";
+    }
+
+    static String strategySizeBucket(int conditions) {
+        if (conditions < 0) {
+            return "unknown";
+        }
+        if (conditions <= 2) {
+            return "1_2";
+        }
+        if (conditions <= 5) {
+            return "3_5";
+        }
+        return conditions <= 10 ? "6_10" : "gt_10";
+    }
+}
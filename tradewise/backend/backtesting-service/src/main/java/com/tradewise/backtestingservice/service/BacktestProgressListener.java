@@ -0,0 +1,25 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.BacktestPhase;
+import com.tradewise.backtestingservice.engine.TradeLog;
+
+/**
+ * Observer for a single backtest run. Callbacks arrive on the thread running the backtest, and
+ * {@link #isCancelled()} is polled between stages and blocks of bars.
+ */
+public interface BacktestProgressListener {
+
+    BacktestProgressListener NONE = new BacktestProgressListener() {
+    };
+
+    default void onPhase(BacktestPhase phase) {
+    }
+
+    /** Trades closed so far after {@code barsProcessed} of {@code totalBars} bars. */
+    default void onSimulationProgress(int barsProcessed, int totalBars, TradeLog tradeLog) {
+    }
+
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,289 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.dto.response.CurvePoint;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the report from a trade log in a single pass over the bars, in primitive doubles. Values
+ * are rounded to BigDecimal only when the response is assembled.
+ *
+ * <p>Drawdown and the risk ratios use ta4j's CashFlow equity curve: equity is marked to each close
+ * relative to the entry price while a position is open and carried flat between positions. Ratios
+ * are annualised from the bar spacing, with a zero risk-free rate. The optional curves follow the
+ * same equity, scaled by the initial cash, so the drawdown curve bottoms out at the reported max
+ * drawdown.
+ */
+@Component
+public class BacktestReportCalculator {
+
+    private static final double MILLIS_PER_YEAR = 365.25 * 24 * 60 * 60 * 1000;
+    private static final double MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+
+    public BacktestReportResponse emptyReport(String strategyName, String symbol) {
+        return BacktestReportResponse.builder()
+                .strategyName(strategyName)
+                .symbol(symbol)
+                .totalTrades(0)
+                .totalProfitLoss(BigDecimal.ZERO)
+                .totalReturnPercent(BigDecimal.ZERO)
+                .winRatePercent(BigDecimal.ZERO)
+                .maxDrawdownPercent(BigDecimal.ZERO)
+                .sharpeRatio(BigDecimal.ZERO)
+                .sortinoRatio(BigDecimal.ZERO)
+                .cagrPercent(BigDecimal.ZERO)
+                .exposurePercent(BigDecimal.ZERO)
+                .averageTradeProfitLoss(BigDecimal.ZERO)
+                .longestDrawdownDays(0)
+                .build();
+    }
+
+    public BacktestReportResponse calculateReport(
+            String strategyName,
+            String symbol,
+            BarColumns bars,
+            TradeLog tradeLog,
+            Double initialCash
+    ) {
+        return calculateReport(strategyName, symbol, bars, tradeLog, initialCash, 0, bars.size());
+    }
+
+    /** Report over bars {@code [fromIndex, toIndex)} for a trade log produced on that window. */
+    public BacktestReportResponse calculateReport(
+            String strategyName,
+            String symbol,
+            BarColumns bars,
+            TradeLog tradeLog,
+            Double initialCash,
+            int fromIndex,
+            int toIndex
+    ) {
+        return calculateReport(strategyName, symbol, bars, tradeLog, initialCash, fromIndex, toIndex, null);
+    }
+
+    /**
+     * Same as {@link #calculateReport(String, String, BarColumns, TradeLog, Double, int, int)}, adding
+     * equity and drawdown curves downsampled to {@code curvePoints} points when it is not null.
+     */
+    public BacktestReportResponse calculateReport(
+            String strategyName,
+            String symbol,
+            BarColumns bars,
+            TradeLog tradeLog,
+            Double initialCash,
+            int fromIndex,
+            int toIndex,
+            Integer curvePoints
+    ) {
+        int totalPositions = tradeLog.count();
+
+        if (totalPositions == 0) {
+            BacktestReportResponse report = emptyReport(strategyName, symbol);
+            if (curvePoints != null && toIndex > fromIndex) {
+                long[] endTimes = bars.endTimes();
+                report.setEquityCurve(List.of(
+                        point(endTimes[fromIndex], initialCash), point(endTimes[toIndex - 1], initialCash)));
+                report.setDrawdownCurve(List.of(point(endTimes[fromIndex], 0), point(endTimes[toIndex - 1], 0)));
+            }
+            return report;
+        }
+
+        double[] close = bars.close();
+        long[] endTimes = bars.endTimes();
+        int size = toIndex - fromIndex;
+        double amount = tradeLog.amount();
+
+        double realizedPnl = 0;
+        int winningPositions = 0;
+        long exposedBars = 0;
+
+        double equity = 1;
+        double previousEquity = 1;
+        double positionBase = 1;
+        double peak = 0;
+        int peakIndex = fromIndex;
+        double maxDrawdown = 0;
+        long longestDrawdownMillis = 0;
+
+        // Welford running mean/variance of per-bar returns, plus downside sum of squares
+        long returnCount = 0;
+        double meanReturn = 0;
+        double sumSquaredDeviation = 0;
+        double sumSquaredDownside = 0;
+
+        // Curves cover only this window, indexed from fromIndex
+        double[] equityCurve = curvePoints != null ? new double[size] : null;
+        double[] drawdownCurve = curvePoints != null ? new double[size] : null;
+
+        int p = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (p < totalPositions && i == tradeLog.entryIndex(p)) {
+                positionBase = equity;
+            }
+            // Not else-if: a position entered on the final bar is force-closed on that same bar.
+            if (p < totalPositions && i >= tradeLog.entryIndex(p)) {
+                if (i < tradeLog.exitIndex(p)) {
+                    if (i > tradeLog.entryIndex(p)) {
+                        equity = positionBase * close[i] / tradeLog.entryPrice(p);
+                    }
+                } else {
+                    equity = positionBase * tradeLog.exitPrice(p) / tradeLog.entryPrice(p);
+
+                    double positionPnl = (tradeLog.exitPrice(p) - tradeLog.entryPrice(p)) * amount;
+                    realizedPnl += positionPnl;
+                    if (positionPnl > 0) {
+                        winningPositions++;
+                    }
+                    exposedBars += Math.max(1, tradeLog.exitIndex(p) - tradeLog.entryIndex(p));
+                    p++;
+                }
+            }
+
+            if (i > fromIndex) {
+                double barReturn = equity / previousEquity - 1;
+                returnCount++;
+                double delta = barReturn - meanReturn;
+                meanReturn += delta / returnCount;
+                sumSquaredDeviation += delta * (barReturn - meanReturn);
+                if (barReturn < 0) {
+                    sumSquaredDownside += barReturn * barReturn;
+                }
+            }
+            previousEquity = equity;
+
+            double drawdown = 0;
+            if (equity >= peak) {
+                peak = equity;
+                peakIndex = i;
+            } else {
+                longestDrawdownMillis = Math.max(longestDrawdownMillis, endTimes[i] - endTimes[peakIndex]);
+                drawdown = (peak - equity) / peak;
+                if (drawdown > maxDrawdown) {
+                    maxDrawdown = drawdown;
+                }
+            }
+
+            if (equityCurve != null) {
+                equityCurve[i - fromIndex] = equity * initialCash;
+                drawdownCurve[i - fromIndex] = drawdown * 100;
+            }
+        }
+
+        double years = size > 1 ? (endTimes[toIndex - 1] - endTimes[fromIndex]) / MILLIS_PER_YEAR : 0;
+        double periodsPerYear = years > 0 ? returnCount / years : 0;
+
+        double volatility = returnCount > 1 ? Math.sqrt(sumSquaredDeviation / (returnCount - 1)) : 0;
+        double downsideDeviation = returnCount > 0 ? Math.sqrt(sumSquaredDownside / returnCount) : 0;
+        double sharpe = volatility > 0 ? meanReturn / volatility * Math.sqrt(periodsPerYear) : 0;
+        double sortino = downsideDeviation > 0 ? meanReturn / downsideDeviation * Math.sqrt(periodsPerYear) : 0;
+
+        double returnPercent = initialCash > 0 ? realizedPnl / initialCash * 100 : 0;
+        double finalRatio = initialCash > 0 ? (initialCash + realizedPnl) / initialCash : 0;
+        double cagr = years > 0 && finalRatio > 0 ? Math.pow(finalRatio, 1 / years) - 1 : 0;
+
+        BacktestReportResponse report = BacktestReportResponse.builder()
+                .strategyName(strategyName)
+                .symbol(symbol)
+                .totalTrades(totalPositions)
+                .totalProfitLoss(round(realizedPnl))
+                .totalReturnPercent(round(returnPercent))
+                .winRatePercent(round((double) winningPositions / totalPositions * 100))
+                .maxDrawdownPercent(round(maxDrawdown * 100))
+                .sharpeRatio(round(sharpe))
+                .sortinoRatio(round(sortino))
+                .cagrPercent(round(cagr * 100))
+                .exposurePercent(round((double) exposedBars / size * 100))
+                .averageTradeProfitLoss(round(realizedPnl / totalPositions))
+                .longestDrawdownDays(Math.round(longestDrawdownMillis / MILLIS_PER_DAY))
+                .build();
+
+        if (equityCurve != null) {
+            report.setEquityCurve(downsample(endTimes, equityCurve, fromIndex, toIndex, curvePoints));
+            report.setDrawdownCurve(downsample(endTimes, drawdownCurve, fromIndex, toIndex, curvePoints));
+        }
+        return report;
+    }
+
+    /**
+     * Total return and max drawdown over bars {@code [fromIndex, toIndex)}, as unrounded percentages,
+     * walking the same equity curve as the report. Lets callers rank many trade logs without building
+     * a report for each.
+     */
+    public ReturnSummary summarize(BarColumns bars, TradeLog tradeLog, double initialCash, int fromIndex, int toIndex) {
+        int totalPositions = tradeLog.count();
+        if (totalPositions == 0) {
+            return new ReturnSummary(0, 0);
+        }
+
+        double[] close = bars.close();
+        double amount = tradeLog.amount();
+
+        double realizedPnl = 0;
+        double equity = 1;
+        double positionBase = 1;
+        double peak = 0;
+        double maxDrawdown = 0;
+
+        int p = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (p < totalPositions && i == tradeLog.entryIndex(p)) {
+                positionBase = equity;
+            }
+            if (p < totalPositions && i >= tradeLog.entryIndex(p)) {
+                if (i < tradeLog.exitIndex(p)) {
+                    if (i > tradeLog.entryIndex(p)) {
+                        equity = positionBase * close[i] / tradeLog.entryPrice(p);
+                    }
+                } else {
+                    equity = positionBase * tradeLog.exitPrice(p) / tradeLog.entryPrice(p);
+                    realizedPnl += (tradeLog.exitPrice(p) - tradeLog.entryPrice(p)) * amount;
+                    p++;
+                }
+            }
+
+            if (equity >= peak) {
+                peak = equity;
+            } else {
+                maxDrawdown = Math.max(maxDrawdown, (peak - equity) / peak);
+            }
+        }
+
+        double returnPercent = initialCash > 0 ? realizedPnl / initialCash * 100 : 0;
+        return new ReturnSummary(returnPercent, maxDrawdown * 100);
+    }
+
+    private List<CurvePoint> downsample(long[] endTimes, double[] values, int fromIndex, int toIndex, int points) {
+        int[] selected = LargestTriangleThreeBuckets.select(endTimes, values, fromIndex, toIndex, points);
+        List<CurvePoint> curve = new ArrayList<>(selected.length);
+        for (int index : selected) {
+            curve.add(point(endTimes[index], values[index - fromIndex]));
+        }
+        return curve;
+    }
+
+    private CurvePoint point(long endTime, double value) {
+        return CurvePoint.builder()
+                .time(Instant.ofEpochMilli(endTime))
+                .value(round(value))
+                .build();
+    }
+
+    private BigDecimal round(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /** Total return and max drawdown of a trade log, in percent. */
+    public record ReturnSummary(double returnPercent, double maxDrawdownPercent) {
+    }
+}
@@ -0,0 +1,341 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.AbortReason;
+import com.tradewise.backtestingservice.dto.BacktestRequest;
+import com.tradewise.backtestingservice.dto.BarInterval;
+import com.tradewise.backtestingservice.dto.MonteCarloOptions;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.dto.response.CurvePoint;
+import com.tradewise.backtestingservice.dto.response.MonteCarloSummary;
+import com.tradewise.backtestingservice.dto.response.PercentileSummary;
+import com.tradewise.backtestingservice.dto.response.ResultCacheStatsResponse;
+import com.tradewise.backtestingservice.engine.ConditionSpec;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import com.tradewise.backtestingservice.exception.BacktestCancelledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of finished backtest reports, keyed by a SHA-256 of the canonical strategy definition
+ * and every request field that affects the result. Rules and their conditions are sorted before
+ * hashing, so reordering OR'ed rules or AND'ed conditions maps to the same entry.
+ *
+ * <p>Entries expire together with the bar cache at the next market close, when new bars can change
+ * the result. Intraday runs whose range reaches today see a new bar every interval, so theirs expire
+ * one bar interval after they were computed instead. All entries of a strategy are dropped as soon as a request sees a different
+ * definition for it. Concurrent identical requests share one computation, each waiting only as long
+ * as its own budget allows. Every caller gets its own
+ * copy of the report, so adjusting a returned report never changes the cached one. Aborted reports
+ * depend on the budget of the run that produced them and are never cached.
+ */
+@Component
+public class BacktestResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BacktestResultCache.class);
+
+    /** Longest a waiter blocks on a running computation before re-checking its own budget. */
+    private static final long WAIT_SLICE_MILLIS = 100;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final HistoricalBarCache barCache;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, CachedReport> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, String> strategyVersions = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<BacktestReportResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    @Autowired
+    public BacktestResultCache(@Value("${backtest.result-cache.enabled:true}") boolean enabled,
+                               @Value("${backtest.result-cache.max-entries:500}") int maxEntries,
+                               HistoricalBarCache barCache) {
+        this(enabled, maxEntries, barCache, Clock.systemUTC());
+    }
+
+    BacktestResultCache(boolean enabled, int maxEntries, HistoricalBarCache barCache, Clock clock) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.barCache = barCache;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached report for this request, or runs {@code compute} and caches its result.
+     * Requests that are not repeatable, such as an unseeded Monte Carlo stage, always compute. A request
+     * that finds an identical one already running waits for it within {@code budget}; if the budget runs
+     * out or is cancelled first, it returns {@code aborted} for the reason instead.
+     */
+    public BacktestReportResponse getOrCompute(BacktestRequest request, StrategyDefinition definition,
+                                               BacktestBudget budget, Supplier<BacktestReportResponse> compute,
+                                               Function<AbortReason, BacktestReportResponse> aborted) {
+        if (!enabled || !isRepeatable(request)) {
+            return compute.get();
+        }
+
+        String definitionHash = sha256(canonical(definition));
+        invalidateIfChanged(request.getStrategyId(), definitionHash);
+        String key = sha256(definitionHash + '|' + canonical(request));
+
+        while (true) {
+            BacktestReportResponse cached = lookup(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return copyOf(cached);
+            }
+
+            CompletableFuture<BacktestReportResponse> pending = new CompletableFuture<>();
+            CompletableFuture<BacktestReportResponse> existing = inFlight.putIfAbsent(key, pending);
+            if (existing == null) {
+                misses.incrementAndGet();
+                return computeAndStore(key, request, pending, compute);
+            }
+
+            coalesced.incrementAndGet();
+            try {
+                // A leader that ran out of its own budget says nothing about this request either
+                BacktestReportResponse shared = await(existing, budget);
+                if (shared == null) {
+                    return aborted.apply(budget.check());
+                }
+                if (!shared.isAborted()) {
+                    return copyOf(shared);
+                }
+            } catch (CompletionException ex) {
+                // A cancelled leader says nothing about this request; compute it again
+                if (!(ex.getCause() instanceof BacktestCancelledException)) {
+                    throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+                }
+            }
+        }
+    }
+
+    /** Waits for a running computation; returns null once {@code budget} says to stop. */
+    private static BacktestReportResponse await(CompletableFuture<BacktestReportResponse> leader,
+                                                BacktestBudget budget) {
+        while (budget.check() == null) {
+            try {
+                long wait = Math.max(1, Math.min(WAIT_SLICE_MILLIS, budget.remainingMillis()));
+                return leader.get(wait, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                // Re-check the budget
+            } catch (ExecutionException ex) {
+                throw new CompletionException(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new BacktestCancelledException("Interrupted while waiting for an identical backtest");
+            }
+        }
+        return null;
+    }
+
+    public ResultCacheStatsResponse stats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get() + coalesced.get();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return ResultCacheStatsResponse.builder()
+                .enabled(enabled)
+                .entries(size)
+                .maxEntries(maxEntries)
+                .hits(hitCount)
+                .misses(misses.get())
+                .coalesced(coalesced.get())
+                .invalidations(invalidations.get())
+                .expirations(expirations.get())
+                .hitRatePercent(total == 0 ? 0.0 : Math.round((hitCount + coalesced.get()) * 10000.0 / total) / 100.0)
+                .build();
+    }
+
+    private BacktestReportResponse computeAndStore(String key, BacktestRequest request,
+                                                   CompletableFuture<BacktestReportResponse> pending,
+                                                   Supplier<BacktestReportResponse> compute) {
+        try {
+            BacktestReportResponse report = compute.get();
+            // The caller owns the report it gets back; the cache and any waiters only see this snapshot
+            BacktestReportResponse snapshot = copyOf(report);
+            if (!snapshot.isAborted()
+                    && (snapshot.getMonteCarlo() == null || !snapshot.getMonteCarlo().isTimeBudgetExceeded())) {
+                store(key, request, snapshot);
+            }
+            pending.complete(snapshot);
+            return report;
+        } catch (RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private BacktestReportResponse lookup(String key) {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            CachedReport cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (!now.isBefore(cached.expiresAt())) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                return null;
+            }
+            return cached.report();
+        }
+    }
+
+    private void store(String key, BacktestRequest request, BacktestReportResponse report) {
+        CachedReport cached = new CachedReport(request.getStrategyId(), report, expiryOf(request));
+        synchronized (entries) {
+            entries.put(key, cached);
+            if (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    private Instant expiryOf(BacktestRequest request) {
+        Instant now = clock.instant();
+        Instant nextClose = barCache.nextExpiry(now);
+        BarInterval interval = request.getInterval();
+        if (interval == null || !interval.isIntraday() || request.getEndDate().isBefore(barCache.today())) {
+            return nextClose;
+        }
+        Instant nextBar = now.plus(interval.duration());
+        return nextBar.isBefore(nextClose) ? nextBar : nextClose;
+    }
+
+    private void invalidateIfChanged(UUID strategyId, String definitionHash) {
+        String previous = strategyVersions.put(strategyId, definitionHash);
+        if (previous == null || previous.equals(definitionHash)) {
+            return;
+        }
+
+        int removed;
+        synchronized (entries) {
+            int before = entries.size();
+            entries.values().removeIf(cached -> cached.strategyId().equals(strategyId));
+            removed = before - entries.size();
+        }
+        invalidations.addAndGet(removed);
+        logger.info("Strategy {} changed, dropped {} cached backtest results", strategyId, removed);
+    }
+
+    /**
+     * Deep copy of a report, so no two callers share a mutable instance. Cached reports are only ever
+     * handed out through this.
+     */
+    static BacktestReportResponse copyOf(BacktestReportResponse report) {
+        MonteCarloSummary monteCarlo = report.getMonteCarlo();
+        return report.toBuilder()
+                .monteCarlo(monteCarlo == null ? null : monteCarlo.toBuilder()
+                        .totalReturnPercent(copyOf(monteCarlo.getTotalReturnPercent()))
+                        .maxDrawdownPercent(copyOf(monteCarlo.getMaxDrawdownPercent()))
+                        .build())
+                .equityCurve(copyOf(report.getEquityCurve()))
+                .drawdownCurve(copyOf(report.getDrawdownCurve()))
+                .build();
+    }
+
+    private static PercentileSummary copyOf(PercentileSummary summary) {
+        return summary == null ? null : summary.toBuilder().build();
+    }
+
+    private static List<CurvePoint> copyOf(List<CurvePoint> curve) {
+        if (curve == null) {
+            return null;
+        }
+        List<CurvePoint> copy = new ArrayList<>(curve.size());
+        for (CurvePoint point : curve) {
+            copy.add(point.toBuilder().build());
+        }
+        return copy;
+    }
+
+    /** Monte Carlo without a seed draws a fresh sample on every run, so its report is not reusable. */
+    private static boolean isRepeatable(BacktestRequest request) {
+        return request.getMonteCarlo() == null || request.getMonteCarlo().getSeed() != null;
+    }
+
+    static String canonical(StrategyDefinition definition) {
+        return "name=" + definition.name()
+                + "|entry=" + canonical(definition.entryRules())
+                + "|exit=" + canonical(definition.exitRules());
+    }
+
+    private static String canonical(List<List<ConditionSpec>> rules) {
+        return rules.stream()
+                .map(conditions -> conditions.stream()
+                        .map(BacktestResultCache::canonical)
+                        .sorted()
+                        .toList()
+                        .toString())
+                .sorted()
+                .toList()
+                .toString();
+    }
+
+    private static String canonical(ConditionSpec condition) {
+        return condition.left() + " " + condition.operator() + " " + (condition.isValueComparison()
+                ? condition.value().stripTrailingZeros().toPlainString()
+                : condition.right());
+    }
+
+    static String canonical(BacktestRequest request) {
+        MonteCarloOptions monteCarlo = request.getMonteCarlo();
+        return "symbol=" + request.getSymbol().trim().toUpperCase(Locale.ROOT)
+                + "|start=" + request.getStartDate()
+                + "|end=" + request.getEndDate()
+                + "|cash=" + request.getInitialCash()
+                + "|interval=" + request.getInterval()
+                + "|engine=" + request.getEngine()
+                + "|curve=" + request.getCurvePoints()
+                + "|monteCarlo=" + (monteCarlo == null ? "none" : monteCarlo.getMode() + "/"
+                + monteCarlo.getIterations() + "/" + monteCarlo.getSeed() + "/" + monteCarlo.getTimeBudgetMillis());
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record CachedReport(UUID strategyId, BacktestReportResponse report, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.BacktestPhase;
+import com.tradewise.backtestingservice.dto.BacktestRequest;
+import com.tradewise.backtestingservice.dto.response.BacktestProgressEvent;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import com.tradewise.backtestingservice.exception.BacktestCancelledException;
+import com.tradewise.backtestingservice.exception.BacktestRejectedException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a backtest on a bounded worker pool and streams its progress as server-sent events:
+ * {@code phase} events as each stage starts, {@code progress} events while the simulation runs, then
+ * one {@code report} or {@code error} event before the stream completes.
+ *
+ * <p>A failed send, a timeout or the client closing the connection marks the run cancelled, and the
+ * backtest stops at its next cancellation check instead of finishing for nobody.
+ */
+@Service
+public class BacktestStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BacktestStreamService.class);
+
+    private final BacktestingService backtestingService;
+    private final Duration timeout;
+    private final ThreadPoolExecutor workers;
+
+    public BacktestStreamService(BacktestingService backtestingService,
+                                 @Value("${backtest.stream.pool-size:4}") int poolSize,
+                                 @Value("${backtest.stream.queue-capacity:20}") int queueCapacity,
+                                 @Value("${backtest.stream.timeout:10m}") Duration timeout) {
+        this.backtestingService = backtestingService;
+        this.timeout = timeout;
+        this.workers = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("backtest-stream-"),
+                (runnable, executor) -> {
+                    throw new BacktestRejectedException("Too many streaming backtests, please retry later",
+                            Math.max(1, executor.getQueue().size() / Math.max(1, executor.getMaximumPoolSize())));
+                }
+        );
+    }
+
+    public SseEmitter stream(BacktestRequest request, String userEmail) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        StreamListener listener = new StreamListener(emitter);
+
+        emitter.onCompletion(listener::cancel);
+        emitter.onTimeout(listener::cancel);
+        emitter.onError(error -> listener.cancel());
+
+        workers.execute(() -> run(request, userEmail, emitter, listener));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(BacktestRequest request, String userEmail, SseEmitter emitter, StreamListener listener) {
+        try {
+            BacktestReportResponse report = backtestingService.runBacktest(request, userEmail, listener);
+            listener.onPhase(BacktestPhase.REPORT_READY);
+            listener.send("report", report);
+            emitter.complete();
+        } catch (BacktestCancelledException ex) {
+            logger.info("Streaming backtest for symbol: {} cancelled after {}ms",
+                    request.getSymbol(), listener.elapsedMillis());
+            emitter.complete();
+        } catch (Exception ex) {
+            logger.warn("Streaming backtest for symbol: {} failed: {}", request.getSymbol(), ex.getMessage());
+            listener.send("error", Map.of(
+                    "timestamp", LocalDateTime.now().toString(),
+                    "error", "Backtest Failed",
+                    "message", Objects.toString(ex.getMessage(), ex.getClass().getSimpleName())
+            ));
+            emitter.complete();
+        }
+    }
+
+    private static final class StreamListener implements BacktestProgressListener {
+
+        private final SseEmitter emitter;
+        private final long startedAt = System.nanoTime();
+        private volatile boolean cancelled;
+
+        private StreamListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onPhase(BacktestPhase phase) {
+            send("phase", BacktestProgressEvent.builder()
+                    .phase(phase)
+                    .elapsedMillis(elapsedMillis())
+                    .build());
+        }
+
+        @Override
+        public void onSimulationProgress(int barsProcessed, int totalBars, TradeLog tradeLog) {
+            double realizedPnl = 0;
+            for (int p = 0; p < tradeLog.count(); p++) {
+                realizedPnl += (tradeLog.exitPrice(p) - tradeLog.entryPrice(p)) * tradeLog.amount();
+            }
+
+            send("progress", BacktestProgressEvent.builder()
+                    .phase(BacktestPhase.SIMULATING)
+                    .elapsedMillis(elapsedMillis())
+                    .percentComplete(totalBars > 0 ? (int) ((long) barsProcessed * 100 / totalBars) : 100)
+                    .barsProcessed(barsProcessed)
+                    .totalBars(totalBars)
+                    .closedTrades(tradeLog.count())
+                    .realizedProfitLoss(BigDecimal.valueOf(realizedPnl).setScale(2, RoundingMode.HALF_UP))
+                    .positionOpen(tradeLog.isOpen())
+                    .build());
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        long elapsedMillis() {
+            return (System.nanoTime() - startedAt) / 1_000_000;
+        }
+
+        void send(String eventName, Object data) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException ex) {
+                // The client is gone; stop the run at its next check
+                cancelled = true;
+            }
+        }
+    }
+}
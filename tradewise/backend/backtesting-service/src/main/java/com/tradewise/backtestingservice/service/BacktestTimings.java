@@ -0,0 +1,100 @@
+package com.tradewise.backtestingservice.service;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock time spent in each stage of one backtest, along with the sizes that explain it. Filled
+ * in by the thread running the backtest and read once it returns, for the phase timers and the
+ * optional {@code Server-Timing} response header. The upstream fetches run concurrently on the fetch
+ * pool and each records only its own stage, which the backtest thread sees once it has joined them;
+ * their stage times therefore overlap and can add up to more than the total.
+ */
+public final class BacktestTimings {
+
+    public enum Stage {
+        STRATEGY_FETCH("strategy"),
+        BAR_FETCH("bars"),
+        RULE_BUILD("build"),
+        SIMULATION("simulate"),
+        REPORT("report"),
+        MONTE_CARLO("montecarlo");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    private final long startedAt = System.nanoTime();
+    private final long[] nanos = new long[Stage.values().length];
+    private final boolean[] recorded = new boolean[Stage.values().length];
+    private int barCount = -1;
+    private int conditionCount = -1;
+
+    public <T> T time(Stage stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            add(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void add(Stage stage, long elapsedNanos) {
+        nanos[stage.ordinal()] += elapsedNanos;
+        recorded[stage.ordinal()] = true;
+    }
+
+    public boolean has(Stage stage) {
+        return recorded[stage.ordinal()];
+    }
+
+    public long nanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /** Bars loaded for the run, or -1 when it never got that far, e.g. a cached result. */
+    public int getBarCount() {
+        return barCount;
+    }
+
+    public void setBarCount(int barCount) {
+        this.barCount = barCount;
+    }
+
+    /** Conditions across all BUY and SELL rules, or -1 before the strategy was parsed. */
+    public int getConditionCount() {
+        return conditionCount;
+    }
+
+    public void setConditionCount(int conditionCount) {
+        this.conditionCount = conditionCount;
+    }
+
+    /** The recorded stages and the total in {@code Server-Timing} syntax, durations in milliseconds. */
+    public String toServerTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        for (Stage stage : Stage.values()) {
+            if (has(stage)) {
+                header.add(entry(stage.label(), nanos(stage)));
+            }
+        }
+        header.add(entry("total", elapsedNanos()));
+        return header.toString();
+    }
+
+    private static String entry(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.1f", name, nanos / 1_000_000.0);
+    }
+}
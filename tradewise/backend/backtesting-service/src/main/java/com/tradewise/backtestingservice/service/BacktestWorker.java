@@ -0,0 +1,73 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkResult;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs sweep and batch units taken from the work topic and publishes the outcome to the reply topic.
+ * All instances share one consumer group, so each unit is run by a single instance unless Kafka
+ * redelivers it. Units are pure functions of their content, so a redelivered unit yields the same
+ * reply and the coordinator drops the duplicate. A failing unit is answered with an error reply
+ * instead of being retried here.
+ */
+@Component
+@ConditionalOnProperty(name = "backtest.distributed.enabled", havingValue = "true")
+public class BacktestWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BacktestWorker.class);
+
+    private final ParameterSweepService sweepService;
+    private final BatchBacktestService batchService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String replyTopic;
+    private final String workerId;
+
+    public BacktestWorker(ParameterSweepService sweepService,
+                          BatchBacktestService batchService,
+                          KafkaTemplate<String, Object> kafkaTemplate,
+                          @Value("${backtest.distributed.reply-topic:backtest-results}") String replyTopic,
+                          @Value("${HOSTNAME:${random.uuid}}") String workerId) {
+        this.sweepService = sweepService;
+        this.batchService = batchService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.replyTopic = replyTopic;
+        this.workerId = workerId;
+    }
+
+    @KafkaListener(
+            topics = "${backtest.distributed.work-topic:backtest-work}",
+            groupId = "${backtest.distributed.worker-group:backtest-workers}",
+            concurrency = "${backtest.distributed.worker-concurrency:2}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void onWorkUnit(BacktestWorkUnit unit) {
+        logger.info("Running {} unit {}/{} of run {}", unit.getKind(), unit.getUnitIndex() + 1,
+                unit.getUnitCount(), unit.getRunId());
+
+        BacktestWorkResult result;
+        try {
+            result = switch (unit.getKind()) {
+                case SWEEP -> sweepService.runUnit(unit);
+                case BATCH -> batchService.runUnit(unit);
+            };
+        } catch (RuntimeException ex) {
+            logger.warn("Unit {} of run {} failed: {}", unit.getUnitIndex(), unit.getRunId(), ex.getMessage());
+            result = BacktestWorkResult.builder()
+                    .success(false)
+                    .error(ex.getMessage())
+                    .build();
+        }
+
+        result.setRunId(unit.getRunId());
+        result.setUnitIndex(unit.getUnitIndex());
+        result.setWorker(workerId);
+        kafkaTemplate.send(replyTopic, unit.getRunId(), result);
+    }
+}
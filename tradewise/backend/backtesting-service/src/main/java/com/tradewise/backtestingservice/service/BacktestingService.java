@@ -1,40 +1,74 @@
 package com.tradewise.backtestingservice.service;
 
+import com.tradewise.backtestingservice.codec.BinaryBarDecoder;
+import com.tradewise.backtestingservice.codec.JsonBarDecoder;
+import com.tradewise.backtestingservice.dto.AbortReason;
+import com.tradewise.backtestingservice.dto.BacktestEngineType;
+import com.tradewise.backtestingservice.dto.BacktestPhase;
 import com.tradewise.backtestingservice.dto.BacktestRequest;
-import com.tradewise.backtestingservice.dto.BarDTO;
-import com.tradewise.backtestingservice.dto.internal.InternalStrategyConditionResponse;
+import com.tradewise.backtestingservice.dto.BarInterval;
+import com.tradewise.backtestingservice.dto.MonteCarloOptions;
 import com.tradewise.backtestingservice.dto.internal.InternalStrategyResponse;
-import com.tradewise.backtestingservice.dto.internal.InternalStrategyRuleResponse;
 import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.dto.response.DecisionPlanResponse;
+import com.tradewise.backtestingservice.dto.response.PlannedCondition;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.ConditionSpec;
+import com.tradewise.backtestingservice.engine.DecisionPlan;
+import com.tradewise.backtestingservice.engine.PrimitiveBacktestEngine;
+import com.tradewise.backtestingservice.engine.PrimitiveStrategy;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import com.tradewise.backtestingservice.engine.Ta4jBacktestEngine;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import com.tradewise.backtestingservice.exception.BacktestCancelledException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.ta4j.core.*;
-import org.ta4j.core.Trade;
-import org.ta4j.core.backtest.BarSeriesManager;
-import org.ta4j.core.criteria.MaximumDrawdownCriterion;
-import org.ta4j.core.indicators.EMAIndicator;
-import org.ta4j.core.indicators.RSIIndicator;
-import org.ta4j.core.indicators.SMAIndicator;
-import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.num.DecimalNum;
-import org.ta4j.core.num.Num;
-import org.ta4j.core.rules.*;
-
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+
+import java.net.SocketTimeoutException;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 @Service
 public class BacktestingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BacktestingService.class);
 
+    /** Progress callbacks per simulation; the primitive engine reports every 1/20th of the bars. */
+    private static final int PROGRESS_STEPS = 20;
+
+    /** Most bars simulated between two budget checks. */
+    private static final int BUDGET_CHECK_INTERVAL = 4096;
+
     private final RestTemplate restTemplate;
+    private final RestTemplate strategyRestTemplate;
+    private final StrategyDefinitionParser strategyDefinitionParser;
+    private final Ta4jBacktestEngine ta4jEngine;
+    private final PrimitiveBacktestEngine primitiveEngine;
+    private final BacktestReportCalculator reportCalculator;
+    private final HistoricalBarCache barCache;
+    private final MonteCarloService monteCarloService;
+    private final BacktestResultCache resultCache;
+    private final BacktestLimits limits;
+    private final BacktestMetrics metrics;
+    private final ExecutorService fetchExecutor;
+    private final Duration barFetchTimeout;
 
     private static final String STRATEGY_SERVICE_HOST =
             System.getenv().getOrDefault("STRATEGY_SERVICE_HOST", "localhost:8083");
@@ -42,374 +76,512 @@ public class BacktestingService {
     private static final String MARKET_DATA_SERVICE_HOST =
             System.getenv().getOrDefault("MARKET_DATA_SERVICE_HOST", "localhost:8084");
 
-    public BacktestingService(RestTemplate restTemplate) {
+    public BacktestingService(@Qualifier("restTemplate") RestTemplate restTemplate,
+                              @Qualifier("strategyRestTemplate") RestTemplate strategyRestTemplate,
+                              StrategyDefinitionParser strategyDefinitionParser,
+                              Ta4jBacktestEngine ta4jEngine,
+                              PrimitiveBacktestEngine primitiveEngine,
+                              BacktestReportCalculator reportCalculator,
+                              HistoricalBarCache barCache,
+                              MonteCarloService monteCarloService,
+                              BacktestResultCache resultCache,
+                              BacktestLimits limits,
+                              BacktestMetrics metrics,
+                              @Qualifier("backtestRunFetchExecutor") ExecutorService fetchExecutor,
+                              @Value("${backtest.fetch.bars-timeout:30s}") Duration barFetchTimeout) {
         this.restTemplate = restTemplate;
+        this.strategyRestTemplate = strategyRestTemplate;
+        this.strategyDefinitionParser = strategyDefinitionParser;
+        this.ta4jEngine = ta4jEngine;
+        this.primitiveEngine = primitiveEngine;
+        this.reportCalculator = reportCalculator;
+        this.barCache = barCache;
+        this.monteCarloService = monteCarloService;
+        this.resultCache = resultCache;
+        this.limits = limits;
+        this.metrics = metrics;
+        this.fetchExecutor = fetchExecutor;
+        this.barFetchTimeout = barFetchTimeout;
     }
 
     public BacktestReportResponse runBacktest(BacktestRequest request, String userEmail) {
-        logger.info("Starting backtest for symbol: {}, strategyId: {}", request.getSymbol(), request.getStrategyId());
+        return runBacktest(request, userEmail, BacktestProgressListener.NONE);
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("X-User-Email", userEmail);
+    /**
+     * Runs the backtest, reporting each stage to {@code listener} and stopping with
+     * {@link BacktestCancelledException} once the listener reports cancellation.
+     */
+    public BacktestReportResponse runBacktest(BacktestRequest request, String userEmail,
+                                              BacktestProgressListener listener) {
+        return runBacktest(request, userEmail, listener, limits.newBudget(request.getTimeoutMillis()));
+    }
 
-        // 1. Fetch strategy
-        String strategyUrl = "http://" + STRATEGY_SERVICE_HOST + "/api/strategies/" + request.getStrategyId() + "/internal";
-        HttpEntity<Void> strategyEntity = new HttpEntity<>(headers);
+    /**
+     * Same as {@link #runBacktest(BacktestRequest, String, BacktestProgressListener)} within
+     * {@code budget}. A run that exhausts it or is cancelled through it returns the metrics of the bars
+     * evaluated so far, flagged as aborted.
+     */
+    public BacktestReportResponse runBacktest(BacktestRequest request, String userEmail,
+                                              BacktestProgressListener listener, BacktestBudget budget) {
+        return runBacktest(request, userEmail, listener, budget, new BacktestTimings());
+    }
 
-        ResponseEntity<InternalStrategyResponse> strategyResponse = restTemplate.exchange(
-                strategyUrl,
-                HttpMethod.GET,
-                strategyEntity,
-                InternalStrategyResponse.class
-        );
+    /**
+     * Same as {@link #runBacktest(BacktestRequest, String, BacktestProgressListener, BacktestBudget)},
+     * recording the time spent in each stage into {@code timings}. The stage timings of every run, however
+     * it ends, are also published through {@link BacktestMetrics}.
+     */
+    public BacktestReportResponse runBacktest(BacktestRequest request, String userEmail,
+                                              BacktestProgressListener listener, BacktestBudget budget,
+                                              BacktestTimings timings) {
+        logger.info("Starting backtest for symbol: {}, strategyId: {}", request.getSymbol(), request.getStrategyId());
+        budget.start();
+        String outcome = "failed";
 
-        InternalStrategyResponse strategy = strategyResponse.getBody();
-        if (strategy == null) {
-            throw new RuntimeException("Strategy not found");
-        }
+        try {
+            // 1. Start the bar fetch, then fetch the strategy on this thread while it runs
+            CompletableFuture<BarColumns> barFetch = fetchAsync(timings, BacktestTimings.Stage.BAR_FETCH,
+                    barFetchTimeout, () -> fetchBars(request.getSymbol(), request.getStartDate(),
+                            request.getEndDate(), intervalOf(request), budget, userEmail));
+            BacktestReportResponse report;
+            AtomicBoolean computed = new AtomicBoolean();
+            try {
+                InternalStrategyResponse strategy = timings.time(BacktestTimings.Stage.STRATEGY_FETCH,
+                        () -> requestStrategy(request.getStrategyId(), userEmail));
+                checkOwnership(strategy, userEmail);
+
+                StrategyDefinition definition = strategyDefinitionParser.parse(strategy);
+                timings.setConditionCount(conditionCount(definition));
+
+                logger.info("Fetched strategy: {}, rules count: {}", strategy.getName(), strategy.getRules().size());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Decision plan:\n{}", DecisionPlan.compile(definition).explain());
+                }
+                advance(listener, BacktestPhase.STRATEGY_FETCHED);
+
+                // Identical requests reuse a cached report or wait for the one already running; only a
+                // computation waits for the bars, a hit drops the fetch
+                report = resultCache.getOrCompute(request, definition, budget, () -> {
+                    computed.set(true);
+                    BarColumns bars = await(barFetch, "market data for " + request.getSymbol());
+                    return runPipeline(request, strategy, definition, bars, listener, budget, timings);
+                }, reason -> {
+                    BacktestReportResponse aborted = reportCalculator.emptyReport(strategy.getName(), request.getSymbol());
+                    markAborted(aborted, reason, null);
+                    return aborted;
+                });
+            } finally {
+                barFetch.cancel(false);
+            }
 
-        if (!userEmail.equals(strategy.getUserEmail())) {
-            throw new RuntimeException("Access Denied: You do not own this strategy.");
+            outcome = report.isAborted() ? "aborted" : computed.get() ? "computed" : "cached";
+            return report;
+        } catch (BacktestCancelledException ex) {
+            outcome = "cancelled";
+            throw ex;
+        } finally {
+            metrics.record(request, timings, outcome);
         }
+    }
 
-        if (strategy.getRules() == null || strategy.getRules().isEmpty()) {
-            throw new RuntimeException("Strategy has no rules to backtest");
+    private BacktestReportResponse runPipeline(BacktestRequest request, InternalStrategyResponse strategy,
+                                               StrategyDefinition definition, BarColumns bars,
+                                               BacktestProgressListener listener, BacktestBudget budget,
+                                               BacktestTimings timings) {
+        // 2. Check the historical bars
+        timings.setBarCount(bars.size());
+        if (bars.isEmpty()) {
+            logger.warn("No market data found for symbol: {}", request.getSymbol());
+            return reportCalculator.emptyReport(strategy.getName(), request.getSymbol());
         }
 
-        logger.info("Fetched strategy: {}, rules count: {}", strategy.getName(), strategy.getRules().size());
-
-        // 2. Fetch historical bars
-        String dataUrl = String.format(
-                "http://" + MARKET_DATA_SERVICE_HOST + "/api/market-data/history/internal?symbol=%s&startDate=%s&endDate=%s",
-                request.getSymbol(),
-                request.getStartDate(),
-                request.getEndDate()
-        );
+        AbortReason abortReason = budget.check();
+        if (abortReason != null) {
+            BacktestReportResponse report = reportCalculator.emptyReport(strategy.getName(), request.getSymbol());
+            markAborted(report, abortReason, null);
+            return report;
+        }
+        advance(listener, BacktestPhase.BARS_LOADED);
 
-        HttpEntity<Void> dataEntity = new HttpEntity<>(headers);
+        return simulate(definition, strategy.getName(), request.getSymbol(), bars, request.getInitialCash(),
+                request.getEngine(), intervalOf(request), request.getMonteCarlo(), request.getCurvePoints(),
+                listener, budget, timings);
+    }
 
-        ResponseEntity<List<BarDTO>> dataResponse = restTemplate.exchange(
-                dataUrl,
-                HttpMethod.GET,
-                dataEntity,
-                new ParameterizedTypeReference<List<BarDTO>>() {}
-        );
+    private static BarInterval intervalOf(BacktestRequest request) {
+        return request.getInterval() != null ? request.getInterval() : BarInterval.ONE_DAY;
+    }
 
-        List<BarDTO> barDTOs = dataResponse.getBody();
-        if (barDTOs == null || barDTOs.isEmpty()) {
-            logger.warn("No market data found for symbol: {}", request.getSymbol());
-            return emptyReport(strategy.getName(), request.getSymbol());
+    private static int conditionCount(StrategyDefinition definition) {
+        int count = 0;
+        for (List<ConditionSpec> rule : definition.entryRules()) {
+            count += rule.size();
         }
+        for (List<ConditionSpec> rule : definition.exitRules()) {
+            count += rule.size();
+        }
+        return count;
+    }
 
-        barDTOs.sort(Comparator.comparing(BarDTO::getEndTime));
-        BarSeries barSeries = convertToBarSeries(request.getSymbol(), barDTOs);
-
-        // 3. Build ta4j strategy
-        BaseStrategy ta4jStrategy = buildTa4jStrategy(strategy, barSeries);
+    /**
+     * Runs an already parsed strategy over sorted bars on the selected engine and builds its report.
+     */
+    public BacktestReportResponse simulate(
+            StrategyDefinition definition,
+            String strategyName,
+            String symbol,
+            BarColumns bars,
+            double initialCash,
+            BacktestEngineType engine
+    ) {
+        return simulate(definition, strategyName, symbol, bars, initialCash, engine, BarInterval.ONE_DAY, null, null,
+                BacktestProgressListener.NONE, BacktestBudget.unlimited(), new BacktestTimings());
+    }
 
-        // 4. Run simulation
-        BarSeriesManager manager = new BarSeriesManager(barSeries);
+    /**
+     * Same as {@link #simulate(StrategyDefinition, String, String, BarColumns, double, BacktestEngineType)}
+     * over bars of {@code interval}, followed by the Monte Carlo stage over the trades when {@code monteCarlo} is given and with
+     * equity and drawdown curves when {@code curvePoints} is given. Progress goes to {@code listener}.
+     * Ranges longer than the budget's bar limit are cut short, and the simulation stops at the next
+     * block boundary once the deadline passes or the budget is cancelled. Stage times go to {@code timings}.
+     */
+    public BacktestReportResponse simulate(
+            StrategyDefinition definition,
+            String strategyName,
+            String symbol,
+            BarColumns bars,
+            double initialCash,
+            BacktestEngineType engine,
+            BarInterval interval,
+            MonteCarloOptions monteCarlo,
+            Integer curvePoints,
+            BacktestProgressListener listener,
+            BacktestBudget budget,
+            BacktestTimings timings
+    ) {
+        double amountToTrade = calculateTradeAmount(bars.close()[0], initialCash);
+        if (Double.isNaN(amountToTrade)) {
+            return reportCalculator.emptyReport(strategyName, symbol);
+        }
 
-        double firstPrice = barSeries.getBar(barSeries.getBeginIndex()).getClosePrice().doubleValue();
-        if (firstPrice <= 0 || Double.isNaN(firstPrice)) {
-            logger.warn("Invalid first price: {}", firstPrice);
-            return emptyReport(strategy.getName(), request.getSymbol());
+        // 3. Build strategy and run simulation on the selected engine
+        advance(listener, BacktestPhase.SIMULATING);
+        int toIndex = Math.min(bars.size(), budget.getMaxBars());
+        Simulation simulation = engine == BacktestEngineType.PRIMITIVE || engine == BacktestEngineType.VECTOR
+                ? runPrimitive(definition, bars, engine == BacktestEngineType.VECTOR, amountToTrade, toIndex,
+                        listener, budget, timings)
+                : runTa4j(definition, bars, interval, amountToTrade, toIndex, listener, budget, timings);
+
+        TradeLog tradeLog = simulation.tradeLog();
+        BacktestReportResponse report = timings.time(BacktestTimings.Stage.REPORT, () -> reportCalculator.calculateReport(
+                strategyName, symbol, bars, tradeLog, initialCash, 0, simulation.toIndex(), curvePoints));
+
+        AbortReason abortReason = simulation.abortReason();
+        if (abortReason == null && toIndex < bars.size()) {
+            abortReason = AbortReason.BAR_LIMIT;
         }
 
-        double amountToTrade = Math.floor(request.getInitialCash() / firstPrice);
-        if (amountToTrade < 1) {
-            amountToTrade = 1;
+        // 4. Optional Monte Carlo over the closed trades, skipped once the budget is spent
+        if (monteCarlo != null && tradeLog.count() > 0 && initialCash > 0 && budget.check() == null) {
+            advance(listener, BacktestPhase.MONTE_CARLO);
+            report.setMonteCarlo(timings.time(BacktestTimings.Stage.MONTE_CARLO, () -> monteCarloService.simulate(
+                    tradeLog, initialCash, monteCarlo, () -> listener.isCancelled() || budget.check() != null)));
+            checkCancelled(listener);
+            if (abortReason == null && report.getMonteCarlo().isTimeBudgetExceeded()) {
+                abortReason = budget.check();
+            }
         }
 
-        logger.info("Calculated trade amount: {}", amountToTrade);
+        if (abortReason != null) {
+            markAborted(report, abortReason, Instant.ofEpochMilli(bars.endTimes()[simulation.toIndex() - 1]));
+        }
+        return report;
+    }
 
-        TradingRecord tradingRecord = manager.run(
-                ta4jStrategy,
-                Trade.TradeType.BUY,
-                DecimalNum.valueOf(amountToTrade)
-        );
+    /** With {@code vectorised}, all entry and exit signals are computed before the bar loop starts. */
+    private Simulation runPrimitive(StrategyDefinition definition, BarColumns bars, boolean vectorised,
+                                    double amountToTrade, int toIndex, BacktestProgressListener listener,
+                                    BacktestBudget budget, BacktestTimings timings) {
+        PrimitiveStrategy primitiveStrategy = timings.time(BacktestTimings.Stage.RULE_BUILD, () -> {
+            PrimitiveStrategy compiled = PrimitiveStrategy.compile(definition, bars);
+            return vectorised ? compiled.precomputeSignals(toIndex) : compiled;
+        });
+        int reportEvery = Math.max(1, (toIndex - 1 + PROGRESS_STEPS - 1) / PROGRESS_STEPS);
+        int[] nextReport = {reportEvery};
+        int[] evaluatedTo = {toIndex};
+        AbortReason[] abortReason = new AbortReason[1];
+
+        TradeLog tradeLog = timings.time(BacktestTimings.Stage.SIMULATION, () -> primitiveEngine.run(
+                bars, primitiveStrategy, amountToTrade, 0, toIndex,
+                Math.min(reportEvery, BUDGET_CHECK_INTERVAL), (processed, total, log) -> {
+                    checkCancelled(listener);
+                    abortReason[0] = budget.check();
+                    if (abortReason[0] != null) {
+                        evaluatedTo[0] = processed + 1;
+                        return false;
+                    }
+                    if (processed >= nextReport[0] || processed == total) {
+                        listener.onSimulationProgress(processed, total, log);
+                        nextReport[0] += reportEvery;
+                    }
+                    return true;
+                }));
+
+        logger.info("Backtest finished on primitive engine. Total positions: {}", tradeLog.count());
+        return new Simulation(tradeLog, evaluatedTo[0], abortReason[0]);
+    }
 
-        // Force-close any open position at the end of the series
-        if (tradingRecord.getCurrentPosition().isOpened()) {
-            logger.info("Closing open position at end of series");
-            tradingRecord.exit(
-                    barSeries.getEndIndex(),
-                    barSeries.getBar(barSeries.getEndIndex()).getClosePrice(),
-                    tradingRecord.getCurrentPosition().getEntry().getAmount()
-            );
-        }
+    /** ta4j runs the whole series in one call, so progress is only reported once it returns. */
+    private Simulation runTa4j(StrategyDefinition definition, BarColumns bars, BarInterval interval, double amountToTrade,
+                               int toIndex, BacktestProgressListener listener, BacktestBudget budget,
+                               BacktestTimings timings) {
+        long buildStart = System.nanoTime();
+        BarSeries barSeries = ta4jEngine.convertToBarSeries(bars, interval.duration());
+        BaseStrategy ta4jStrategy = ta4jEngine.buildTa4jStrategy(definition, barSeries);
+        timings.add(BacktestTimings.Stage.RULE_BUILD, System.nanoTime() - buildStart);
+        checkCancelled(listener);
+        int[] evaluatedTo = {toIndex};
+        AbortReason[] abortReason = new AbortReason[1];
+
+        TradingRecord tradingRecord = timings.time(BacktestTimings.Stage.SIMULATION, () -> ta4jEngine.run(
+                barSeries, ta4jStrategy, amountToTrade, toIndex - 1, BUDGET_CHECK_INTERVAL, processed -> {
+                    checkCancelled(listener);
+                    abortReason[0] = budget.check();
+                    if (abortReason[0] != null) {
+                        evaluatedTo[0] = processed + 1;
+                        return false;
+                    }
+                    return true;
+                }));
 
         logger.info("Backtest finished. Total positions: {}", tradingRecord.getPositionCount());
-
-        return calculateReport(
-                strategy.getName(),
-                request.getSymbol(),
-                barSeries,
-                tradingRecord,
-                request.getInitialCash()
-        );
+        TradeLog tradeLog = ta4jEngine.toTradeLog(tradingRecord, amountToTrade);
+        listener.onSimulationProgress(evaluatedTo[0] - 1, toIndex - 1, tradeLog);
+        return new Simulation(tradeLog, evaluatedTo[0], abortReason[0]);
     }
 
-    private BacktestReportResponse emptyReport(String strategyName, String symbol) {
-        return BacktestReportResponse.builder()
-                .strategyName(strategyName)
-                .symbol(symbol)
-                .totalTrades(0)
-                .totalProfitLoss(BigDecimal.ZERO)
-                .totalReturnPercent(BigDecimal.ZERO)
-                .winRatePercent(BigDecimal.ZERO)
-                .maxDrawdownPercent(BigDecimal.ZERO)
-                .build();
+    private void markAborted(BacktestReportResponse report, AbortReason reason, Instant evaluatedUntil) {
+        logger.warn("Backtest for symbol: {} aborted ({}), evaluated until: {}", report.getSymbol(), reason, evaluatedUntil);
+        report.setAborted(true);
+        report.setAbortReason(reason);
+        report.setEvaluatedUntil(evaluatedUntil);
+        limits.recordAbort(reason);
     }
 
-    private BarSeries convertToBarSeries(String symbol, List<BarDTO> barDTOs) {
-        BaseBarSeries series = new BaseBarSeries(symbol);
-        for (BarDTO dto : barDTOs) {
-            series.addBar(
-                    Duration.ofDays(1),
-                    dto.getEndTime(),
-                    dto.getOpen().doubleValue(),
-                    dto.getHigh().doubleValue(),
-                    dto.getLow().doubleValue(),
-                    dto.getClose().doubleValue(),
-                    dto.getVolume().doubleValue()
-            );
+    /**
+     * Compiles the user's strategy into the {@link DecisionPlan} both engines evaluate, for debugging
+     * rule order and sharing without running a backtest.
+     */
+    public DecisionPlanResponse explainPlan(UUID strategyId, String userEmail) {
+        DecisionPlan plan = DecisionPlan.compile(strategyDefinitionParser.parse(fetchStrategy(strategyId, userEmail)));
+        int[][] entryRules = plan.entryRules();
+        int[][] exitRules = plan.exitRules();
+
+        int[] usage = new int[plan.conditions().size()];
+        Arrays.stream(entryRules).flatMapToInt(Arrays::stream).forEach(id -> usage[id]++);
+        Arrays.stream(exitRules).flatMapToInt(Arrays::stream).forEach(id -> usage[id]++);
+
+        List<PlannedCondition> conditions = new ArrayList<>(usage.length);
+        for (int id = 0; id < usage.length; id++) {
+            conditions.add(PlannedCondition.builder()
+                    .id(id)
+                    .expression(plan.conditions().get(id).toString())
+                    .estimatedCost(plan.estimatedCost(id))
+                    .estimatedSelectivity(plan.estimatedSelectivity(id))
+                    .usedByRules(usage[id])
+                    .build());
         }
-        return series;
-    }
-
-    private BaseStrategy buildTa4jStrategy(InternalStrategyResponse dbStrategy, BarSeries barSeries) {
-        Map<String, Indicator<Num>> indicatorCache = new HashMap<>();
-
-        Rule entryRule = new BooleanRule(false);
-        Rule exitRule = new BooleanRule(false);
 
-        boolean hasBuyRule = false;
-        boolean hasSellRule = false;
-
-        for (InternalStrategyRuleResponse dbRule : dbStrategy.getRules()) {
-            if (dbRule.getConditions() == null || dbRule.getConditions().isEmpty()) {
-                logger.warn("Skipping rule {} because it has no conditions", dbRule.getId());
-                continue;
-            }
+        return DecisionPlanResponse.builder()
+                .strategyName(plan.strategyName())
+                .conditions(conditions)
+                .entryRules(Arrays.stream(entryRules).map(rule -> Arrays.stream(rule).boxed().toList()).toList())
+                .exitRules(Arrays.stream(exitRules).map(rule -> Arrays.stream(rule).boxed().toList()).toList())
+                .explain(plan.explain())
+                .build();
+    }
 
-            String action = requireNonBlank(dbRule.getAction(), "Rule action");
-            logger.info("Processing Rule ID: {}, Action: {}", dbRule.getId(), action);
+    private void advance(BacktestProgressListener listener, BacktestPhase phase) {
+        checkCancelled(listener);
+        listener.onPhase(phase);
+    }
 
-            Rule combinedRuleForConditions = new BooleanRule(true);
+    private void checkCancelled(BacktestProgressListener listener) {
+        if (listener.isCancelled()) {
+            throw new BacktestCancelledException("Backtest cancelled by the client");
+        }
+    }
 
-            for (InternalStrategyConditionResponse dbCondition : dbRule.getConditions()) {
-                logger.info(
-                        "Condition: {} {} {} {}",
-                        dbCondition.getIndicatorA(),
-                        dbCondition.getOperator(),
-                        dbCondition.getIndicatorBType(),
-                        dbCondition.getIndicatorBValue()
-                );
+    /**
+     * Runs an upstream call on the fetch pool, timing it into {@code stage}. The returned future fails
+     * with a {@link TimeoutException} once {@code timeout} has passed since the call was issued; the
+     * HTTP requests underneath are bounded by the response timeout of their {@link RestTemplate}.
+     */
+    private <T> CompletableFuture<T> fetchAsync(BacktestTimings timings, BacktestTimings.Stage stage,
+                                                Duration timeout, Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> timings.time(stage, call), fetchExecutor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
 
-                Rule conditionRule = buildTa4jRule(dbCondition, barSeries, indicatorCache);
-                combinedRuleForConditions = combinedRuleForConditions.and(conditionRule);
+    private <T> T await(CompletableFuture<T> fetch, String what) {
+        try {
+            return fetch.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                throw new RuntimeException("Timed out fetching " + what);
             }
-
-            if ("BUY".equalsIgnoreCase(action)) {
-                entryRule = entryRule.or(combinedRuleForConditions);
-                hasBuyRule = true;
-            } else if ("SELL".equalsIgnoreCase(action)) {
-                exitRule = exitRule.or(combinedRuleForConditions);
-                hasSellRule = true;
-            } else {
-                throw new RuntimeException("Unsupported rule action: " + action);
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw ex;
         }
-
-        if (!hasBuyRule) {
-            throw new RuntimeException("Strategy must contain at least one BUY rule");
-        }
-        if (!hasSellRule) {
-            logger.warn("Strategy does not contain a SELL rule. Open positions will only close at series end.");
-        }
-
-        return new BaseStrategy(entryRule, exitRule);
     }
 
-    private Rule buildTa4jRule(
-            InternalStrategyConditionResponse condition,
-            BarSeries series,
-            Map<String, Indicator<Num>> cache
-    ) {
-        String indicatorAName = requireNonBlank(condition.getIndicatorA(), "indicatorA");
-        String operator = requireNonBlank(condition.getOperator(), "operator");
-        String indicatorBType = requireNonBlank(condition.getIndicatorBType(), "indicatorBType");
-        String indicatorBValue = requireNonBlank(condition.getIndicatorBValue(), "indicatorBValue");
+    /**
+     * Fetches a strategy from strategy-service and checks that {@code userEmail} owns it.
+     */
+    public InternalStrategyResponse fetchStrategy(UUID strategyId, String userEmail) {
+        InternalStrategyResponse strategy = requestStrategy(strategyId, userEmail);
+        checkOwnership(strategy, userEmail);
+        return strategy;
+    }
 
-        Indicator<Num> indicatorA = getIndicator(indicatorAName, condition.getIndicatorAParams(), series, cache);
+    private InternalStrategyResponse requestStrategy(UUID strategyId, String userEmail) {
+        String strategyUrl = "http://" + STRATEGY_SERVICE_HOST + "/api/strategies/" + strategyId + "/internal";
+        HttpEntity<Void> strategyEntity = new HttpEntity<>(internalHeaders(userEmail));
 
-        if ("VALUE".equalsIgnoreCase(indicatorBType)) {
-            DecimalNum valueB;
-            try {
-                valueB = DecimalNum.valueOf(new BigDecimal(indicatorBValue.trim()));
-            } catch (Exception ex) {
-                throw new RuntimeException("Invalid numeric indicatorBValue: " + indicatorBValue);
+        ResponseEntity<InternalStrategyResponse> strategyResponse;
+        try {
+            strategyResponse = strategyRestTemplate.exchange(
+                    strategyUrl,
+                    HttpMethod.GET,
+                    strategyEntity,
+                    InternalStrategyResponse.class
+            );
+        } catch (ResourceAccessException ex) {
+            if (ex.getCause() instanceof SocketTimeoutException) {
+                throw new RuntimeException("Timed out fetching strategy " + strategyId);
             }
-
-            return switch (operator.toUpperCase(Locale.ROOT)) {
-                case "GREATER_THAN" -> new OverIndicatorRule(indicatorA, valueB);
-                case "LESS_THAN" -> new UnderIndicatorRule(indicatorA, valueB);
-                default -> throw new RuntimeException("Unsupported operator for VALUE comparison: " + operator);
-            };
+            throw ex;
         }
 
-        if ("INDICATOR".equalsIgnoreCase(indicatorBType)) {
-            Indicator<Num> indicatorB = getIndicator(indicatorBValue, condition.getIndicatorBParams(), series, cache);
-
-            return switch (operator.toUpperCase(Locale.ROOT)) {
-                case "GREATER_THAN" -> new OverIndicatorRule(indicatorA, indicatorB);
-                case "LESS_THAN" -> new UnderIndicatorRule(indicatorA, indicatorB);
-                case "CROSSES_ABOVE" -> new CrossedUpIndicatorRule(indicatorA, indicatorB);
-                case "CROSSES_BELOW" -> new CrossedDownIndicatorRule(indicatorA, indicatorB);
-                default -> throw new RuntimeException("Unsupported operator for INDICATOR comparison: " + operator);
-            };
+        InternalStrategyResponse strategy = strategyResponse.getBody();
+        if (strategy == null) {
+            throw new RuntimeException("Strategy not found");
         }
-
-        throw new RuntimeException("Unsupported indicatorBType: " + indicatorBType);
+        return strategy;
     }
 
-    private Indicator<Num> getIndicator(
-            String name,
-            Map<String, String> params,
-            BarSeries series,
-            Map<String, Indicator<Num>> cache
-    ) {
-        String normalizedName = requireNonBlank(name, "indicator name").toUpperCase(Locale.ROOT);
-        Map<String, String> safeParams = params == null ? Collections.emptyMap() : new TreeMap<>(params);
-        String cacheKey = normalizedName + "|" + safeParams;
-
-        if (cache.containsKey(cacheKey)) {
-            return cache.get(cacheKey);
+    private void checkOwnership(InternalStrategyResponse strategy, String userEmail) {
+        if (!userEmail.equals(strategy.getUserEmail())) {
+            throw new RuntimeException("Access Denied: You do not own this strategy.");
         }
+    }
 
-        logger.info("Creating indicator: {} with params: {}", normalizedName, safeParams);
-
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        Indicator<Num> indicator;
-
-        switch (normalizedName) {
-            case "PRICE":
-                indicator = closePrice;
-                break;
-            case "SMA":
-                indicator = new SMAIndicator(closePrice, getRequiredPositiveIntParam(safeParams, "period", "SMA"));
-                break;
-            case "EMA":
-                indicator = new EMAIndicator(closePrice, getRequiredPositiveIntParam(safeParams, "period", "EMA"));
-                break;
-            case "RSI":
-                indicator = new RSIIndicator(closePrice, getRequiredPositiveIntParam(safeParams, "period", "RSI"));
-                break;
-            default:
-                throw new RuntimeException("Unsupported indicator: " + normalizedName);
+    /**
+     * Returns daily bars between the two dates, sorted by end time and empty when there is no data.
+     * Ranges inside the cached window are sliced from the symbol's full history in
+     * {@link HistoricalBarCache}; older ranges go straight to market-data-service.
+     */
+    public BarColumns fetchBars(String symbol, LocalDate startDate, LocalDate endDate, String userEmail) {
+        if (!barCache.covers(startDate)) {
+            return requestBars(symbol, startDate, endDate, BarInterval.ONE_DAY, userEmail);
         }
 
-        cache.put(cacheKey, indicator);
-        return indicator;
+        return barCache.getRange(symbol, startDate, endDate,
+                key -> requestBars(key, barCache.historyStart(), barCache.today(), BarInterval.ONE_DAY, userEmail));
     }
 
-    private int getRequiredPositiveIntParam(Map<String, String> params, String key, String indicatorName) {
-        String raw = params.get(key);
-        if (raw == null || raw.isBlank()) {
-            throw new RuntimeException(indicatorName + " requires parameter: " + key);
+    /**
+     * Returns bars of {@code interval} between the two dates. Daily bars go through
+     * {@link #fetchBars(String, LocalDate, LocalDate, String)}. Intraday histories bypass the history
+     * cache and are requested one calendar month at a time, so no single response grows with the range.
+     * Fetching stops once more than the budget's bar limit is loaded, which the simulation then reports
+     * as {@link AbortReason#BAR_LIMIT}, or once the budget runs out.
+     */
+    public BarColumns fetchBars(String symbol, LocalDate startDate, LocalDate endDate, BarInterval interval,
+                                BacktestBudget budget, String userEmail) {
+        if (!interval.isIntraday()) {
+            return fetchBars(symbol, startDate, endDate, userEmail);
         }
 
-        try {
-            int value = Integer.parseInt(raw.trim());
-            if (value <= 0) {
-                throw new RuntimeException(indicatorName + " parameter " + key + " must be > 0");
+        List<BarColumns> chunks = new ArrayList<>();
+        long loaded = 0;
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            LocalDate from = startDate.isAfter(month.atDay(1)) ? startDate : month.atDay(1);
+            LocalDate to = endDate.isBefore(month.atEndOfMonth()) ? endDate : month.atEndOfMonth();
+            BarColumns chunk = requestBars(symbol, from, to, interval, userEmail);
+            chunks.add(chunk);
+            loaded += chunk.size();
+            if (loaded > budget.getMaxBars() || budget.check() != null) {
+                logger.info("Stopped loading {} {} bars at {} after {} bars", symbol, interval, month, loaded);
+                break;
             }
-            return value;
-        } catch (NumberFormatException ex) {
-            throw new RuntimeException(indicatorName + " parameter " + key + " must be an integer");
         }
+        return BarColumns.concat(symbol, chunks);
     }
 
-    private String requireNonBlank(String value, String fieldName) {
-        if (value == null || value.isBlank()) {
-            throw new RuntimeException(fieldName + " is missing in strategy definition");
-        }
-        return value.trim();
-    }
-
-    private BacktestReportResponse calculateReport(
-            String strategyName,
-            String symbol,
-            BarSeries series,
-            TradingRecord record,
-            Double initialCash
-    ) {
-        int totalPositions = record.getPositionCount();
-
-        if (totalPositions == 0) {
-            return emptyReport(strategyName, symbol);
-        }
-
-        BigDecimal realizedPnl = BigDecimal.ZERO;
-        int winningPositions = 0;
-
-        for (Position position : record.getPositions()) {
-            if (!position.isClosed()) {
-                continue;
-            }
-
-            BigDecimal entryPrice = toBigDecimal(position.getEntry().getNetPrice());
-            BigDecimal exitPrice = toBigDecimal(position.getExit().getNetPrice());
-            BigDecimal amount = toBigDecimal(position.getEntry().getAmount());
+    /**
+     * Asks market-data-service for its binary columnar format and decodes it straight into columns;
+     * a JSON response is still accepted and streamed token by token into the same columns.
+     */
+    private BarColumns requestBars(String symbol, LocalDate startDate, LocalDate endDate, BarInterval interval,
+                                   String userEmail) {
+        String dataUrl = String.format(
+                "http://" + MARKET_DATA_SERVICE_HOST + "/api/market-data/history/internal?symbol=%s&startDate=%s&endDate=%s&interval=%s",
+                symbol,
+                startDate,
+                endDate,
+                interval.code()
+        );
 
-            // Long-only positions: BUY first, SELL later
-            BigDecimal positionPnl = exitPrice.subtract(entryPrice).multiply(amount);
+        BarColumns bars = restTemplate.execute(
+                dataUrl,
+                HttpMethod.GET,
+                request -> {
+                    request.getHeaders().addAll(internalHeaders(userEmail));
+                    request.getHeaders().setAccept(List.of(BinaryBarDecoder.MEDIA_TYPE, MediaType.APPLICATION_JSON));
+                },
+                response -> {
+                    MediaType contentType = response.getHeaders().getContentType();
+                    if (contentType != null && BinaryBarDecoder.MEDIA_TYPE.isCompatibleWith(contentType)) {
+                        return BinaryBarDecoder.decode(symbol, response.getBody());
+                    }
+                    return JsonBarDecoder.decode(symbol, response.getBody());
+                }
+        );
 
-            realizedPnl = realizedPnl.add(positionPnl);
+        return bars != null ? bars : BarColumns.fromBars(symbol, List.of());
+    }
 
-            if (positionPnl.compareTo(BigDecimal.ZERO) > 0) {
-                winningPositions++;
-            }
+    /**
+     * Whole number of shares the initial cash buys at the first close, at least one. Returns NaN when
+     * the first price cannot be traded.
+     */
+    public double calculateTradeAmount(double firstPrice, double initialCash) {
+        if (firstPrice <= 0 || Double.isNaN(firstPrice)) {
+            logger.warn("Invalid first price: {}", firstPrice);
+            return Double.NaN;
         }
 
-        BigDecimal initialCashBd = BigDecimal.valueOf(initialCash);
-        BigDecimal returnPercent = BigDecimal.ZERO;
-
-        if (initialCashBd.compareTo(BigDecimal.ZERO) > 0) {
-            returnPercent = realizedPnl
-                    .divide(initialCashBd, 6, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
+        double amountToTrade = Math.floor(initialCash / firstPrice);
+        if (amountToTrade < 1) {
+            amountToTrade = 1;
         }
 
-        BigDecimal winRate = BigDecimal.valueOf(winningPositions)
-                .divide(BigDecimal.valueOf(totalPositions), 6, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100));
-
-        BigDecimal maxDrawdown = BigDecimal.ZERO;
-        try {
-            maxDrawdown = toBigDecimal(new MaximumDrawdownCriterion().calculate(series, record))
-                    .multiply(BigDecimal.valueOf(100));
-        } catch (Exception e) {
-            logger.warn("Failed to calculate max drawdown, defaulting to 0: {}", e.getMessage());
-        }
+        logger.info("Calculated trade amount: {}", amountToTrade);
+        return amountToTrade;
+    }
 
-        return BacktestReportResponse.builder()
-                .strategyName(strategyName)
-                .symbol(symbol)
-                .totalTrades(totalPositions)
-                .totalProfitLoss(realizedPnl.setScale(2, RoundingMode.HALF_UP))
-                .totalReturnPercent(returnPercent.setScale(2, RoundingMode.HALF_UP))
-                .winRatePercent(winRate.setScale(2, RoundingMode.HALF_UP))
-                .maxDrawdownPercent(maxDrawdown.setScale(2, RoundingMode.HALF_UP))
-                .build();
+    private HttpHeaders internalHeaders(String userEmail) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Email", userEmail);
+        return headers;
     }
 
-    private BigDecimal toBigDecimal(Num num) {
-        if (num == null) {
-            return BigDecimal.ZERO;
-        }
-        return new BigDecimal(num.toString());
+    /** Trade log of a simulation over bars {@code [0, toIndex)}, with the reason it stopped early, if any. */
+    private record Simulation(TradeLog tradeLog, int toIndex, AbortReason abortReason) {
     }
-}
\ No newline at end of file
+}
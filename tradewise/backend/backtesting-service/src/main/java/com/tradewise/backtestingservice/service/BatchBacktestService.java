@@ -0,0 +1,242 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.BacktestEngineType;
+import com.tradewise.backtestingservice.dto.BatchBacktestRequest;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkKind;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkResult;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkUnit;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyResponse;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.dto.response.BatchAggregateResponse;
+import com.tradewise.backtestingservice.dto.response.BatchBacktestResponse;
+import com.tradewise.backtestingservice.dto.response.SymbolBacktestResult;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs one strategy across a list of symbols. The strategy is fetched and validated once; bar
+ * histories are fetched on the bounded I/O executor and simulations run on the CPU pool. A failure
+ * for one symbol is reported in its result and does not fail the batch. When distributed backtests are
+ * enabled, batches larger than one work unit are split into symbol groups run across instances.
+ */
+@Service
+public class BatchBacktestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchBacktestService.class);
+
+    private final BacktestingService backtestingService;
+    private final StrategyDefinitionParser strategyDefinitionParser;
+    private final ExecutorService backtestFetchExecutor;
+    private final ForkJoinPool backtestForkJoinPool;
+    private final Optional<DistributedBacktestCoordinator> coordinator;
+
+    public BatchBacktestService(BacktestingService backtestingService,
+                                StrategyDefinitionParser strategyDefinitionParser,
+                                @Qualifier("backtestFetchExecutor") ExecutorService backtestFetchExecutor,
+                                @Qualifier("backtestForkJoinPool") ForkJoinPool backtestForkJoinPool,
+                                Optional<DistributedBacktestCoordinator> coordinator) {
+        this.backtestingService = backtestingService;
+        this.strategyDefinitionParser = strategyDefinitionParser;
+        this.backtestFetchExecutor = backtestFetchExecutor;
+        this.backtestForkJoinPool = backtestForkJoinPool;
+        this.coordinator = coordinator;
+    }
+
+    public BatchBacktestResponse runBatch(BatchBacktestRequest request, String userEmail) {
+        long startedAt = System.nanoTime();
+        Set<String> symbols = normalizeSymbols(request.getSymbols());
+
+        logger.info("Starting batch backtest for {} symbols, strategyId: {}", symbols.size(), request.getStrategyId());
+
+        InternalStrategyResponse strategy = backtestingService.fetchStrategy(request.getStrategyId(), userEmail);
+        StrategyDefinition definition = strategyDefinitionParser.parse(strategy);
+
+        List<String> symbolList = List.copyOf(symbols);
+        int unitSize = coordinator.map(DistributedBacktestCoordinator::getBatchUnitSize).orElse(Integer.MAX_VALUE);
+        List<SymbolBacktestResult> results;
+        Integer workUnits = null;
+        Integer workUnitsRunLocally = null;
+
+        if (symbolList.size() > unitSize) {
+            List<BacktestWorkUnit> units = new ArrayList<>();
+            for (int from = 0; from < symbolList.size(); from += unitSize) {
+                units.add(BacktestWorkUnit.builder()
+                        .unitIndex(units.size())
+                        .kind(BacktestWorkKind.BATCH)
+                        .userEmail(userEmail)
+                        .strategy(strategy)
+                        .startDate(request.getStartDate())
+                        .endDate(request.getEndDate())
+                        .initialCash(request.getInitialCash())
+                        .symbols(symbolList.subList(from, Math.min(from + unitSize, symbolList.size())))
+                        .engine(request.getEngine())
+                        .build());
+            }
+
+            BacktestWorkResult[] replies = coordinator.get().dispatch(units);
+
+            results = new ArrayList<>(symbolList.size());
+            int runLocally = 0;
+            for (int i = 0; i < units.size(); i++) {
+                BacktestWorkResult reply = replies[i];
+                if (reply == null || !reply.isSuccess()) {
+                    logger.warn("Batch unit {} {}; running it locally", i,
+                            reply == null ? "did not answer" : "failed: " + reply.getError());
+                    reply = runUnit(units.get(i));
+                    runLocally++;
+                }
+                results.addAll(reply.getSymbolResults());
+            }
+            workUnits = units.size();
+            workUnitsRunLocally = runLocally;
+        } else {
+            results = runSymbols(definition, strategy.getName(), symbolList, request.getStartDate(),
+                    request.getEndDate(), request.getInitialCash(), request.getEngine(), userEmail);
+        }
+
+        int succeeded = (int) results.stream().filter(SymbolBacktestResult::isSuccess).count();
+
+        logger.info("Batch backtest finished. Succeeded: {}, failed: {}", succeeded, results.size() - succeeded);
+
+        return BatchBacktestResponse.builder()
+                .strategyName(strategy.getName())
+                .symbolsRequested(symbols.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                .aggregate(aggregate(results))
+                .results(results)
+                .workUnits(workUnits)
+                .workUnitsRunLocally(workUnitsRunLocally)
+                .build();
+    }
+
+    /** Runs the symbols of a batch unit taken from the work topic. */
+    public BacktestWorkResult runUnit(BacktestWorkUnit unit) {
+        StrategyDefinition definition = strategyDefinitionParser.parse(unit.getStrategy());
+        List<SymbolBacktestResult> results = runSymbols(definition, unit.getStrategy().getName(), unit.getSymbols(),
+                unit.getStartDate(), unit.getEndDate(), unit.getInitialCash(), unit.getEngine(), unit.getUserEmail());
+        return BacktestWorkResult.builder()
+                .success(true)
+                .symbolResults(results)
+                .build();
+    }
+
+    private List<SymbolBacktestResult> runSymbols(
+            StrategyDefinition definition,
+            String strategyName,
+            List<String> symbols,
+            LocalDate startDate,
+            LocalDate endDate,
+            double initialCash,
+            BacktestEngineType engine,
+            String userEmail
+    ) {
+        List<CompletableFuture<SymbolBacktestResult>> futures = symbols.stream()
+                .map(symbol -> CompletableFuture
+                        .supplyAsync(() -> backtestingService.fetchBars(
+                                symbol, startDate, endDate, userEmail), backtestFetchExecutor)
+                        .thenApplyAsync(bars -> simulate(definition, strategyName, symbol, bars, initialCash, engine),
+                                backtestForkJoinPool)
+                        .exceptionally(error -> failed(symbol, error)))
+                .toList();
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private SymbolBacktestResult simulate(
+            StrategyDefinition definition,
+            String strategyName,
+            String symbol,
+            BarColumns bars,
+            double initialCash,
+            BacktestEngineType engine
+    ) {
+        if (bars.isEmpty()) {
+            return new SymbolBacktestResult(symbol, false, null, "No market data found for " + symbol);
+        }
+
+        BacktestReportResponse report = backtestingService.simulate(
+                definition, strategyName, symbol, bars, initialCash, engine);
+        return new SymbolBacktestResult(symbol, true, report, null);
+    }
+
+    private SymbolBacktestResult failed(String symbol, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        logger.warn("Backtest failed for symbol {}: {}", symbol, cause.getMessage());
+        return new SymbolBacktestResult(symbol, false, null, cause.getMessage());
+    }
+
+    private Set<String> normalizeSymbols(List<String> symbols) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                normalized.add(symbol.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        return normalized;
+    }
+
+    private BatchAggregateResponse aggregate(List<SymbolBacktestResult> results) {
+        List<BacktestReportResponse> reports = results.stream()
+                .filter(SymbolBacktestResult::isSuccess)
+                .map(SymbolBacktestResult::getReport)
+                .toList();
+
+        if (reports.isEmpty()) {
+            return BatchAggregateResponse.builder()
+                    .totalTrades(0)
+                    .totalProfitLoss(BigDecimal.ZERO)
+                    .averageReturnPercent(BigDecimal.ZERO)
+                    .averageWinRatePercent(BigDecimal.ZERO)
+                    .worstMaxDrawdownPercent(BigDecimal.ZERO)
+                    .build();
+        }
+
+        BigDecimal count = BigDecimal.valueOf(reports.size());
+        Comparator<BacktestReportResponse> byReturn = Comparator.comparing(BacktestReportResponse::getTotalReturnPercent);
+
+        return BatchAggregateResponse.builder()
+                .totalTrades(reports.stream().mapToInt(BacktestReportResponse::getTotalTrades).sum())
+                .totalProfitLoss(sum(reports.stream().map(BacktestReportResponse::getTotalProfitLoss).toList()))
+                .averageReturnPercent(sum(reports.stream().map(BacktestReportResponse::getTotalReturnPercent).toList())
+                        .divide(count, 2, RoundingMode.HALF_UP))
+                .averageWinRatePercent(sum(reports.stream().map(BacktestReportResponse::getWinRatePercent).toList())
+                        .divide(count, 2, RoundingMode.HALF_UP))
+                .worstMaxDrawdownPercent(reports.stream()
+                        .map(BacktestReportResponse::getMaxDrawdownPercent)
+                        .max(Comparator.naturalOrder())
+                        .orElse(BigDecimal.ZERO))
+                .bestSymbol(reports.stream().max(byReturn).map(BacktestReportResponse::getSymbol).orElse(null))
+                .worstSymbol(reports.stream().min(byReturn).map(BacktestReportResponse::getSymbol).orElse(null))
+                .build();
+    }
+
+    private BigDecimal sum(List<BigDecimal> values) {
+        return values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,152 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkResult;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans the units of a sweep or batch out over the work topic, where every backtesting-service
+ * instance's {@link BacktestWorker} competes for them, and gathers their replies from the reply topic.
+ *
+ * <p>Each instance reads the reply topic in a consumer group of its own and keeps only replies for
+ * runs it started. Replies are idempotent per unit: the first one settles the unit, a later success
+ * replaces an earlier failure, and any other duplicate from a redelivery is dropped. Units that have
+ * not succeeded by the deadline come back as null or failed, and the caller runs them locally.
+ */
+@Service
+@ConditionalOnProperty(name = "backtest.distributed.enabled", havingValue = "true")
+public class DistributedBacktestCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributedBacktestCoordinator.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String workTopic;
+    private final Duration timeout;
+    private final int sweepUnitSize;
+    private final int batchUnitSize;
+    private final Map<String, PendingRun> runs = new ConcurrentHashMap<>();
+
+    public DistributedBacktestCoordinator(KafkaTemplate<String, Object> kafkaTemplate,
+                                          @Value("${backtest.distributed.work-topic:backtest-work}") String workTopic,
+                                          @Value("${backtest.distributed.timeout:2m}") Duration timeout,
+                                          @Value("${backtest.distributed.sweep-unit-size:250}") int sweepUnitSize,
+                                          @Value("${backtest.distributed.batch-unit-size:10}") int batchUnitSize) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.workTopic = workTopic;
+        this.timeout = timeout;
+        this.sweepUnitSize = sweepUnitSize;
+        this.batchUnitSize = batchUnitSize;
+    }
+
+    /** Grid points per sweep unit; sweeps no larger than this run locally. */
+    public int getSweepUnitSize() {
+        return sweepUnitSize;
+    }
+
+    /** Symbols per batch unit; batches no larger than this run locally. */
+    public int getBatchUnitSize() {
+        return batchUnitSize;
+    }
+
+    /**
+     * Publishes {@code units} under a new run id and blocks until all of them have succeeded or the
+     * timeout passes. The returned array is indexed by unit index; entries are null for units that
+     * never replied.
+     */
+    public BacktestWorkResult[] dispatch(List<BacktestWorkUnit> units) {
+        String runId = UUID.randomUUID().toString();
+        PendingRun run = new PendingRun(units.size());
+        runs.put(runId, run);
+
+        try {
+            for (BacktestWorkUnit unit : units) {
+                unit.setRunId(runId);
+                unit.setUnitCount(units.size());
+                kafkaTemplate.send(workTopic, runId + "/" + unit.getUnitIndex(), unit);
+            }
+            logger.info("Published {} {} units for run {}", units.size(), units.get(0).getKind(), runId);
+
+            if (!run.await(timeout)) {
+                logger.warn("Run {} timed out after {} with {} of {} units settled",
+                        runId, timeout, units.size() - run.pending(), units.size());
+            }
+            return run.snapshot();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for backtest work units", ex);
+        } finally {
+            runs.remove(runId);
+        }
+    }
+
+    @KafkaListener(
+            topics = "${backtest.distributed.reply-topic:backtest-results}",
+            groupId = "backtest-coordinator-${random.uuid}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onResult(BacktestWorkResult result) {
+        PendingRun run = result.getRunId() != null ? runs.get(result.getRunId()) : null;
+        if (run == null) {
+            logger.debug("Ignoring reply for run {} unit {}: not started here or already finished",
+                    result.getRunId(), result.getUnitIndex());
+            return;
+        }
+        if (!run.settle(result)) {
+            logger.debug("Ignoring duplicate reply for run {} unit {}", result.getRunId(), result.getUnitIndex());
+        }
+    }
+
+    private static final class PendingRun {
+
+        private final BacktestWorkResult[] results;
+        private final CountDownLatch unsettled;
+
+        private PendingRun(int units) {
+            this.results = new BacktestWorkResult[units];
+            this.unsettled = new CountDownLatch(units);
+        }
+
+        /** Stores the reply unless the unit already has one at least as good; returns whether it was kept. */
+        private synchronized boolean settle(BacktestWorkResult result) {
+            int unit = result.getUnitIndex();
+            if (unit < 0 || unit >= results.length) {
+                return false;
+            }
+            BacktestWorkResult previous = results[unit];
+            if (previous != null && (previous.isSuccess() || !result.isSuccess())) {
+                return false;
+            }
+            results[unit] = result;
+            if (previous == null) {
+                unsettled.countDown();
+            }
+            return true;
+        }
+
+        private boolean await(Duration timeout) throws InterruptedException {
+            return unsettled.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        private long pending() {
+            return unsettled.getCount();
+        }
+
+        private synchronized BacktestWorkResult[] snapshot() {
+            return results.clone();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.response.BarCacheStatsResponse;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * LRU cache of full daily histories per symbol, held as {@link BarColumns}. Any date range inside the
+ * cached history is served by slicing, so repeated backtests over overlapping ranges hit
+ * market-data-service once per symbol per trading day. Entries expire at the next market close
+ * (plus a grace period for the upstream provider to publish the new bar), and the cache is bounded
+ * by the total number of bars it holds.
+ */
+@Component
+public class HistoricalBarCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoricalBarCache.class);
+
+    public static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(16, 0);
+
+    private final boolean enabled;
+    private final long maxBars;
+    private final LocalDate historyStart;
+    private final Duration closeGrace;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, CachedHistory> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<BarColumns>> inFlight = new ConcurrentHashMap<>();
+    private long cachedBars;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    @Autowired
+    public HistoricalBarCache(@Value("${backtest.bar-cache.enabled:true}") boolean enabled,
+                              @Value("${backtest.bar-cache.max-bars:1000000}") long maxBars,
+                              @Value("${backtest.bar-cache.history-start:2000-01-01}") LocalDate historyStart,
+                              @Value("${backtest.bar-cache.close-grace:30m}") Duration closeGrace) {
+        this(enabled, maxBars, historyStart, closeGrace, Clock.systemUTC());
+    }
+
+    HistoricalBarCache(boolean enabled, long maxBars, LocalDate historyStart, Duration closeGrace, Clock clock) {
+        this.enabled = enabled;
+        this.maxBars = maxBars;
+        this.historyStart = historyStart;
+        this.closeGrace = closeGrace;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether a request starting at {@code startDate} can be answered from a cached full history.
+     * Ranges reaching back before the configured history start bypass the cache.
+     */
+    public boolean covers(LocalDate startDate) {
+        return enabled && !startDate.isBefore(historyStart);
+    }
+
+    public LocalDate historyStart() {
+        return historyStart;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock.withZone(MARKET_ZONE));
+    }
+
+    /**
+     * Returns the bars of {@code symbol} between the two dates, inclusive, loading the full history
+     * with {@code loader} on a miss. Concurrent misses for the same symbol share a single load.
+     */
+    public BarColumns getRange(String symbol, LocalDate startDate, LocalDate endDate,
+                               Function<String, BarColumns> loader) {
+        String key = symbol.trim().toUpperCase(Locale.ROOT);
+        BarColumns history = lookup(key);
+
+        if (history == null) {
+            misses.incrementAndGet();
+            history = load(key, loader);
+        } else {
+            hits.incrementAndGet();
+        }
+
+        long fromMillis = startDate.atStartOfDay(MARKET_ZONE).toInstant().toEpochMilli();
+        long toMillis = endDate.plusDays(1).atStartOfDay(MARKET_ZONE).toInstant().toEpochMilli();
+        return history.slice(fromMillis, toMillis);
+    }
+
+    public BarCacheStatsResponse stats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        int symbols;
+        long bars;
+        synchronized (entries) {
+            symbols = entries.size();
+            bars = cachedBars;
+        }
+
+        return BarCacheStatsResponse.builder()
+                .enabled(enabled)
+                .symbols(symbols)
+                .cachedBars(bars)
+                .maxBars(maxBars)
+                .hits(hitCount)
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .expirations(expirations.get())
+                .hitRatePercent(total == 0 ? 0.0 : Math.round(hitCount * 10000.0 / total) / 100.0)
+                .build();
+    }
+
+    private BarColumns lookup(String key) {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            CachedHistory cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (!now.isBefore(cached.expiresAt())) {
+                entries.remove(key);
+                cachedBars -= cached.bars().size();
+                expirations.incrementAndGet();
+                return null;
+            }
+            return cached.bars();
+        }
+    }
+
+    private BarColumns load(String key, Function<String, BarColumns> loader) {
+        CompletableFuture<BarColumns> pending = new CompletableFuture<>();
+        CompletableFuture<BarColumns> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        try {
+            BarColumns history = loader.apply(key);
+            store(key, history);
+            pending.complete(history);
+            return history;
+        } catch (RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private void store(String key, BarColumns history) {
+        if (history.size() > maxBars) {
+            logger.warn("History for {} has {} bars, more than the whole cache budget; not caching", key, history.size());
+            return;
+        }
+
+        CachedHistory cached = new CachedHistory(history, nextExpiry(clock.instant()));
+        synchronized (entries) {
+            CachedHistory previous = entries.put(key, cached);
+            if (previous != null) {
+                cachedBars -= previous.bars().size();
+            }
+            cachedBars += history.size();
+
+            Iterator<Map.Entry<String, CachedHistory>> eldest = entries.entrySet().iterator();
+            while (cachedBars > maxBars && eldest.hasNext()) {
+                Map.Entry<String, CachedHistory> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                cachedBars -= entry.getValue().bars().size();
+                eldest.remove();
+                evictions.incrementAndGet();
+                logger.info("Evicted cached history for {}", entry.getKey());
+            }
+        }
+
+        logger.info("Cached {} bars for {}, expiring at {}", history.size(), key, cached.expiresAt());
+    }
+
+    /**
+     * The first weekday market close strictly after {@code now}, plus the grace period. Exchange
+     * holidays are not modelled; on those days the history is simply re-fetched once more.
+     */
+    Instant nextExpiry(Instant now) {
+        ZonedDateTime marketNow = now.atZone(MARKET_ZONE);
+        ZonedDateTime close = marketNow.toLocalDate().atTime(MARKET_CLOSE).atZone(MARKET_ZONE);
+        while (!close.isAfter(marketNow) || isWeekend(close.getDayOfWeek())) {
+            close = close.plusDays(1);
+        }
+        return close.toInstant().plus(closeGrace);
+    }
+
+    private static boolean isWeekend(DayOfWeek day) {
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+
+    private record CachedHistory(BarColumns bars, Instant expiresAt) {
+    }
+}
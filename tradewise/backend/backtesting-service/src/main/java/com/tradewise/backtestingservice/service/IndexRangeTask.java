@@ -0,0 +1,36 @@
+package com.tradewise.backtestingservice.service;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Applies an action to every index of {@code [from, to)}, splitting the range in halves until a
+ * leaf holds at most {@code leafSize} indexes.
+ */
+final class IndexRangeTask extends RecursiveAction {
+
+    private final int from;
+    private final int to;
+    private final int leafSize;
+    private final IntConsumer action;
+
+    IndexRangeTask(int from, int to, int leafSize, IntConsumer action) {
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+        this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= leafSize) {
+            for (int index = from; index < to; index++) {
+                action.accept(index);
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        invokeAll(new IndexRangeTask(from, middle, leafSize, action), new IndexRangeTask(middle, to, leafSize, action));
+    }
+}
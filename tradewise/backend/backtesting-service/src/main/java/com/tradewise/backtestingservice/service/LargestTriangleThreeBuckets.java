@@ -0,0 +1,68 @@
+package com.tradewise.backtestingservice.service;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013). Keeps the first and last points
+ * and, from each bucket in between, the point forming the largest triangle with the previous pick
+ * and the average of the next bucket, so peaks and troughs survive the reduction.
+ */
+final class LargestTriangleThreeBuckets {
+
+    private LargestTriangleThreeBuckets() {
+    }
+
+    /**
+     * Indexes of at most {@code threshold} points of {@code [from, to)}, ascending. {@code x} is indexed
+     * like the range, while {@code y} holds only its values, the value of point {@code i} being
+     * {@code y[i - from]}. Returns every index when the range already fits.
+     */
+    static int[] select(long[] x, double[] y, int from, int to, int threshold) {
+        int length = to - from;
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = from + i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        selected[0] = from;
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        long origin = x[from];
+        int previous = from;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = from + (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min(from + (int) ((bucket + 2) * bucketSize) + 1, to);
+
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i] - origin;
+                averageY += y[i - from];
+            }
+            averageX /= nextEnd - nextStart;
+            averageY /= nextEnd - nextStart;
+
+            double previousX = x[previous] - origin;
+            double previousY = y[previous - from];
+            double maxArea = -1;
+            int pick = nextStart - 1;
+
+            for (int i = from + (int) (bucket * bucketSize) + 1; i < nextStart; i++) {
+                double area = Math.abs((previousX - averageX) * (y[i - from] - previousY)
+                        - (previousX - (x[i] - origin)) * (averageY - previousY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    pick = i;
+                }
+            }
+
+            selected[bucket + 1] = pick;
+            previous = pick;
+        }
+
+        selected[threshold - 1] = to - 1;
+        return selected;
+    }
+}
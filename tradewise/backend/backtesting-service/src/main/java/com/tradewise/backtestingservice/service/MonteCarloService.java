@@ -0,0 +1,197 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.MonteCarloMode;
+import com.tradewise.backtestingservice.dto.MonteCarloOptions;
+import com.tradewise.backtestingservice.dto.response.MonteCarloSummary;
+import com.tradewise.backtestingservice.dto.response.PercentileSummary;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Monte Carlo over the closed trades of a backtest. Each trade is reduced to its P/L as a fraction
+ * of the initial cash, and every iteration replays a resampled or shuffled sequence of those
+ * fractions to get a final return and a trade-to-trade max drawdown.
+ *
+ * <p>Iterations are split into chunks of a fixed size that run on the backtest fork-join pool, each
+ * with its own {@link SplittableRandom} split from one root. The chunking does not depend on the pool
+ * size, so a seeded run is reproducible whatever the scheduling or core count. Chunks stop early
+ * once the time budget is spent or the caller cancels.
+ */
+@Service
+public class MonteCarloService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonteCarloService.class);
+
+    /** Iterations per chunk; fixed so the random stream of every iteration is the same on any host. */
+    private static final int CHUNK_ITERATIONS = 1024;
+
+    /** Iterations a chunk runs between deadline checks. */
+    private static final int BUDGET_CHECK_INTERVAL = 64;
+
+    private final ForkJoinPool backtestForkJoinPool;
+    private final int maxIterations;
+    private final Duration defaultTimeBudget;
+
+    public MonteCarloService(@Qualifier("backtestForkJoinPool") ForkJoinPool backtestForkJoinPool,
+                             @Value("${backtest.monte-carlo.max-iterations:100000}") int maxIterations,
+                             @Value("${backtest.monte-carlo.default-time-budget:2s}") Duration defaultTimeBudget) {
+        this.backtestForkJoinPool = backtestForkJoinPool;
+        this.maxIterations = maxIterations;
+        this.defaultTimeBudget = defaultTimeBudget;
+    }
+
+    public MonteCarloSummary simulate(TradeLog tradeLog, double initialCash, MonteCarloOptions options) {
+        return simulate(tradeLog, initialCash, options, () -> false);
+    }
+
+    /**
+     * Same as {@link #simulate(TradeLog, double, MonteCarloOptions)}, with {@code cancelled} polled
+     * alongside the deadline. A cancelled run returns the iterations completed so far.
+     */
+    public MonteCarloSummary simulate(TradeLog tradeLog, double initialCash, MonteCarloOptions options,
+                                      BooleanSupplier cancelled) {
+        if (options.getIterations() > maxIterations) {
+            throw new IllegalArgumentException("Monte Carlo iterations must be <= " + maxIterations);
+        }
+
+        long startedAt = System.nanoTime();
+        long budgetNanos = options.getTimeBudgetMillis() != null
+                ? Duration.ofMillis(options.getTimeBudgetMillis()).toNanos()
+                : defaultTimeBudget.toNanos();
+        long deadline = startedAt + budgetNanos;
+
+        double[] tradeReturns = new double[tradeLog.count()];
+        for (int p = 0; p < tradeReturns.length; p++) {
+            tradeReturns[p] = (tradeLog.exitPrice(p) - tradeLog.entryPrice(p)) * tradeLog.amount() / initialCash;
+        }
+
+        int iterations = options.getIterations();
+        int chunks = (iterations + CHUNK_ITERATIONS - 1) / CHUNK_ITERATIONS;
+        SplittableRandom root = options.getSeed() != null ? new SplittableRandom(options.getSeed()) : new SplittableRandom();
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        double[] finalReturns = new double[iterations];
+        double[] maxDrawdowns = new double[iterations];
+        int[] completed = new int[chunks];
+
+        backtestForkJoinPool.invoke(new IndexRangeTask(0, chunks, 1, c -> completed[c] = runChunk(
+                tradeReturns, options.getMode(), randoms[c], chunkStart(c, iterations),
+                chunkStart(c + 1, iterations), deadline, cancelled, finalReturns, maxDrawdowns)));
+
+        // Compact the completed prefix of every chunk
+        int done = 0;
+        for (int c = 0; c < chunks; c++) {
+            int start = chunkStart(c, iterations);
+            System.arraycopy(finalReturns, start, finalReturns, done, completed[c]);
+            System.arraycopy(maxDrawdowns, start, maxDrawdowns, done, completed[c]);
+            done += completed[c];
+        }
+
+        double[] returns = Arrays.copyOf(finalReturns, done);
+        double[] drawdowns = Arrays.copyOf(maxDrawdowns, done);
+        Arrays.sort(returns);
+        Arrays.sort(drawdowns);
+
+        int losses = 0;
+        while (losses < done && returns[losses] < 0) {
+            losses++;
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        logger.info("Monte Carlo finished. Trades: {}, iterations: {}/{}, elapsed: {}ms",
+                tradeReturns.length, done, iterations, elapsedMillis);
+
+        return MonteCarloSummary.builder()
+                .mode(options.getMode())
+                .iterationsRequested(iterations)
+                .iterationsCompleted(done)
+                .timeBudgetExceeded(done < iterations)
+                .elapsedMillis(elapsedMillis)
+                .totalReturnPercent(percentiles(returns))
+                .maxDrawdownPercent(percentiles(drawdowns))
+                .probabilityOfLossPercent(done == 0 ? BigDecimal.ZERO : round((double) losses / done))
+                .build();
+    }
+
+    private static int runChunk(double[] tradeReturns, MonteCarloMode mode, SplittableRandom random,
+                                int from, int to, long deadline, BooleanSupplier cancelled,
+                                double[] finalReturns, double[] maxDrawdowns) {
+        int trades = tradeReturns.length;
+        double[] sequence = tradeReturns.clone();
+
+        for (int iteration = from; iteration < to; iteration++) {
+            if ((iteration - from) % BUDGET_CHECK_INTERVAL == 0
+                    && (System.nanoTime() > deadline || cancelled.getAsBoolean())) {
+                return iteration - from;
+            }
+
+            if (mode == MonteCarloMode.SHUFFLE) {
+                for (int i = trades - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    double swap = sequence[i];
+                    sequence[i] = sequence[j];
+                    sequence[j] = swap;
+                }
+            }
+
+            double equity = 1;
+            double peak = 1;
+            double maxDrawdown = 0;
+            for (int k = 0; k < trades; k++) {
+                equity += mode == MonteCarloMode.SHUFFLE ? sequence[k] : tradeReturns[random.nextInt(trades)];
+                if (equity > peak) {
+                    peak = equity;
+                } else {
+                    maxDrawdown = Math.max(maxDrawdown, Math.min(1, (peak - equity) / peak));
+                }
+            }
+
+            finalReturns[iteration] = equity - 1;
+            maxDrawdowns[iteration] = maxDrawdown;
+        }
+
+        return to - from;
+    }
+
+    private static int chunkStart(int chunk, int iterations) {
+        return (int) Math.min((long) chunk * CHUNK_ITERATIONS, iterations);
+    }
+
+    /** Nearest-rank percentiles of an ascending array, as percentages. */
+    private static PercentileSummary percentiles(double[] sorted) {
+        return PercentileSummary.builder()
+                .p5(percentile(sorted, 0.05))
+                .p25(percentile(sorted, 0.25))
+                .p50(percentile(sorted, 0.50))
+                .p75(percentile(sorted, 0.75))
+                .p95(percentile(sorted, 0.95))
+                .build();
+    }
+
+    private static BigDecimal percentile(double[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length) - 1;
+        return round(sorted[Math.max(0, Math.min(sorted.length - 1, rank))]);
+    }
+
+    private static BigDecimal round(double fraction) {
+        return BigDecimal.valueOf(fraction * 100).setScale(2, RoundingMode.HALF_UP);
+    }
+}
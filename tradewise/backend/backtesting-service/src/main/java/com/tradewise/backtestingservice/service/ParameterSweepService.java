@@ -0,0 +1,253 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.ParameterSweepRequest;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkKind;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkResult;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkResult.SweepPoint;
+import com.tradewise.backtestingservice.dto.internal.BacktestWorkUnit;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyResponse;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.dto.response.ParameterSweepResponse;
+import com.tradewise.backtestingservice.dto.response.SweepResultResponse;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.PrimitiveBacktestEngine;
+import com.tradewise.backtestingservice.engine.PrimitiveStrategy;
+import com.tradewise.backtestingservice.engine.SharedIndicatorColumns;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs one strategy over the cartesian product of indicator period ranges. Strategy and bars are
+ * fetched once, the grid is split across a fork-join pool, and indicator columns are shared by all
+ * grid points that use the same indicator and period. When distributed backtests are enabled, grids
+ * larger than one work unit are sharded across instances through {@link DistributedBacktestCoordinator}.
+ */
+@Service
+public class ParameterSweepService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParameterSweepService.class);
+
+    /** Grid points a fork-join leaf evaluates sequentially before it stops splitting. */
+    private static final int LEAF_SIZE = 4;
+
+    /** Best return first, then shallowest drawdown; ties keep grid order so merged shards rank like one run. */
+    private static final Comparator<SweepPoint> RANKING = Comparator
+            .comparing((SweepPoint p) -> p.getReport().getTotalReturnPercent()).reversed()
+            .thenComparing(p -> p.getReport().getMaxDrawdownPercent())
+            .thenComparingInt(SweepPoint::getPoint);
+
+    private final BacktestingService backtestingService;
+    private final StrategyDefinitionParser strategyDefinitionParser;
+    private final PrimitiveBacktestEngine primitiveEngine;
+    private final BacktestReportCalculator reportCalculator;
+    private final ForkJoinPool backtestForkJoinPool;
+    private final int maxCombinations;
+    private final Optional<DistributedBacktestCoordinator> coordinator;
+
+    public ParameterSweepService(BacktestingService backtestingService,
+                                 StrategyDefinitionParser strategyDefinitionParser,
+                                 PrimitiveBacktestEngine primitiveEngine,
+                                 BacktestReportCalculator reportCalculator,
+                                 @Qualifier("backtestForkJoinPool") ForkJoinPool backtestForkJoinPool,
+                                 @Value("${backtest.sweep.max-combinations:5000}") int maxCombinations,
+                                 Optional<DistributedBacktestCoordinator> coordinator) {
+        this.backtestingService = backtestingService;
+        this.strategyDefinitionParser = strategyDefinitionParser;
+        this.primitiveEngine = primitiveEngine;
+        this.reportCalculator = reportCalculator;
+        this.backtestForkJoinPool = backtestForkJoinPool;
+        this.maxCombinations = maxCombinations;
+        this.coordinator = coordinator;
+    }
+
+    public ParameterSweepResponse runSweep(ParameterSweepRequest request, String userEmail) {
+        logger.info("Starting parameter sweep for symbol: {}, strategyId: {}, ranges: {}",
+                request.getSymbol(), request.getStrategyId(), request.getParameters().size());
+
+        long startedAt = System.nanoTime();
+
+        InternalStrategyResponse strategy = backtestingService.fetchStrategy(request.getStrategyId(), userEmail);
+        StrategyDefinition definition = strategyDefinitionParser.parse(strategy);
+        SweepGrid grid = SweepGrid.build(definition, request.getParameters(), maxCombinations);
+
+        if (coordinator.isPresent() && grid.size() > coordinator.get().getSweepUnitSize()) {
+            return runDistributed(request, strategy, grid, userEmail, startedAt);
+        }
+
+        BarColumns bars = backtestingService.fetchBars(
+                request.getSymbol(), request.getStartDate(), request.getEndDate(), userEmail);
+        if (bars.isEmpty()) {
+            logger.warn("No market data found for symbol: {}", request.getSymbol());
+            return emptyResponse(strategy.getName(), request.getSymbol(), startedAt);
+        }
+
+        double amountToTrade = backtestingService.calculateTradeAmount(bars.close()[0], request.getInitialCash());
+        if (Double.isNaN(amountToTrade)) {
+            return emptyResponse(strategy.getName(), request.getSymbol(), startedAt);
+        }
+
+        SharedIndicatorColumns indicatorColumns = new SharedIndicatorColumns(bars);
+        List<SweepPoint> points = evaluate(definition, strategy.getName(), request.getSymbol(), grid, bars,
+                amountToTrade, request.getInitialCash(), indicatorColumns, 0, grid.size(), request.getTop());
+
+        logger.info("Parameter sweep finished. Combinations: {}, distinct indicators: {}",
+                grid.size(), indicatorColumns.size());
+
+        return ParameterSweepResponse.builder()
+                .strategyName(strategy.getName())
+                .symbol(request.getSymbol())
+                .combinationsEvaluated(grid.size())
+                .indicatorsComputed(indicatorColumns.size())
+                .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                .results(rank(grid, points))
+                .build();
+    }
+
+    /**
+     * Evaluates the grid points {@code [fromPoint, toPoint)} of a sweep unit taken from the work
+     * topic and returns the unit's best {@code top} points. Each unit builds its own indicator
+     * columns, so indicators shared across units are computed once per unit.
+     */
+    public BacktestWorkResult runUnit(BacktestWorkUnit unit) {
+        StrategyDefinition definition = strategyDefinitionParser.parse(unit.getStrategy());
+        SweepGrid grid = SweepGrid.build(definition, unit.getParameters(), maxCombinations);
+        if (unit.getToPoint() > grid.size()) {
+            throw new IllegalArgumentException("Sweep unit ends at point " + unit.getToPoint()
+                    + " but the grid has " + grid.size() + " points");
+        }
+
+        BarColumns bars = backtestingService.fetchBars(
+                unit.getSymbol(), unit.getStartDate(), unit.getEndDate(), unit.getUserEmail());
+        double amountToTrade = bars.isEmpty()
+                ? Double.NaN
+                : backtestingService.calculateTradeAmount(bars.close()[0], unit.getInitialCash());
+        if (Double.isNaN(amountToTrade)) {
+            return BacktestWorkResult.builder().success(true).sweepPoints(List.of()).build();
+        }
+
+        SharedIndicatorColumns indicatorColumns = new SharedIndicatorColumns(bars);
+        List<SweepPoint> points = evaluate(definition, unit.getStrategy().getName(), unit.getSymbol(), grid, bars,
+                amountToTrade, unit.getInitialCash(), indicatorColumns, unit.getFromPoint(), unit.getToPoint(),
+                unit.getTop());
+
+        return BacktestWorkResult.builder()
+                .success(true)
+                .sweepPoints(points)
+                .indicatorsComputed(indicatorColumns.size())
+                .build();
+    }
+
+    /**
+     * Splits the grid into units of {@code sweep-unit-size} points, publishes them and merges each
+     * unit's best points into the global ranking. Units that fail or do not answer in time are
+     * evaluated here instead, so the result matches a local sweep.
+     */
+    private ParameterSweepResponse runDistributed(ParameterSweepRequest request, InternalStrategyResponse strategy,
+                                                  SweepGrid grid, String userEmail, long startedAt) {
+        int unitSize = coordinator.get().getSweepUnitSize();
+        List<BacktestWorkUnit> units = new ArrayList<>();
+        for (int from = 0; from < grid.size(); from += unitSize) {
+            units.add(BacktestWorkUnit.builder()
+                    .unitIndex(units.size())
+                    .kind(BacktestWorkKind.SWEEP)
+                    .userEmail(userEmail)
+                    .strategy(strategy)
+                    .startDate(request.getStartDate())
+                    .endDate(request.getEndDate())
+                    .initialCash(request.getInitialCash())
+                    .symbol(request.getSymbol())
+                    .parameters(request.getParameters())
+                    .fromPoint(from)
+                    .toPoint(Math.min(from + unitSize, grid.size()))
+                    .top(request.getTop())
+                    .build());
+        }
+
+        BacktestWorkResult[] results = coordinator.get().dispatch(units);
+
+        List<SweepPoint> points = new ArrayList<>();
+        int indicatorsComputed = 0;
+        int runLocally = 0;
+        for (int i = 0; i < units.size(); i++) {
+            BacktestWorkResult result = results[i];
+            if (result == null || !result.isSuccess()) {
+                logger.warn("Sweep unit {} {}; evaluating it locally", i,
+                        result == null ? "did not answer" : "failed: " + result.getError());
+                result = runUnit(units.get(i));
+                runLocally++;
+            }
+            points.addAll(result.getSweepPoints());
+            indicatorsComputed += result.getIndicatorsComputed();
+        }
+
+        points.sort(RANKING);
+        List<SweepPoint> best = points.subList(0, Math.min(request.getTop(), points.size()));
+
+        logger.info("Distributed parameter sweep finished. Combinations: {}, units: {}, run locally: {}",
+                grid.size(), units.size(), runLocally);
+
+        return ParameterSweepResponse.builder()
+                .strategyName(strategy.getName())
+                .symbol(request.getSymbol())
+                .combinationsEvaluated(best.isEmpty() ? 0 : grid.size())
+                .indicatorsComputed(indicatorsComputed)
+                .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                .results(rank(grid, best))
+                .workUnits(units.size())
+                .workUnitsRunLocally(runLocally)
+                .build();
+    }
+
+    /** Runs the grid points {@code [fromPoint, toPoint)} on the fork-join pool and keeps the best {@code top}. */
+    private List<SweepPoint> evaluate(StrategyDefinition definition, String strategyName, String symbol,
+                                      SweepGrid grid, BarColumns bars, double amountToTrade, double initialCash,
+                                      SharedIndicatorColumns indicatorColumns, int fromPoint, int toPoint, int top) {
+        BacktestReportResponse[] reports = new BacktestReportResponse[toPoint - fromPoint];
+
+        backtestForkJoinPool.invoke(new IndexRangeTask(fromPoint, toPoint, LEAF_SIZE, point -> {
+            StrategyDefinition candidate = definition.withIndicators(grid.replacementsAt(point));
+            PrimitiveStrategy compiled = PrimitiveStrategy.compile(candidate, indicatorColumns);
+            TradeLog tradeLog = primitiveEngine.run(bars, compiled, amountToTrade);
+            reports[point - fromPoint] = reportCalculator.calculateReport(
+                    strategyName, symbol, bars, tradeLog, initialCash);
+        }));
+
+        List<SweepPoint> points = new ArrayList<>(reports.length);
+        for (int i = 0; i < reports.length; i++) {
+            points.add(new SweepPoint(fromPoint + i, reports[i]));
+        }
+        points.sort(RANKING);
+        return new ArrayList<>(points.subList(0, Math.min(top, points.size())));
+    }
+
+    private List<SweepResultResponse> rank(SweepGrid grid, List<SweepPoint> points) {
+        List<SweepResultResponse> ranked = new ArrayList<>(points.size());
+        for (int r = 0; r < points.size(); r++) {
+            SweepPoint point = points.get(r);
+            ranked.add(new SweepResultResponse(r + 1, grid.labelsAt(point.getPoint()), point.getReport()));
+        }
+        return ranked;
+    }
+
+    private ParameterSweepResponse emptyResponse(String strategyName, String symbol, long startedAt) {
+        return ParameterSweepResponse.builder()
+                .strategyName(strategyName)
+                .symbol(symbol)
+                .combinationsEvaluated(0)
+                .indicatorsComputed(0)
+                .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                .results(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.PortfolioBacktestRequest;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyResponse;
+import com.tradewise.backtestingservice.dto.response.CurvePoint;
+import com.tradewise.backtestingservice.dto.response.PortfolioBacktestResponse;
+import com.tradewise.backtestingservice.dto.response.PortfolioSymbolResult;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.PortfolioBacktestEngine;
+import com.tradewise.backtestingservice.engine.PortfolioBacktestEngine.PortfolioResult;
+import com.tradewise.backtestingservice.engine.PrimitiveStrategy;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Portfolio backtest of one strategy over many symbols with shared cash. Histories are fetched on
+ * the I/O executor, each symbol's strategy is compiled on the CPU pool, and the merged simulation
+ * runs in {@link PortfolioBacktestEngine}. Symbols without data are left out and listed in the
+ * response rather than failing the run.
+ */
+@Service
+public class PortfolioBacktestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioBacktestService.class);
+
+    private static final double MILLIS_PER_YEAR = 365.25 * 24 * 60 * 60 * 1000;
+
+    private final BacktestingService backtestingService;
+    private final StrategyDefinitionParser strategyDefinitionParser;
+    private final PortfolioBacktestEngine portfolioEngine;
+    private final ExecutorService backtestFetchExecutor;
+    private final ForkJoinPool backtestForkJoinPool;
+
+    public PortfolioBacktestService(BacktestingService backtestingService,
+                                    StrategyDefinitionParser strategyDefinitionParser,
+                                    PortfolioBacktestEngine portfolioEngine,
+                                    @Qualifier("backtestFetchExecutor") ExecutorService backtestFetchExecutor,
+                                    @Qualifier("backtestForkJoinPool") ForkJoinPool backtestForkJoinPool) {
+        this.backtestingService = backtestingService;
+        this.strategyDefinitionParser = strategyDefinitionParser;
+        this.portfolioEngine = portfolioEngine;
+        this.backtestFetchExecutor = backtestFetchExecutor;
+        this.backtestForkJoinPool = backtestForkJoinPool;
+    }
+
+    public PortfolioBacktestResponse runPortfolio(PortfolioBacktestRequest request, String userEmail) {
+        long startedAt = System.nanoTime();
+        List<String> symbols = normalizeSymbols(request.getSymbols());
+
+        logger.info("Starting portfolio backtest for {} symbols, strategyId: {}", symbols.size(), request.getStrategyId());
+
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        InternalStrategyResponse strategy = backtestingService.fetchStrategy(request.getStrategyId(), userEmail);
+        StrategyDefinition definition = strategyDefinitionParser.parse(strategy);
+
+        List<CompletableFuture<BarColumns>> fetches = symbols.stream()
+                .map(symbol -> CompletableFuture
+                        .supplyAsync(() -> backtestingService.fetchBars(
+                                symbol, request.getStartDate(), request.getEndDate(), userEmail), backtestFetchExecutor)
+                        .exceptionally(error -> {
+                            logger.warn("Could not fetch bars for {}: {}", symbol, error.getMessage());
+                            return null;
+                        }))
+                .toList();
+
+        List<BarColumns> loaded = new ArrayList<>();
+        List<String> withoutData = new ArrayList<>();
+        for (int s = 0; s < symbols.size(); s++) {
+            BarColumns bars = fetches.get(s).join();
+            if (bars == null || bars.isEmpty()) {
+                withoutData.add(symbols.get(s));
+            } else {
+                loaded.add(bars);
+            }
+        }
+
+        BarColumns[] bars = loaded.toArray(new BarColumns[0]);
+        PrimitiveStrategy[] compiled = new PrimitiveStrategy[bars.length];
+        backtestForkJoinPool.invoke(new IndexRangeTask(0, bars.length, 1,
+                s -> compiled[s] = PrimitiveStrategy.compile(definition, bars[s])));
+
+        double positionWeight = request.getPositionSizePercent() != null
+                ? request.getPositionSizePercent() / 100
+                : 1.0 / Math.max(1, bars.length);
+        long rebalanceMillis = request.getRebalanceDays() != null
+                ? Duration.ofDays(request.getRebalanceDays()).toMillis()
+                : 0;
+
+        PortfolioResult result = portfolioEngine.run(bars, compiled, request.getInitialCash(), positionWeight, rebalanceMillis);
+
+        logger.info("Portfolio backtest finished. Symbols: {}, steps: {}, without data: {}",
+                bars.length, result.steps(), withoutData.size());
+
+        return response(strategy.getName(), request, symbols.size(), withoutData, bars, result, startedAt);
+    }
+
+    private PortfolioBacktestResponse response(String strategyName, PortfolioBacktestRequest request, int requested,
+                                               List<String> withoutData, BarColumns[] bars, PortfolioResult result,
+                                               long startedAt) {
+        double initialCash = request.getInitialCash();
+        int steps = result.steps();
+        double[] equity = result.equity();
+        long[] times = result.times();
+
+        double finalEquity = steps > 0 ? equity[steps - 1] : initialCash;
+        double peak = initialCash;
+        double maxDrawdown = 0;
+        double[] drawdown = new double[steps];
+
+        // Welford running mean/variance of per-step returns
+        double previous = initialCash;
+        double meanReturn = 0;
+        double sumSquaredDeviation = 0;
+        for (int i = 0; i < steps; i++) {
+            double stepReturn = previous > 0 ? equity[i] / previous - 1 : 0;
+            double delta = stepReturn - meanReturn;
+            meanReturn += delta / (i + 1);
+            sumSquaredDeviation += delta * (stepReturn - meanReturn);
+            previous = equity[i];
+
+            peak = Math.max(peak, equity[i]);
+            drawdown[i] = peak > 0 ? (peak - equity[i]) / peak : 0;
+            maxDrawdown = Math.max(maxDrawdown, drawdown[i]);
+            drawdown[i] *= 100;
+        }
+
+        double years = steps > 1 ? (times[steps - 1] - times[0]) / MILLIS_PER_YEAR : 0;
+        double volatility = steps > 1 ? Math.sqrt(sumSquaredDeviation / (steps - 1)) : 0;
+        double sharpe = volatility > 0 && years > 0 ? meanReturn / volatility * Math.sqrt(steps / years) : 0;
+        double finalRatio = initialCash > 0 ? finalEquity / initialCash : 0;
+        double cagr = years > 0 && finalRatio > 0 ? Math.pow(finalRatio, 1 / years) - 1 : 0;
+
+        int totalTrades = 0;
+        int totalWins = 0;
+        List<PortfolioSymbolResult> positions = new ArrayList<>(bars.length);
+        for (int s = 0; s < bars.length; s++) {
+            int trades = result.trades()[s];
+            totalTrades += trades;
+            totalWins += result.wins()[s];
+            positions.add(PortfolioSymbolResult.builder()
+                    .symbol(bars[s].symbol())
+                    .bars(bars[s].size())
+                    .totalTrades(trades)
+                    .winRatePercent(round(trades > 0 ? (double) result.wins()[s] / trades * 100 : 0))
+                    .profitLoss(round(result.profitLoss()[s]))
+                    .build());
+        }
+
+        PortfolioBacktestResponse.PortfolioBacktestResponseBuilder response = PortfolioBacktestResponse.builder()
+                .strategyName(strategyName)
+                .symbolsRequested(requested)
+                .symbolsWithoutData(withoutData)
+                .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                .initialCash(round(initialCash))
+                .finalEquity(round(finalEquity))
+                .totalProfitLoss(round(finalEquity - initialCash))
+                .totalReturnPercent(round(initialCash > 0 ? (finalEquity - initialCash) / initialCash * 100 : 0))
+                .cagrPercent(round(cagr * 100))
+                .maxDrawdownPercent(round(maxDrawdown * 100))
+                .sharpeRatio(round(sharpe))
+                .exposurePercent(round(steps > 0 ? (double) result.exposedSteps() / steps * 100 : 0))
+                .totalTrades(totalTrades)
+                .winRatePercent(round(totalTrades > 0 ? (double) totalWins / totalTrades * 100 : 0))
+                .positions(positions);
+
+        if (request.getCurvePoints() != null && steps > 0) {
+            response.equityCurve(downsample(times, equity, steps, request.getCurvePoints()))
+                    .drawdownCurve(downsample(times, drawdown, steps, request.getCurvePoints()));
+        }
+        return response.build();
+    }
+
+    private List<CurvePoint> downsample(long[] times, double[] values, int steps, int points) {
+        int[] selected = LargestTriangleThreeBuckets.select(times, values, 0, steps, points);
+        List<CurvePoint> curve = new ArrayList<>(selected.length);
+        for (int index : selected) {
+            curve.add(new CurvePoint(Instant.ofEpochMilli(times[index]), round(values[index])));
+        }
+        return curve;
+    }
+
+    private List<String> normalizeSymbols(List<String> symbols) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                normalized.add(symbol.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        return List.copyOf(normalized);
+    }
+
+    private BigDecimal round(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
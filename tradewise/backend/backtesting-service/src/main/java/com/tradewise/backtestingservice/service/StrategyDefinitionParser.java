@@ -0,0 +1,152 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyConditionResponse;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyResponse;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyRuleResponse;
+import com.tradewise.backtestingservice.engine.ComparisonOperator;
+import com.tradewise.backtestingservice.engine.ConditionSpec;
+import com.tradewise.backtestingservice.engine.IndicatorSpec;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Validates a strategy fetched from strategy-service and turns it into a {@link StrategyDefinition}
+ * that every backtest engine can consume.
+ */
+@Component
+public class StrategyDefinitionParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(StrategyDefinitionParser.class);
+
+    public StrategyDefinition parse(InternalStrategyResponse dbStrategy) {
+        if (dbStrategy.getRules() == null || dbStrategy.getRules().isEmpty()) {
+            throw new RuntimeException("Strategy has no rules to backtest");
+        }
+
+        List<List<ConditionSpec>> entryRules = new ArrayList<>();
+        List<List<ConditionSpec>> exitRules = new ArrayList<>();
+
+        for (InternalStrategyRuleResponse dbRule : dbStrategy.getRules()) {
+            if (dbRule.getConditions() == null || dbRule.getConditions().isEmpty()) {
+                logger.warn("Skipping rule {} because it has no conditions", dbRule.getId());
+                continue;
+            }
+
+            String action = requireNonBlank(dbRule.getAction(), "Rule action");
+            logger.info("Processing Rule ID: {}, Action: {}", dbRule.getId(), action);
+
+            List<ConditionSpec> conditions = new ArrayList<>();
+            for (InternalStrategyConditionResponse dbCondition : dbRule.getConditions()) {
+                logger.info(
+                        "Condition: {} {} {} {}",
+                        dbCondition.getIndicatorA(),
+                        dbCondition.getOperator(),
+                        dbCondition.getIndicatorBType(),
+                        dbCondition.getIndicatorBValue()
+                );
+
+                conditions.add(parseCondition(dbCondition));
+            }
+
+            if ("BUY".equalsIgnoreCase(action)) {
+                entryRules.add(List.copyOf(conditions));
+            } else if ("SELL".equalsIgnoreCase(action)) {
+                exitRules.add(List.copyOf(conditions));
+            } else {
+                throw new RuntimeException("Unsupported rule action: " + action);
+            }
+        }
+
+        if (entryRules.isEmpty()) {
+            throw new RuntimeException("Strategy must contain at least one BUY rule");
+        }
+        if (exitRules.isEmpty()) {
+            logger.warn("Strategy does not contain a SELL rule. Open positions will only close at series end.");
+        }
+
+        return new StrategyDefinition(dbStrategy.getName(), List.copyOf(entryRules), List.copyOf(exitRules));
+    }
+
+    private ConditionSpec parseCondition(InternalStrategyConditionResponse condition) {
+        String indicatorAName = requireNonBlank(condition.getIndicatorA(), "indicatorA");
+        String operator = requireNonBlank(condition.getOperator(), "operator").toUpperCase(Locale.ROOT);
+        String indicatorBType = requireNonBlank(condition.getIndicatorBType(), "indicatorBType");
+        String indicatorBValue = requireNonBlank(condition.getIndicatorBValue(), "indicatorBValue");
+
+        IndicatorSpec indicatorA = parseIndicator(indicatorAName, condition.getIndicatorAParams());
+
+        if ("VALUE".equalsIgnoreCase(indicatorBType)) {
+            BigDecimal valueB;
+            try {
+                valueB = new BigDecimal(indicatorBValue.trim());
+            } catch (Exception ex) {
+                throw new RuntimeException("Invalid numeric indicatorBValue: " + indicatorBValue);
+            }
+
+            return switch (operator) {
+                case "GREATER_THAN" -> new ConditionSpec(indicatorA, ComparisonOperator.GREATER_THAN, null, valueB);
+                case "LESS_THAN" -> new ConditionSpec(indicatorA, ComparisonOperator.LESS_THAN, null, valueB);
+                default -> throw new RuntimeException("Unsupported operator for VALUE comparison: " + operator);
+            };
+        }
+
+        if ("INDICATOR".equalsIgnoreCase(indicatorBType)) {
+            IndicatorSpec indicatorB = parseIndicator(indicatorBValue, condition.getIndicatorBParams());
+
+            return switch (operator) {
+                case "GREATER_THAN", "LESS_THAN", "CROSSES_ABOVE", "CROSSES_BELOW" ->
+                        new ConditionSpec(indicatorA, ComparisonOperator.valueOf(operator), indicatorB, null);
+                default -> throw new RuntimeException("Unsupported operator for INDICATOR comparison: " + operator);
+            };
+        }
+
+        throw new RuntimeException("Unsupported indicatorBType: " + indicatorBType);
+    }
+
+    private IndicatorSpec parseIndicator(String name, Map<String, String> params) {
+        String normalizedName = requireNonBlank(name, "indicator name").toUpperCase(Locale.ROOT);
+        Map<String, String> safeParams = params == null ? Collections.emptyMap() : params;
+
+        return switch (normalizedName) {
+            case "PRICE" -> IndicatorSpec.price();
+            case "SMA", "EMA", "RSI" -> new IndicatorSpec(
+                    normalizedName,
+                    getRequiredPositiveIntParam(safeParams, "period", normalizedName)
+            );
+            default -> throw new RuntimeException("Unsupported indicator: " + normalizedName);
+        };
+    }
+
+    private int getRequiredPositiveIntParam(Map<String, String> params, String key, String indicatorName) {
+        String raw = params.get(key);
+        if (raw == null || raw.isBlank()) {
+            throw new RuntimeException(indicatorName + " requires parameter: " + key);
+        }
+
+        try {
+            int value = Integer.parseInt(raw.trim());
+            if (value <= 0) {
+                throw new RuntimeException(indicatorName + " parameter " + key + " must be > 0");
+            }
+            return value;
+        } catch (NumberFormatException ex) {
+            throw new RuntimeException(indicatorName + " parameter " + key + " must be an integer");
+        }
+    }
+
+    private String requireNonBlank(String value, String fieldName) {
+        if (value == null || value.isBlank()) {
+            throw new RuntimeException(fieldName + " is missing in strategy definition");
+        }
+        return value.trim();
+    }
+}
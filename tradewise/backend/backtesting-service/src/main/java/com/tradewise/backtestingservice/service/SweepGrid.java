@@ -0,0 +1,77 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.ParameterRange;
+import com.tradewise.backtestingservice.engine.IndicatorSpec;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cartesian product of indicator period ranges. Grid points are addressed by a single index decoded
+ * in mixed radix, so the full grid is never materialised.
+ */
+record SweepGrid(List<IndicatorSpec> targets, List<int[]> values, int size) {
+
+    static SweepGrid build(StrategyDefinition definition, List<ParameterRange> ranges, int maxCombinations) {
+        Set<IndicatorSpec> indicators = definition.indicators();
+        List<IndicatorSpec> targets = new ArrayList<>();
+        List<int[]> values = new ArrayList<>();
+        long combinations = 1;
+
+        for (ParameterRange range : ranges) {
+            IndicatorSpec target = new IndicatorSpec(range.getIndicator().trim().toUpperCase(Locale.ROOT), range.getPeriod());
+
+            if ("PRICE".equals(target.name())) {
+                throw new IllegalArgumentException("PRICE has no parameters to sweep");
+            }
+            if (!indicators.contains(target)) {
+                throw new IllegalArgumentException("Strategy does not use indicator " + target);
+            }
+            if (targets.contains(target)) {
+                throw new IllegalArgumentException("Duplicate range for indicator " + target);
+            }
+            if (range.getTo() < range.getFrom()) {
+                throw new IllegalArgumentException("Range end must be >= range start for indicator " + target);
+            }
+
+            int count = (range.getTo() - range.getFrom()) / range.getStep() + 1;
+            int[] periods = new int[count];
+            for (int i = 0; i < count; i++) {
+                periods[i] = range.getFrom() + i * range.getStep();
+            }
+
+            combinations *= count;
+            if (combinations > maxCombinations) {
+                throw new IllegalArgumentException("Sweep exceeds the limit of " + maxCombinations + " combinations");
+            }
+
+            targets.add(target);
+            values.add(periods);
+        }
+
+        return new SweepGrid(targets, values, (int) combinations);
+    }
+
+    Map<IndicatorSpec, IndicatorSpec> replacementsAt(int point) {
+        Map<IndicatorSpec, IndicatorSpec> replacements = new LinkedHashMap<>();
+        int remainder = point;
+        for (int d = 0; d < targets.size(); d++) {
+            int[] periods = values.get(d);
+            IndicatorSpec target = targets.get(d);
+            replacements.put(target, new IndicatorSpec(target.name(), periods[remainder % periods.length]));
+            remainder /= periods.length;
+        }
+        return replacements;
+    }
+
+    Map<String, Integer> labelsAt(int point) {
+        Map<String, Integer> labels = new LinkedHashMap<>();
+        replacementsAt(point).forEach((target, replacement) -> labels.put(target.toString(), replacement.period()));
+        return labels;
+    }
+}
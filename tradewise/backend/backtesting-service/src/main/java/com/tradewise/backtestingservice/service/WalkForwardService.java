@@ -0,0 +1,265 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.WalkForwardRequest;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyResponse;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.dto.response.WalkForwardResponse;
+import com.tradewise.backtestingservice.dto.response.WalkForwardWindowResult;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.PrimitiveBacktestEngine;
+import com.tradewise.backtestingservice.engine.PrimitiveStrategy;
+import com.tradewise.backtestingservice.engine.SharedIndicatorColumns;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import com.tradewise.backtestingservice.service.BacktestReportCalculator.ReturnSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Walk-forward analysis over one fetch of the bars. Indicator columns are computed once over the
+ * whole history and shared by every window, so each window's indicators are already warmed up by
+ * the bars before it. In-sample evaluations for all windows run as one parallel batch ranked from
+ * primitive return and drawdown summaries, then the winners are scored out-of-sample in parallel.
+ * Full reports are built only for the winners, reusing the in-sample trade log of the first pass.
+ */
+@Service
+public class WalkForwardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalkForwardService.class);
+
+    private static final int LEAF_SIZE = 4;
+
+    private final BacktestingService backtestingService;
+    private final StrategyDefinitionParser strategyDefinitionParser;
+    private final PrimitiveBacktestEngine primitiveEngine;
+    private final BacktestReportCalculator reportCalculator;
+    private final ForkJoinPool backtestForkJoinPool;
+    private final int maxCombinations;
+    private final int maxWindows;
+
+    public WalkForwardService(BacktestingService backtestingService,
+                              StrategyDefinitionParser strategyDefinitionParser,
+                              PrimitiveBacktestEngine primitiveEngine,
+                              BacktestReportCalculator reportCalculator,
+                              @Qualifier("backtestForkJoinPool") ForkJoinPool backtestForkJoinPool,
+                              @Value("${backtest.sweep.max-combinations:5000}") int maxCombinations,
+                              @Value("${backtest.walk-forward.max-windows:200}") int maxWindows) {
+        this.backtestingService = backtestingService;
+        this.strategyDefinitionParser = strategyDefinitionParser;
+        this.primitiveEngine = primitiveEngine;
+        this.reportCalculator = reportCalculator;
+        this.backtestForkJoinPool = backtestForkJoinPool;
+        this.maxCombinations = maxCombinations;
+        this.maxWindows = maxWindows;
+    }
+
+    public WalkForwardResponse runWalkForward(WalkForwardRequest request, String userEmail) {
+        logger.info("Starting walk-forward for symbol: {}, strategyId: {}, in-sample: {}d, out-of-sample: {}d",
+                request.getSymbol(), request.getStrategyId(), request.getInSampleDays(), request.getOutOfSampleDays());
+
+        long startedAt = System.nanoTime();
+
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        InternalStrategyResponse strategy = backtestingService.fetchStrategy(request.getStrategyId(), userEmail);
+        StrategyDefinition definition = strategyDefinitionParser.parse(strategy);
+        SweepGrid grid = SweepGrid.build(definition, request.getParameters(), maxCombinations);
+
+        BarColumns bars = backtestingService.fetchBars(
+                request.getSymbol(), request.getStartDate(), request.getEndDate(), userEmail);
+        List<Window> windows = layoutWindows(request, bars);
+        if (windows.isEmpty()) {
+            logger.warn("No walk-forward window has enough market data for symbol: {}", request.getSymbol());
+            return response(strategy.getName(), request, grid.size(), startedAt, List.of());
+        }
+
+        SharedIndicatorColumns indicatorColumns = new SharedIndicatorColumns(bars);
+        PrimitiveStrategy[] compiled = new PrimitiveStrategy[grid.size()];
+        backtestForkJoinPool.invoke(new IndexRangeTask(0, grid.size(), LEAF_SIZE, point ->
+                compiled[point] = PrimitiveStrategy.compile(definition.withIndicators(grid.replacementsAt(point)), indicatorColumns)));
+
+        // In-sample: every (window, grid point) pair, flattened into one index range and ranked from
+        // primitive summaries; only each window's winner keeps its trade log for a full report
+        int evaluations = windows.size() * grid.size();
+        WindowWinner[] winners = new WindowWinner[windows.size()];
+        for (int w = 0; w < winners.length; w++) {
+            winners[w] = new WindowWinner();
+        }
+
+        backtestForkJoinPool.invoke(new IndexRangeTask(0, evaluations, LEAF_SIZE, index -> {
+            Window window = windows.get(index / grid.size());
+            int point = index % grid.size();
+            TradeLog tradeLog = simulate(request, bars, compiled[point], window.inSampleFrom(), window.inSampleTo());
+            ReturnSummary summary = tradeLog != null
+                    ? reportCalculator.summarize(bars, tradeLog, request.getInitialCash(), window.inSampleFrom(), window.inSampleTo())
+                    : new ReturnSummary(0, 0);
+            winners[index / grid.size()].offer(point, summary, tradeLog);
+        }));
+
+        // Out-of-sample: the in-sample winner of each window
+        WalkForwardWindowResult[] results = new WalkForwardWindowResult[windows.size()];
+        backtestForkJoinPool.invoke(new IndexRangeTask(0, windows.size(), 1, w -> {
+            Window window = windows.get(w);
+            WindowWinner winner = winners[w];
+
+            results[w] = WalkForwardWindowResult.builder()
+                    .window(w + 1)
+                    .inSampleStart(window.inSampleStart())
+                    .inSampleEnd(window.outOfSampleStart().minusDays(1))
+                    .outOfSampleStart(window.outOfSampleStart())
+                    .outOfSampleEnd(window.outOfSampleEnd())
+                    .parameters(grid.labelsAt(winner.point))
+                    .inSampleReport(report(strategy.getName(), request, bars, winner.tradeLog,
+                            window.inSampleFrom(), window.inSampleTo()))
+                    .outOfSampleReport(report(strategy.getName(), request, bars,
+                            simulate(request, bars, compiled[winner.point], window.outOfSampleFrom(), window.outOfSampleTo()),
+                            window.outOfSampleFrom(), window.outOfSampleTo()))
+                    .build();
+        }));
+
+        logger.info("Walk-forward finished. Windows: {}, in-sample evaluations: {}", windows.size(), evaluations);
+
+        return response(strategy.getName(), request, grid.size(), startedAt, List.of(results));
+    }
+
+    /** Trade log over {@code [fromIndex, toIndex)}, or null when the cash cannot buy a position. */
+    private TradeLog simulate(WalkForwardRequest request, BarColumns bars, PrimitiveStrategy strategy,
+                              int fromIndex, int toIndex) {
+        double amountToTrade = backtestingService.calculateTradeAmount(bars.close()[fromIndex], request.getInitialCash());
+        if (Double.isNaN(amountToTrade)) {
+            return null;
+        }
+        return primitiveEngine.run(bars, strategy, amountToTrade, fromIndex, toIndex);
+    }
+
+    private BacktestReportResponse report(String strategyName, WalkForwardRequest request, BarColumns bars,
+                                          TradeLog tradeLog, int fromIndex, int toIndex) {
+        if (tradeLog == null) {
+            return reportCalculator.emptyReport(strategyName, request.getSymbol());
+        }
+        return reportCalculator.calculateReport(strategyName, request.getSymbol(), bars, tradeLog,
+                request.getInitialCash(), fromIndex, toIndex);
+    }
+
+    private List<Window> layoutWindows(WalkForwardRequest request, BarColumns bars) {
+        int step = request.getStepDays() != null ? request.getStepDays() : request.getOutOfSampleDays();
+        List<Window> windows = new ArrayList<>();
+
+        for (LocalDate start = request.getStartDate(); ; start = start.plusDays(step)) {
+            LocalDate outOfSampleStart = start.plusDays(request.getInSampleDays());
+            LocalDate outOfSampleEnd = outOfSampleStart.plusDays(request.getOutOfSampleDays() - 1);
+            if (outOfSampleEnd.isAfter(request.getEndDate())) {
+                break;
+            }
+
+            int inSampleFrom = indexAt(bars, start);
+            int outOfSampleFrom = indexAt(bars, outOfSampleStart);
+            int outOfSampleTo = indexAt(bars, outOfSampleEnd.plusDays(1));
+
+            // Both halves need at least two bars to place a next-open fill
+            if (outOfSampleFrom - inSampleFrom < 2 || outOfSampleTo - outOfSampleFrom < 2) {
+                continue;
+            }
+
+            if (windows.size() == maxWindows) {
+                throw new IllegalArgumentException("Walk-forward exceeds the limit of " + maxWindows + " windows");
+            }
+            windows.add(new Window(start, outOfSampleStart, outOfSampleEnd, inSampleFrom, outOfSampleFrom, outOfSampleTo));
+        }
+
+        return windows;
+    }
+
+    private int indexAt(BarColumns bars, LocalDate date) {
+        return bars.indexAtOrAfter(date.atStartOfDay(HistoricalBarCache.MARKET_ZONE).toInstant().toEpochMilli());
+    }
+
+    private WalkForwardResponse response(String strategyName, WalkForwardRequest request, int combinations,
+                                         long startedAt, List<WalkForwardWindowResult> results) {
+        int trades = 0;
+        BigDecimal profitLoss = BigDecimal.ZERO;
+        BigDecimal inSampleReturn = BigDecimal.ZERO;
+        BigDecimal outOfSampleReturn = BigDecimal.ZERO;
+
+        for (WalkForwardWindowResult result : results) {
+            trades += result.getOutOfSampleReport().getTotalTrades();
+            profitLoss = profitLoss.add(result.getOutOfSampleReport().getTotalProfitLoss());
+            inSampleReturn = inSampleReturn.add(result.getInSampleReport().getTotalReturnPercent());
+            outOfSampleReturn = outOfSampleReturn.add(result.getOutOfSampleReport().getTotalReturnPercent());
+        }
+
+        BigDecimal count = BigDecimal.valueOf(Math.max(1, results.size()));
+        BigDecimal averageInSample = inSampleReturn.divide(count, 2, RoundingMode.HALF_UP);
+        BigDecimal averageOutOfSample = outOfSampleReturn.divide(count, 2, RoundingMode.HALF_UP);
+        BigDecimal efficiency = averageInSample.signum() == 0
+                ? BigDecimal.ZERO
+                : averageOutOfSample.multiply(BigDecimal.valueOf(100)).divide(averageInSample, 2, RoundingMode.HALF_UP);
+
+        return WalkForwardResponse.builder()
+                .strategyName(strategyName)
+                .symbol(request.getSymbol())
+                .windowsEvaluated(results.size())
+                .combinationsPerWindow(combinations)
+                .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                .outOfSampleTrades(trades)
+                .outOfSampleProfitLoss(profitLoss)
+                .averageInSampleReturnPercent(averageInSample)
+                .averageOutOfSampleReturnPercent(averageOutOfSample)
+                .walkForwardEfficiencyPercent(efficiency)
+                .windows(results)
+                .build();
+    }
+
+    /**
+     * Best in-sample grid point of one window seen so far: highest return, then lowest drawdown, then
+     * the earliest point, so the winner does not depend on the order evaluations finish in.
+     */
+    private static final class WindowWinner {
+
+        private int point = -1;
+        private double returnPercent;
+        private double maxDrawdownPercent;
+        private TradeLog tradeLog;
+
+        synchronized void offer(int candidate, ReturnSummary summary, TradeLog candidateLog) {
+            boolean better = point < 0
+                    || summary.returnPercent() > returnPercent
+                    || (summary.returnPercent() == returnPercent
+                        && (summary.maxDrawdownPercent() < maxDrawdownPercent
+                            || (summary.maxDrawdownPercent() == maxDrawdownPercent && candidate < point)));
+            if (better) {
+                point = candidate;
+                returnPercent = summary.returnPercent();
+                maxDrawdownPercent = summary.maxDrawdownPercent();
+                tradeLog = candidateLog;
+            }
+        }
+    }
+
+    /** Calendar bounds of a window and the bar index ranges they map to; upper indexes are exclusive. */
+    private record Window(
+            LocalDate inSampleStart,
+            LocalDate outOfSampleStart,
+            LocalDate outOfSampleEnd,
+            int inSampleFrom,
+            int outOfSampleFrom,
+            int outOfSampleTo
+    ) {
+
+        int inSampleTo() {
+            return outOfSampleFrom;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.tradewise.backtestingservice.codec;
+
+import com.tradewise.backtestingservice.engine.BarColumns;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryBarDecoderTest {
+
+    @Test
+    void decodesColumnsAndDeltaEncodedTimes() throws IOException {
+        long day = 86_400_000L;
+        long first = 1_704_229_200_000L;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(0x54574231);
+        out.writeInt(3);
+        out.writeLong(first);
+        writeVarLong(out, day);
+        writeVarLong(out, 3 * day);
+        for (double[] column : new double[][]{
+                {10, 11, 12}, {10.5, 11.5, 12.5}, {9.5, 10.5, 11.5}, {10.25, 11.25, 12.25}, {1000, 2000, 3000}}) {
+            for (double value : column) {
+                out.writeDouble(value);
+            }
+        }
+
+        BarColumns bars = BinaryBarDecoder.decode("IBM", new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertThat(bars.symbol()).isEqualTo("IBM");
+        assertThat(bars.size()).isEqualTo(3);
+        assertThat(bars.endTimes()).containsExactly(first, first + day, first + 4 * day);
+        assertThat(bars.open()).containsExactly(10, 11, 12);
+        assertThat(bars.close()).containsExactly(10.25, 11.25, 12.25);
+        assertThat(bars.volume()).containsExactly(1000, 2000, 3000);
+    }
+
+    @Test
+    void rejectsOtherPayloads() {
+        byte[] json = "[{\"endTime\":\"2024-01-02\"}]".getBytes();
+
+        assertThatThrownBy(() -> BinaryBarDecoder.decode("IBM", new ByteArrayInputStream(json)))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
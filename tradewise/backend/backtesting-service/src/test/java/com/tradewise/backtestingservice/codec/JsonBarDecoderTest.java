@@ -0,0 +1,52 @@
+package com.tradewise.backtestingservice.codec;
+
+import com.tradewise.backtestingservice.engine.BarColumns;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonBarDecoderTest {
+
+    @Test
+    void decodesBarsIntoColumnsAndRestoresOrder() throws IOException {
+        String json = """
+                [
+                  {"endTime":"2024-01-03T16:00:00-05:00","open":11,"high":11.5,"low":10.5,"close":11.25,"volume":2000,"extra":{"a":[1]}},
+                  {"endTime":"2024-01-02T21:00:00Z","open":10,"high":10.5,"low":9.5,"close":10.25,"volume":1000},
+                  {"endTime":1704402000.000000000,"open":"12","high":"12.5","low":"11.5","close":"12.25","volume":"3000"}
+                ]
+                """;
+
+        BarColumns bars = decode(json);
+
+        long first = 1_704_229_200_000L;
+        long day = 86_400_000L;
+        assertThat(bars.symbol()).isEqualTo("IBM");
+        assertThat(bars.size()).isEqualTo(3);
+        assertThat(bars.endTimes()).containsExactly(first, first + day, first + 2 * day);
+        assertThat(bars.open()).containsExactly(10, 11, 12);
+        assertThat(bars.high()).containsExactly(10.5, 11.5, 12.5);
+        assertThat(bars.close()).containsExactly(10.25, 11.25, 12.25);
+        assertThat(bars.volume()).containsExactly(1000, 2000, 3000);
+    }
+
+    @Test
+    void handlesEmptyAndRejectsIncompleteBars() throws IOException {
+        assertThat(decode("[]").isEmpty()).isTrue();
+        assertThat(decode("").isEmpty()).isTrue();
+
+        assertThatThrownBy(() -> decode("[{\"endTime\":\"2024-01-02T21:00:00Z\",\"open\":10}]"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> decode("{\"error\":\"boom\"}"))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static BarColumns decode(String json) throws IOException {
+        return JsonBarDecoder.decode("IBM", new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
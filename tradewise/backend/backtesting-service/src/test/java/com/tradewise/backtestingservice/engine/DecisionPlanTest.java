@@ -0,0 +1,52 @@
+package com.tradewise.backtestingservice.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionPlanTest {
+
+    private static final IndicatorSpec SMA_10 = new IndicatorSpec("SMA", 10);
+    private static final IndicatorSpec SMA_30 = new IndicatorSpec("SMA", 30);
+    private static final IndicatorSpec RSI_14 = new IndicatorSpec("RSI", 14);
+
+    @Test
+    void mirroredAndRescaledConditionsShareOneId() {
+        ConditionSpec crossUp = new ConditionSpec(SMA_10, ComparisonOperator.CROSSES_ABOVE, SMA_30, null);
+        ConditionSpec mirroredCrossUp = new ConditionSpec(SMA_30, ComparisonOperator.CROSSES_BELOW, SMA_10, null);
+        ConditionSpec oversold = new ConditionSpec(RSI_14, ComparisonOperator.LESS_THAN, null, new BigDecimal("30"));
+        ConditionSpec oversoldRescaled = new ConditionSpec(RSI_14, ComparisonOperator.LESS_THAN, null, new BigDecimal("30.00"));
+
+        DecisionPlan plan = DecisionPlan.compile(new StrategyDefinition("test",
+                List.of(List.of(crossUp, oversold)),
+                List.of(List.of(mirroredCrossUp), List.of(oversoldRescaled))));
+
+        assertThat(plan.conditions()).hasSize(2);
+        assertThat(plan.entryRules()).hasDimensions(1, 2);
+        assertThat(plan.exitRules()).hasDimensions(2, 1);
+    }
+
+    @Test
+    void subsumedRulesAreDroppedAndConditionsOrderedByRank() {
+        ConditionSpec crossUp = new ConditionSpec(SMA_10, ComparisonOperator.CROSSES_ABOVE, SMA_30, null);
+        ConditionSpec aboveZero = new ConditionSpec(IndicatorSpec.price(), ComparisonOperator.GREATER_THAN, null, BigDecimal.ZERO);
+        ConditionSpec overbought = new ConditionSpec(RSI_14, ComparisonOperator.GREATER_THAN, null, new BigDecimal("70"));
+
+        DecisionPlan plan = DecisionPlan.compile(new StrategyDefinition("test",
+                List.of(List.of(crossUp, aboveZero), List.of(crossUp), List.of(crossUp)),
+                List.of(List.of(overbought, aboveZero, crossUp), List.of(overbought, aboveZero))));
+
+        int cross = plan.conditions().indexOf(crossUp);
+        int price = plan.conditions().indexOf(new ConditionSpec(IndicatorSpec.price(), ComparisonOperator.GREATER_THAN, null, BigDecimal.ZERO));
+        int rsi = plan.conditions().indexOf(new ConditionSpec(RSI_14, ComparisonOperator.GREATER_THAN, null, new BigDecimal("7E+1")));
+
+        // Only the bare cross survives on the BUY side, only the shorter rule on the SELL side
+        assertThat(plan.entryRules()).isDeepEqualTo(new int[][]{{cross}});
+        // PRICE > 0 ranks 2 / 0.5 = 4; RSI > 70 ranks 5 / 0.7 ≈ 7.1
+        assertThat(plan.exitRules()).isDeepEqualTo(new int[][]{{price, rsi}});
+        assertThat(plan.explain()).contains("BUY when any of", "SELL when any of");
+    }
+}
@@ -0,0 +1,104 @@
+package com.tradewise.backtestingservice.engine;
+
+import com.tradewise.backtestingservice.engine.PortfolioBacktestEngine.PortfolioResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PortfolioBacktestEngineTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private final PortfolioBacktestEngine portfolioEngine = new PortfolioBacktestEngine();
+    private final PrimitiveBacktestEngine primitiveEngine = new PrimitiveBacktestEngine();
+
+    private final StrategyDefinition crossover = new StrategyDefinition("Crossover",
+            List.of(List.of(new ConditionSpec(new IndicatorSpec("SMA", 5), ComparisonOperator.CROSSES_ABOVE, new IndicatorSpec("SMA", 20), null))),
+            List.of(List.of(new ConditionSpec(new IndicatorSpec("SMA", 5), ComparisonOperator.CROSSES_BELOW, new IndicatorSpec("SMA", 20), null))));
+
+    @Test
+    void singleSymbolTradesLikeThePrimitiveEngine() {
+        BarColumns bars = randomWalk("AAA", 0, 1_500, 1);
+        PrimitiveStrategy strategy = PrimitiveStrategy.compile(crossover, bars);
+
+        PortfolioResult result = portfolioEngine.run(new BarColumns[]{bars}, new PrimitiveStrategy[]{strategy}, 1_000_000, 1.0, 0);
+        TradeLog tradeLog = primitiveEngine.run(bars, strategy, 1);
+
+        assertThat(result.trades()[0]).isEqualTo(tradeLog.count());
+        assertThat(result.steps()).isEqualTo(bars.size());
+        assertThat(result.finalCash()).isCloseTo(1_000_000 + result.profitLoss()[0], within(1e-6));
+        assertThat(result.equity()[result.steps() - 1]).isCloseTo(result.finalCash(), within(1e-6));
+    }
+
+    @Test
+    void mergesMisalignedSymbolsAndSharesCash() {
+        BarColumns early = randomWalk("EARLY", 0, 800, 2);
+        BarColumns late = randomWalk("LATE", 300, 900, 3);
+        BarColumns[] bars = {early, late};
+        PrimitiveStrategy[] strategies = {PrimitiveStrategy.compile(crossover, early), PrimitiveStrategy.compile(crossover, late)};
+
+        PortfolioResult result = portfolioEngine.run(bars, strategies, 10_000, 0.5, 30 * DAY);
+
+        long[] union = LongStream.concat(Arrays.stream(early.endTimes()), Arrays.stream(late.endTimes()))
+                .distinct().sorted().toArray();
+        assertThat(Arrays.copyOf(result.times(), result.steps())).containsExactly(union);
+        assertThat(result.trades()[0]).isPositive();
+        assertThat(result.trades()[1]).isPositive();
+        assertThat(result.finalCash())
+                .isCloseTo(10_000 + result.profitLoss()[0] + result.profitLoss()[1], within(1e-6));
+        for (int i = 0; i < result.steps(); i++) {
+            assertThat(result.equity()[i]).isPositive();
+        }
+    }
+
+    @Test
+    void rebalanceDownToZeroSharesClosesThePosition() {
+        // Two shares bought at 50 become worth more than the 10% target can hold once the price hits 600
+        double[] open = {50, 50, 50, 600, 600};
+        double[] close = {50, 50, 600, 600, 600};
+        long[] endTimes = LongStream.range(0, open.length).map(day -> day * DAY).toArray();
+        BarColumns bars = new BarColumns("JUMP", endTimes, open, close, open, close, new double[open.length], open.length);
+        double[] enterOnFirstBar = {1, 0, 0, 0, 0};
+        IndicatorSpec signal = new IndicatorSpec("SIGNAL", 1);
+        StrategyDefinition definition = new StrategyDefinition("First bar",
+                List.of(List.of(new ConditionSpec(signal, ComparisonOperator.GREATER_THAN, null, BigDecimal.valueOf(0.5)))),
+                List.of(List.of(new ConditionSpec(signal, ComparisonOperator.LESS_THAN, null, BigDecimal.valueOf(-1)))));
+        PrimitiveStrategy strategy = PrimitiveStrategy.compile(definition, spec -> enterOnFirstBar);
+
+        PortfolioResult result = portfolioEngine.run(new BarColumns[]{bars}, new PrimitiveStrategy[]{strategy}, 1_000, 0.1, 3 * DAY);
+
+        assertThat(result.trades()[0]).isEqualTo(1);
+        assertThat(result.wins()[0]).isEqualTo(1);
+        assertThat(result.profitLoss()[0]).isCloseTo(1_100, within(1e-9));
+        assertThat(result.finalCash()).isCloseTo(2_100, within(1e-9));
+        assertThat(result.equity()[result.steps() - 1]).isCloseTo(2_100, within(1e-9));
+    }
+
+    private static BarColumns randomWalk(String symbol, int firstDay, int size, long seed) {
+        Random random = new Random(seed);
+        long[] endTimes = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            endTimes[i] = (firstDay + i) * DAY;
+            open[i] = price;
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.02));
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]);
+            low[i] = Math.min(open[i], close[i]);
+            volume[i] = 1_000;
+        }
+        return new BarColumns(symbol, endTimes, open, high, low, close, volume, size);
+    }
+}
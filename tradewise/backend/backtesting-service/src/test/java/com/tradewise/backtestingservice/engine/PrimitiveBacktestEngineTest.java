@@ -0,0 +1,278 @@
+package com.tradewise.backtestingservice.engine;
+
+import com.tradewise.backtestingservice.dto.BarDTO;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.service.BacktestReportCalculator;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimitiveBacktestEngineTest {
+
+    private final Ta4jBacktestEngine ta4jEngine = new Ta4jBacktestEngine();
+    private final PrimitiveBacktestEngine primitiveEngine = new PrimitiveBacktestEngine();
+    private final BacktestReportCalculator reportCalculator = new BacktestReportCalculator();
+
+    @Test
+    void smaCrossoverMatchesTa4j() {
+        assertSameTrades(strategy(
+                List.of(List.of(indicator(sma(10), ComparisonOperator.CROSSES_ABOVE, sma(30)))),
+                List.of(List.of(indicator(sma(10), ComparisonOperator.CROSSES_BELOW, sma(30))))
+        ));
+    }
+
+    @Test
+    void rsiThresholdsMatchTa4j() {
+        assertSameTrades(strategy(
+                List.of(List.of(value(rsi(14), ComparisonOperator.LESS_THAN, "30"))),
+                List.of(List.of(value(rsi(14), ComparisonOperator.GREATER_THAN, "70")))
+        ));
+    }
+
+    @Test
+    void combinedRulesMatchTa4j() {
+        assertSameTrades(strategy(
+                List.of(
+                        List.of(
+                                indicator(ema(12), ComparisonOperator.GREATER_THAN, sma(50)),
+                                value(rsi(7), ComparisonOperator.LESS_THAN, "45")
+                        ),
+                        List.of(indicator(IndicatorSpec.price(), ComparisonOperator.CROSSES_ABOVE, ema(100)))
+                ),
+                List.of(
+                        List.of(indicator(IndicatorSpec.price(), ComparisonOperator.LESS_THAN, ema(12))),
+                        List.of(value(rsi(7), ComparisonOperator.GREATER_THAN, "80"))
+                )
+        ));
+    }
+
+    @Test
+    void entryOnlyStrategyIsClosedAtLastBar() {
+        assertSameTrades(strategy(
+                List.of(List.of(value(IndicatorSpec.price(), ComparisonOperator.GREATER_THAN, "0"))),
+                List.of()
+        ));
+    }
+
+    @Test
+    void positionEnteredOnLastBarIsSettledInReport() {
+        // Only the second-to-last close clears the threshold: the fill and the forced close share the last bar
+        ZonedDateTime time = ZonedDateTime.of(2024, 1, 2, 16, 0, 0, 0, ZoneId.of("America/New_York"));
+        List<BarDTO> bars = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            double close = i == 8 ? 150 : i == 9 ? 110 : 100;
+            bars.add(new BarDTO(time.plusDays(i), BigDecimal.valueOf(100), BigDecimal.valueOf(Math.max(100, close)),
+                    BigDecimal.valueOf(99), BigDecimal.valueOf(close), BigDecimal.valueOf(1_000)));
+        }
+        BarColumns columns = BarColumns.fromBars("TEST", bars);
+        StrategyDefinition definition = strategy(
+                List.of(List.of(value(IndicatorSpec.price(), ComparisonOperator.GREATER_THAN, "120"))),
+                List.of()
+        );
+
+        TradeLog tradeLog = primitiveEngine.run(columns, PrimitiveStrategy.compile(definition, columns), 10);
+        BacktestReportResponse report = reportCalculator.calculateReport("test", "TEST", columns, tradeLog, 10_000.0);
+
+        assertThat(tradeLog.count()).isEqualTo(1);
+        assertThat(tradeLog.entryIndex(0)).isEqualTo(9).isEqualTo(tradeLog.exitIndex(0));
+        assertThat(report.getTotalTrades()).isEqualTo(1);
+        assertThat(report.getTotalProfitLoss()).isEqualByComparingTo("100");
+        assertThat(report.getWinRatePercent()).isEqualByComparingTo("100");
+        assertThat(report.getExposurePercent()).isPositive();
+    }
+
+    @Test
+    void progressBlocksDoNotChangeTrades() {
+        StrategyDefinition definition = strategy(
+                List.of(List.of(indicator(sma(10), ComparisonOperator.CROSSES_ABOVE, sma(30)))),
+                List.of(List.of(indicator(sma(10), ComparisonOperator.CROSSES_BELOW, sma(30))))
+        );
+        BarColumns columns = BarColumns.fromBars("TEST", randomWalk(2_000, 7));
+        PrimitiveStrategy compiled = PrimitiveStrategy.compile(definition, columns);
+
+        TradeLog expected = primitiveEngine.run(columns, compiled, 10);
+        List<Integer> reported = new ArrayList<>();
+        TradeLog actual = primitiveEngine.run(columns, compiled, 10, 0, columns.size(), 97,
+                (processed, total, log) -> {
+                    reported.add(processed);
+                    return true;
+                });
+
+        assertThat(actual.count()).isEqualTo(expected.count());
+        for (int p = 0; p < expected.count(); p++) {
+            assertThat(actual.entryIndex(p)).isEqualTo(expected.entryIndex(p));
+            assertThat(actual.exitIndex(p)).isEqualTo(expected.exitIndex(p));
+        }
+        assertThat(reported).hasSize(21).isSorted().endsWith(columns.size() - 1);
+    }
+
+    @Test
+    void summaryMatchesWindowReport() {
+        StrategyDefinition definition = strategy(
+                List.of(List.of(indicator(sma(10), ComparisonOperator.CROSSES_ABOVE, sma(30)))),
+                List.of(List.of(indicator(sma(10), ComparisonOperator.CROSSES_BELOW, sma(30))))
+        );
+        BarColumns columns = BarColumns.fromBars("TEST", randomWalk(2_000, 13));
+        TradeLog tradeLog = primitiveEngine.run(columns, PrimitiveStrategy.compile(definition, columns), 10, 500, 1_500);
+
+        BacktestReportResponse report = reportCalculator.calculateReport("test", "TEST", columns, tradeLog, 10_000.0, 500, 1_500);
+        BacktestReportCalculator.ReturnSummary summary = reportCalculator.summarize(columns, tradeLog, 10_000.0, 500, 1_500);
+
+        assertThat(tradeLog.count()).isPositive();
+        assertThat(round(summary.returnPercent())).isEqualTo(report.getTotalReturnPercent().doubleValue());
+        assertThat(round(summary.maxDrawdownPercent())).isEqualTo(report.getMaxDrawdownPercent().doubleValue());
+    }
+
+    @Test
+    void stoppedRunsMatchTa4j() {
+        StrategyDefinition definition = strategy(
+                List.of(List.of(value(rsi(14), ComparisonOperator.LESS_THAN, "45"))),
+                List.of(List.of(value(rsi(14), ComparisonOperator.GREATER_THAN, "55")))
+        );
+        BarColumns columns = BarColumns.fromBars("TEST", randomWalk(2_000, 11));
+        BarSeries series = ta4jEngine.convertToBarSeries(columns);
+
+        // Both engines are asked every 250 bars and told to stop once 1,000 have been evaluated
+        TradeLog primitive = primitiveEngine.run(columns, PrimitiveStrategy.compile(definition, columns), 10,
+                0, columns.size(), 250, (processed, total, log) -> processed < 1_000);
+        TradeLog ta4j = ta4jEngine.toTradeLog(ta4jEngine.run(series, ta4jEngine.buildTa4jStrategy(definition, series),
+                10, series.getEndIndex(), 250, processed -> processed < 1_000), 10);
+
+        assertThat(primitive.count()).isPositive().isEqualTo(ta4j.count());
+        for (int p = 0; p < primitive.count(); p++) {
+            assertThat(primitive.entryIndex(p)).isEqualTo(ta4j.entryIndex(p));
+            assertThat(primitive.exitIndex(p)).isEqualTo(ta4j.exitIndex(p));
+            assertThat(primitive.exitPrice(p)).isEqualTo(ta4j.exitPrice(p));
+        }
+        assertThat(primitive.exitIndex(primitive.count() - 1)).isLessThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void precomputedSignalsMatchPerBarEvaluation() {
+        StrategyDefinition definition = strategy(
+                List.of(
+                        List.of(indicator(sma(2), ComparisonOperator.CROSSES_ABOVE, sma(3))),
+                        List.of(indicator(sma(2), ComparisonOperator.GREATER_THAN, ema(3)),
+                                value(sma(3), ComparisonOperator.LESS_THAN, "1"))
+                ),
+                List.of(
+                        List.of(indicator(ema(3), ComparisonOperator.CROSSES_BELOW, sma(2))),
+                        List.of(value(ema(3), ComparisonOperator.GREATER_THAN, "1"),
+                                indicator(sma(3), ComparisonOperator.LESS_THAN, sma(2)))
+                )
+        );
+        Random random = new Random(3);
+
+        for (int size : new int[]{1, 2, 63, 64, 65, 130, 1_000}) {
+            // Few distinct levels so ties are frequent, plus NaN warm-up bars
+            Map<IndicatorSpec, double[]> columns = new HashMap<>();
+            PrimitiveStrategy perBar = PrimitiveStrategy.compile(DecisionPlan.compile(definition),
+                    spec -> columns.computeIfAbsent(spec, key -> {
+                        double[] column = new double[size];
+                        for (int i = 0; i < size; i++) {
+                            column[i] = i < 3 || random.nextInt(50) == 0 ? Double.NaN : random.nextInt(3);
+                        }
+                        return column;
+                    }));
+
+            for (ConditionKernel kernel : List.of(new ScalarConditionKernel(), ConditionKernel.preferred())) {
+                PrimitiveStrategy precomputed = perBar.precomputeSignals(size, kernel);
+                for (int i = 0; i < size; i++) {
+                    assertThat(precomputed.shouldEnter(i)).as("entry at %d of %d, %s", i, size, kernel)
+                            .isEqualTo(perBar.shouldEnter(i));
+                    assertThat(precomputed.shouldExit(i)).as("exit at %d of %d, %s", i, size, kernel)
+                            .isEqualTo(perBar.shouldExit(i));
+                }
+            }
+        }
+    }
+
+    private void assertSameTrades(StrategyDefinition definition) {
+        List<BarDTO> bars = randomWalk(2_000, 42);
+        double amount = 10;
+
+        BarColumns columns = BarColumns.fromBars("TEST", bars);
+
+        BarSeries series = ta4jEngine.convertToBarSeries(columns);
+        TradingRecord record = ta4jEngine.run(series, ta4jEngine.buildTa4jStrategy(definition, series), amount);
+
+        TradeLog tradeLog = primitiveEngine.run(columns, PrimitiveStrategy.compile(definition, columns), amount);
+
+        List<Position> positions = record.getPositions();
+        assertThat(positions).isNotEmpty();
+        assertThat(tradeLog.count()).isEqualTo(positions.size());
+
+        for (int p = 0; p < positions.size(); p++) {
+            Position position = positions.get(p);
+            assertThat(tradeLog.entryIndex(p)).isEqualTo(position.getEntry().getIndex());
+            assertThat(tradeLog.exitIndex(p)).isEqualTo(position.getExit().getIndex());
+            assertThat(tradeLog.entryPrice(p)).isEqualTo(position.getEntry().getPricePerAsset().doubleValue());
+            assertThat(tradeLog.exitPrice(p)).isEqualTo(position.getExit().getPricePerAsset().doubleValue());
+        }
+
+        BacktestReportResponse report = reportCalculator.calculateReport("test", "TEST", columns, tradeLog, 10_000.0);
+        BigDecimal ta4jDrawdown = new BigDecimal(new MaximumDrawdownCriterion().calculate(series, record).toString())
+                .multiply(BigDecimal.valueOf(100))
+                .setScale(2, RoundingMode.HALF_UP);
+        assertThat(report.getMaxDrawdownPercent()).isEqualByComparingTo(ta4jDrawdown);
+    }
+
+    private static List<BarDTO> randomWalk(int size, long seed) {
+        Random random = new Random(seed);
+        ZonedDateTime time = ZonedDateTime.of(2000, 1, 3, 16, 0, 0, 0, ZoneId.of("America/New_York"));
+        List<BarDTO> bars = new ArrayList<>(size);
+        double close = 100;
+
+        for (int i = 0; i < size; i++) {
+            double open = round(close * (1 + random.nextGaussian() * 0.005));
+            close = round(Math.max(1, close * (1 + random.nextGaussian() * 0.02)));
+            double high = Math.max(open, close) + 0.5;
+            double low = Math.min(open, close) - 0.5;
+            bars.add(new BarDTO(time.plusDays(i), BigDecimal.valueOf(open), BigDecimal.valueOf(high),
+                    BigDecimal.valueOf(low), BigDecimal.valueOf(close), BigDecimal.valueOf(1_000_000)));
+        }
+        return bars;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static StrategyDefinition strategy(List<List<ConditionSpec>> entry, List<List<ConditionSpec>> exit) {
+        return new StrategyDefinition("test", entry, exit);
+    }
+
+    private static ConditionSpec indicator(IndicatorSpec left, ComparisonOperator operator, IndicatorSpec right) {
+        return new ConditionSpec(left, operator, right, null);
+    }
+
+    private static ConditionSpec value(IndicatorSpec left, ComparisonOperator operator, String value) {
+        return new ConditionSpec(left, operator, null, new BigDecimal(value));
+    }
+
+    private static IndicatorSpec sma(int period) {
+        return new IndicatorSpec("SMA", period);
+    }
+
+    private static IndicatorSpec ema(int period) {
+        return new IndicatorSpec("EMA", period);
+    }
+
+    private static IndicatorSpec rsi(int period) {
+        return new IndicatorSpec("RSI", period);
+    }
+}
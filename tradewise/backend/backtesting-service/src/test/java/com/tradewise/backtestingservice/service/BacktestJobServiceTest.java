@@ -0,0 +1,82 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.BacktestRequest;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.exception.BacktestRejectedException;
+import com.tradewise.backtestingservice.model.BacktestJob;
+import com.tradewise.backtestingservice.model.BacktestJobStatus;
+import com.tradewise.backtestingservice.model.JobRejectionPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BacktestJobServiceTest {
+
+    private static final String EMAIL = "trader@example.com";
+
+    private final BacktestingService backtestingService = mock(BacktestingService.class);
+    private final BacktestLimits limits = new BacktestLimits(Duration.ofSeconds(60), 5_000_000, new SimpleMeterRegistry());
+    private final CountDownLatch running = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BacktestJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void fullQueueDiscardsOldestQueuedJobWithoutRunningOnTheCaller() throws InterruptedException {
+        service = blockingService(JobRejectionPolicy.DISCARD_OLDEST);
+
+        BacktestJob first = service.submit(request(), EMAIL);
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        BacktestJob oldest = service.submit(request(), EMAIL);
+        BacktestJob newest = service.submit(request(), EMAIL);
+
+        assertThat(first.getStatus()).isEqualTo(BacktestJobStatus.RUNNING);
+        assertThat(oldest.getStatus()).isEqualTo(BacktestJobStatus.REJECTED);
+        assertThat(oldest.isFinished()).isTrue();
+        assertThat(newest.getStatus()).isEqualTo(BacktestJobStatus.QUEUED);
+    }
+
+    @Test
+    void fullQueueRejectsNewJob() throws InterruptedException {
+        service = blockingService(JobRejectionPolicy.REJECT);
+
+        service.submit(request(), EMAIL);
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        BacktestJob queued = service.submit(request(), EMAIL);
+
+        assertThatThrownBy(() -> service.submit(request(), EMAIL)).isInstanceOf(BacktestRejectedException.class);
+        assertThat(queued.getStatus()).isEqualTo(BacktestJobStatus.QUEUED);
+    }
+
+    private BacktestJobService blockingService(JobRejectionPolicy policy) {
+        when(backtestingService.runBacktest(any(), anyString(), any(), any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return BacktestReportResponse.builder().build();
+        });
+        return new BacktestJobService(backtestingService, limits, 1, 1, policy, Duration.ofMinutes(15));
+    }
+
+    private static BacktestRequest request() {
+        BacktestRequest request = new BacktestRequest();
+        request.setSymbol("IBM");
+        return request;
+    }
+}
@@ -0,0 +1,50 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.BacktestEngineType;
+import com.tradewise.backtestingservice.dto.BacktestRequest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BacktestMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BacktestMetrics metrics = new BacktestMetrics(registry);
+
+    @Test
+    void recordsOnlyTheStagesThatRanWithBucketedTags() {
+        BacktestRequest request = new BacktestRequest();
+        request.setSymbol("tsco.lon");
+        request.setEngine(BacktestEngineType.PRIMITIVE);
+
+        BacktestTimings timings = new BacktestTimings();
+        timings.add(BacktestTimings.Stage.BAR_FETCH, TimeUnit.MILLISECONDS.toNanos(40));
+        timings.add(BacktestTimings.Stage.SIMULATION, TimeUnit.MILLISECONDS.toNanos(5));
+        timings.setBarCount(6_300);
+        timings.setConditionCount(4);
+
+        metrics.record(request, timings, "computed");
+
+        Timer bars = registry.get("backtest.phase").tag("phase", "bars").timer();
+        assertThat(bars.getId().getTag("symbol_class")).isEqualTo("international");
+        assertThat(bars.getId().getTag("bars")).isEqualTo("1k_10k");
+        assertThat(bars.getId().getTag("strategy_size")).isEqualTo("3_5");
+        assertThat(bars.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(registry.find("backtest.phase").tag("phase", "report").timer()).isNull();
+        assertThat(registry.get("backtest.duration").tag("outcome", "computed").timer().count()).isEqualTo(1);
+        assertThat(timings.toServerTiming()).startsWith("bars;dur=40.0, simulate;dur=5.0, total;dur=");
+    }
+
+    @Test
+    void classifiesSymbols() {
+        assertThat(BacktestMetrics.symbolClass("AAPL")).isEqualTo("us_equity");
+        assertThat(BacktestMetrics.symbolClass("BRK.B")).isEqualTo("us_equity");
+        assertThat(BacktestMetrics.symbolClass("^GSPC")).isEqualTo("index");
+        assertThat(BacktestMetrics.symbolClass("RELIANCE.BSE")).isEqualTo("international");
+        assertThat(BacktestMetrics.symbolClass("EUR/USD")).isEqualTo("other");
+    }
+}
@@ -0,0 +1,215 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.AbortReason;
+import com.tradewise.backtestingservice.dto.BacktestRequest;
+import com.tradewise.backtestingservice.dto.BarInterval;
+import com.tradewise.backtestingservice.dto.response.BacktestReportResponse;
+import com.tradewise.backtestingservice.engine.ComparisonOperator;
+import com.tradewise.backtestingservice.engine.ConditionSpec;
+import com.tradewise.backtestingservice.engine.IndicatorSpec;
+import com.tradewise.backtestingservice.engine.StrategyDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BacktestResultCacheTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-03-06T15:00:00Z"), ZoneOffset.UTC);
+
+    private final BacktestResultCache cache = new BacktestResultCache(true, 10,
+            new HistoricalBarCache(true, 1000, LocalDate.of(2000, 1, 1), Duration.ofMinutes(30), CLOCK), CLOCK);
+
+    private final BacktestBudget budget = BacktestBudget.unlimited();
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    void reorderedRulesHitTheSameEntry() {
+        BacktestRequest request = request();
+        ConditionSpec rsi = new ConditionSpec(new IndicatorSpec("RSI", 14), ComparisonOperator.LESS_THAN, null, new BigDecimal("30"));
+        ConditionSpec sma = new ConditionSpec(new IndicatorSpec("SMA", 10), ComparisonOperator.GREATER_THAN, new IndicatorSpec("SMA", 30), null);
+        ConditionSpec rsiScaled = new ConditionSpec(new IndicatorSpec("RSI", 14), ComparisonOperator.LESS_THAN, null, new BigDecimal("30.00"));
+
+        BacktestReportResponse first = cache.getOrCompute(request, definition(List.of(rsi, sma)), budget, this::compute, this::aborted);
+        BacktestReportResponse second = cache.getOrCompute(request, definition(List.of(sma, rsiScaled)), budget, this::compute, this::aborted);
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(computations).hasValue(1);
+
+        // A caller adjusting its report must not leak into later hits
+        first.setSymbol("CHANGED");
+        second.setStrategyName("CHANGED");
+        BacktestReportResponse third = cache.getOrCompute(request, definition(List.of(rsi, sma)), budget, this::compute, this::aborted);
+        assertThat(third.getSymbol()).isEqualTo("IBM");
+        assertThat(third.getStrategyName()).isEqualTo("Test");
+    }
+
+    @Test
+    void changedStrategyDropsItsEntries() {
+        BacktestRequest request = request();
+        StrategyDefinition original = definition(List.of(
+                new ConditionSpec(new IndicatorSpec("RSI", 14), ComparisonOperator.LESS_THAN, null, new BigDecimal("30"))));
+        StrategyDefinition edited = definition(List.of(
+                new ConditionSpec(new IndicatorSpec("RSI", 14), ComparisonOperator.LESS_THAN, null, new BigDecimal("25"))));
+
+        cache.getOrCompute(request, original, budget, this::compute, this::aborted);
+        cache.getOrCompute(request, edited, budget, this::compute, this::aborted);
+        cache.getOrCompute(request, original, budget, this::compute, this::aborted);
+
+        assertThat(computations).hasValue(3);
+        assertThat(cache.stats().getInvalidations()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneComputation() throws Exception {
+        BacktestRequest request = request();
+        StrategyDefinition definition = definition(List.of(
+                new ConditionSpec(new IndicatorSpec("EMA", 12), ComparisonOperator.CROSSES_ABOVE, new IndicatorSpec("EMA", 26), null)));
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<BacktestReportResponse> leader = CompletableFuture.supplyAsync(() ->
+                cache.getOrCompute(request, definition, budget, () -> {
+                    await(release);
+                    return compute();
+                }, this::aborted));
+        while (cache.stats().getMisses() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<BacktestReportResponse> follower = CompletableFuture.supplyAsync(() ->
+                cache.getOrCompute(request, definition, budget, this::compute, this::aborted));
+        while (cache.stats().getCoalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS))
+                .isEqualTo(leader.get(5, TimeUnit.SECONDS))
+                .isNotSameAs(leader.get(5, TimeUnit.SECONDS));
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void waiterStopsAtItsOwnDeadline() throws Exception {
+        BacktestRequest request = request();
+        StrategyDefinition definition = definition(List.of(
+                new ConditionSpec(new IndicatorSpec("SMA", 50), ComparisonOperator.CROSSES_BELOW, new IndicatorSpec("SMA", 200), null)));
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<BacktestReportResponse> leader = CompletableFuture.supplyAsync(() ->
+                cache.getOrCompute(request, definition, budget, () -> {
+                    await(release);
+                    return compute();
+                }, this::aborted));
+        while (cache.stats().getMisses() == 0) {
+            Thread.onSpinWait();
+        }
+
+        BacktestBudget shortBudget = new BacktestBudget(Duration.ofMillis(50), Integer.MAX_VALUE);
+        shortBudget.start();
+        BacktestReportResponse waiter = cache.getOrCompute(request, definition, shortBudget, this::compute, this::aborted);
+        release.countDown();
+
+        assertThat(waiter.isAborted()).isTrue();
+        assertThat(waiter.getAbortReason()).isEqualTo(AbortReason.DEADLINE);
+        assertThat(leader.get(5, TimeUnit.SECONDS).isAborted()).isFalse();
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void intradayRunReachingTodayExpiresAfterOneBar() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-03-06T15:00:00Z"));
+        BacktestResultCache intradayCache = new BacktestResultCache(true, 10,
+                new HistoricalBarCache(true, 1000, LocalDate.of(2000, 1, 1), Duration.ofMinutes(30), clock), clock);
+        StrategyDefinition definition = definition(List.of(
+                new ConditionSpec(new IndicatorSpec("RSI", 14), ComparisonOperator.LESS_THAN, null, new BigDecimal("30"))));
+        BacktestRequest live = request();
+        live.setInterval(BarInterval.FIVE_MINUTES);
+        live.setEndDate(LocalDate.of(2024, 3, 6));
+        BacktestRequest past = request();
+        past.setInterval(BarInterval.FIVE_MINUTES);
+
+        intradayCache.getOrCompute(live, definition, budget, this::compute, this::aborted);
+        intradayCache.getOrCompute(past, definition, budget, this::compute, this::aborted);
+        clock.advance(Duration.ofMinutes(4));
+        intradayCache.getOrCompute(live, definition, budget, this::compute, this::aborted);
+        assertThat(computations).hasValue(2);
+
+        clock.advance(Duration.ofMinutes(1));
+        intradayCache.getOrCompute(live, definition, budget, this::compute, this::aborted);
+        intradayCache.getOrCompute(past, definition, budget, this::compute, this::aborted);
+        assertThat(computations).hasValue(3);
+        assertThat(intradayCache.stats().getExpirations()).isEqualTo(1);
+    }
+
+    private BacktestReportResponse compute() {
+        computations.incrementAndGet();
+        return BacktestReportResponse.builder().strategyName("Test").symbol("IBM").build();
+    }
+
+    private BacktestReportResponse aborted(AbortReason reason) {
+        return BacktestReportResponse.builder().strategyName("Test").symbol("IBM").aborted(true).abortReason(reason).build();
+    }
+
+    private static BacktestRequest request() {
+        BacktestRequest request = new BacktestRequest();
+        request.setStrategyId(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        request.setSymbol("ibm");
+        request.setStartDate(LocalDate.of(2023, 1, 1));
+        request.setEndDate(LocalDate.of(2023, 12, 31));
+        request.setInitialCash(10_000.0);
+        return request;
+    }
+
+    private static StrategyDefinition definition(List<ConditionSpec> entryConditions) {
+        return new StrategyDefinition("Test", List.of(entryConditions), List.of());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
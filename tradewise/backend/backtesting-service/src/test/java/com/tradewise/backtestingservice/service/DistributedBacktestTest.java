@@ -0,0 +1,198 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.BacktestEngineType;
+import com.tradewise.backtestingservice.dto.BatchBacktestRequest;
+import com.tradewise.backtestingservice.dto.ParameterRange;
+import com.tradewise.backtestingservice.dto.ParameterSweepRequest;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyConditionResponse;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyResponse;
+import com.tradewise.backtestingservice.dto.internal.InternalStrategyRuleResponse;
+import com.tradewise.backtestingservice.dto.response.BatchBacktestResponse;
+import com.tradewise.backtestingservice.dto.response.ParameterSweepResponse;
+import com.tradewise.backtestingservice.dto.response.SymbolBacktestResult;
+import com.tradewise.backtestingservice.engine.BarColumns;
+import com.tradewise.backtestingservice.engine.PrimitiveBacktestEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "backtest.distributed.enabled=true",
+        "backtest.distributed.partitions=3",
+        "backtest.distributed.timeout=30s",
+        "backtest.distributed.sweep-unit-size=10",
+        "backtest.distributed.batch-unit-size=2"
+})
+@EmbeddedKafka(partitions = 3, topics = {"backtest-work", "backtest-results"})
+class DistributedBacktestTest {
+
+    private static final String EMAIL = "trader@example.com";
+
+    @MockitoSpyBean
+    private BacktestingService backtestingService;
+
+    @MockitoSpyBean
+    private BatchBacktestService batchService;
+
+    @Autowired
+    private ParameterSweepService sweepService;
+
+    @Autowired
+    private StrategyDefinitionParser strategyDefinitionParser;
+
+    @Autowired
+    private PrimitiveBacktestEngine primitiveEngine;
+
+    @Autowired
+    private BacktestReportCalculator reportCalculator;
+
+    @Autowired
+    @Qualifier("backtestForkJoinPool")
+    private ForkJoinPool backtestForkJoinPool;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(strategy()).when(backtestingService).fetchStrategy(any(), anyString());
+        doAnswer(invocation -> randomWalk(invocation.getArgument(0)))
+                .when(backtestingService).fetchBars(anyString(), any(), any(), anyString());
+
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            ContainerTestUtils.waitForAssignment(container, broker.getPartitionsPerTopic());
+        }
+    }
+
+    @Test
+    void shardedSweepMatchesLocalSweep() {
+        ParameterSweepRequest request = sweepRequest();
+        ParameterSweepService localSweep = new ParameterSweepService(backtestingService, strategyDefinitionParser,
+                primitiveEngine, reportCalculator, backtestForkJoinPool, 5000, Optional.empty());
+
+        ParameterSweepResponse distributed = sweepService.runSweep(request, EMAIL);
+        ParameterSweepResponse local = localSweep.runSweep(request, EMAIL);
+
+        assertThat(distributed.getWorkUnits()).isEqualTo(5);
+        assertThat(distributed.getWorkUnitsRunLocally()).isZero();
+        assertThat(local.getWorkUnits()).isNull();
+        assertThat(distributed.getCombinationsEvaluated()).isEqualTo(50);
+        assertThat(distributed.getResults()).hasSize(request.getTop());
+        assertThat(distributed.getResults())
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(local.getResults());
+    }
+
+    @Test
+    void failedBatchUnitIsRunLocally() {
+        doThrow(new RuntimeException("worker crashed")).doCallRealMethod().when(batchService).runUnit(any());
+
+        BatchBacktestRequest request = new BatchBacktestRequest();
+        request.setStrategyId(UUID.randomUUID());
+        request.setSymbols(List.of("aapl", "MSFT", "IBM", "NVDA", "AMZN"));
+        request.setStartDate(LocalDate.of(2023, 1, 1));
+        request.setEndDate(LocalDate.of(2023, 12, 31));
+        request.setInitialCash(10_000.0);
+        request.setEngine(BacktestEngineType.PRIMITIVE);
+
+        BatchBacktestResponse response = batchService.runBatch(request, EMAIL);
+
+        assertThat(response.getWorkUnits()).isEqualTo(3);
+        assertThat(response.getWorkUnitsRunLocally()).isEqualTo(1);
+        assertThat(response.getSucceeded()).isEqualTo(5);
+        assertThat(response.getResults())
+                .extracting(SymbolBacktestResult::getSymbol)
+                .containsExactly("AAPL", "MSFT", "IBM", "NVDA", "AMZN");
+    }
+
+    private static ParameterSweepRequest sweepRequest() {
+        ParameterSweepRequest request = new ParameterSweepRequest();
+        request.setStrategyId(UUID.randomUUID());
+        request.setSymbol("IBM");
+        request.setStartDate(LocalDate.of(2023, 1, 1));
+        request.setEndDate(LocalDate.of(2023, 12, 31));
+        request.setInitialCash(10_000.0);
+        request.setParameters(List.of(range(10, 5, 14, 1), range(30, 20, 40, 5)));
+        request.setTop(15);
+        return request;
+    }
+
+    private static ParameterRange range(int period, int from, int to, int step) {
+        ParameterRange range = new ParameterRange();
+        range.setIndicator("SMA");
+        range.setPeriod(period);
+        range.setFrom(from);
+        range.setTo(to);
+        range.setStep(step);
+        return range;
+    }
+
+    private static InternalStrategyResponse strategy() {
+        InternalStrategyResponse strategy = new InternalStrategyResponse();
+        strategy.setId(UUID.randomUUID());
+        strategy.setName("SMA crossover");
+        strategy.setUserEmail(EMAIL);
+        strategy.setRules(List.of(rule("BUY", "CROSSES_ABOVE"), rule("SELL", "CROSSES_BELOW")));
+        return strategy;
+    }
+
+    private static InternalStrategyRuleResponse rule(String action, String operator) {
+        InternalStrategyConditionResponse condition = new InternalStrategyConditionResponse(
+                null, "SMA", Map.of("period", "10"), operator, "INDICATOR", "SMA", Map.of("period", "30"));
+        return new InternalStrategyRuleResponse(null, action, List.of(condition));
+    }
+
+    private static BarColumns randomWalk(String symbol) {
+        int size = 500;
+        Random random = new Random(symbol.hashCode());
+        long[] endTimes = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            double next = Math.max(1, price + random.nextGaussian() * 2);
+            endTimes[i] = 1_672_704_000_000L + i * 86_400_000L;
+            open[i] = price;
+            high[i] = Math.max(price, next) + 0.5;
+            low[i] = Math.min(price, next) - 0.5;
+            close[i] = next;
+            volume[i] = 1_000;
+            price = next;
+        }
+        return new BarColumns(symbol, endTimes, open, high, low, close, volume, size);
+    }
+}
@@ -0,0 +1,82 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.engine.BarColumns;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoricalBarCacheTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void slicesInclusiveDateRangeAndCountsHits() {
+        HistoricalBarCache cache = cacheAt(Instant.parse("2024-03-01T15:00:00Z"), 1_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        BarColumns first = cache.getRange("aapl", FIRST_DAY.plusDays(5), FIRST_DAY.plusDays(9),
+                symbol -> { loads.incrementAndGet(); return dailyBars(symbol, 30); });
+        BarColumns second = cache.getRange("AAPL", FIRST_DAY.plusDays(10), FIRST_DAY.plusDays(10),
+                symbol -> { loads.incrementAndGet(); return dailyBars(symbol, 30); });
+
+        assertThat(loads).hasValue(1);
+        assertThat(first.size()).isEqualTo(5);
+        assertThat(first.close()[0]).isEqualTo(105);
+        assertThat(second.size()).isEqualTo(1);
+        assertThat(second.close()[0]).isEqualTo(110);
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresAtNextWeekdayCloseAfterGrace() {
+        HistoricalBarCache cache = cacheAt(Instant.parse("2024-03-01T15:00:00Z"), 1_000);
+
+        // Friday 10:00 in New York expires the same day at 16:30; Friday evening rolls to Monday.
+        assertThat(cache.nextExpiry(Instant.parse("2024-03-01T15:00:00Z")))
+                .isEqualTo(Instant.parse("2024-03-01T21:30:00Z"));
+        assertThat(cache.nextExpiry(Instant.parse("2024-03-01T22:00:00Z")))
+                .isEqualTo(Instant.parse("2024-03-04T21:30:00Z"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedSymbolWhenOverBudget() {
+        HistoricalBarCache cache = cacheAt(Instant.parse("2024-03-01T15:00:00Z"), 50);
+
+        cache.getRange("AAA", FIRST_DAY, FIRST_DAY.plusDays(30), symbol -> dailyBars(symbol, 20));
+        cache.getRange("BBB", FIRST_DAY, FIRST_DAY.plusDays(30), symbol -> dailyBars(symbol, 20));
+        cache.getRange("AAA", FIRST_DAY, FIRST_DAY.plusDays(30), symbol -> dailyBars(symbol, 20));
+        cache.getRange("CCC", FIRST_DAY, FIRST_DAY.plusDays(30), symbol -> dailyBars(symbol, 20));
+
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+        assertThat(cache.stats().getCachedBars()).isEqualTo(40);
+
+        AtomicInteger reloads = new AtomicInteger();
+        cache.getRange("AAA", FIRST_DAY, FIRST_DAY, symbol -> { reloads.incrementAndGet(); return dailyBars(symbol, 20); });
+        cache.getRange("BBB", FIRST_DAY, FIRST_DAY, symbol -> { reloads.incrementAndGet(); return dailyBars(symbol, 20); });
+        assertThat(reloads).hasValue(1);
+    }
+
+    private static HistoricalBarCache cacheAt(Instant now, long maxBars) {
+        return new HistoricalBarCache(true, maxBars, LocalDate.of(2000, 1, 1), Duration.ofMinutes(30),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static BarColumns dailyBars(String symbol, int size) {
+        long[] endTimes = new long[size];
+        double[] close = new double[size];
+        for (int i = 0; i < size; i++) {
+            endTimes[i] = FIRST_DAY.plusDays(i).atTime(16, 0)
+                    .atZone(HistoricalBarCache.MARKET_ZONE).toInstant().toEpochMilli();
+            close[i] = 100 + i;
+        }
+        return new BarColumns(symbol, endTimes, close, close, close, close, new double[size], size);
+    }
+}
@@ -0,0 +1,53 @@
+package com.tradewise.backtestingservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LargestTriangleThreeBucketsTest {
+
+    @Test
+    void keepsEndpointsAndExtremes() {
+        int size = 10_000;
+        long[] x = new long[size];
+        double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = i * 86_400_000L;
+            y[i] = Math.sin(i / 50.0);
+        }
+        y[4_321] = 25;
+        y[7_654] = -25;
+
+        int[] selected = LargestTriangleThreeBuckets.select(x, y, 0, size, 200);
+
+        assertThat(selected).hasSize(200).startsWith(0).endsWith(size - 1).contains(4_321, 7_654);
+        for (int i = 1; i < selected.length; i++) {
+            assertThat(selected[i]).isGreaterThan(selected[i - 1]);
+        }
+    }
+
+    @Test
+    void readsWindowValuesFromTheStartOfY() {
+        long[] x = new long[10_000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i * 86_400_000L;
+        }
+        double[] window = new double[4_000];
+        for (int i = 0; i < window.length; i++) {
+            window[i] = Math.cos(i / 40.0);
+        }
+        window[1_234] = 30;
+
+        int[] selected = LargestTriangleThreeBuckets.select(x, window, 6_000, 10_000, 100);
+
+        assertThat(selected).hasSize(100).startsWith(6_000).endsWith(9_999).contains(7_234);
+    }
+
+    @Test
+    void returnsWholeRangeWhenItFits() {
+        long[] x = {1, 2, 3, 4, 5, 6};
+        double[] y = {1, 3, 2, 5, 4, 6};
+
+        assertThat(LargestTriangleThreeBuckets.select(x, y, 1, 5, 10)).containsExactly(1, 2, 3, 4);
+    }
+}
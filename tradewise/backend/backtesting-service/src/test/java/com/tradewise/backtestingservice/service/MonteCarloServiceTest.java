@@ -0,0 +1,86 @@
+package com.tradewise.backtestingservice.service;
+
+import com.tradewise.backtestingservice.dto.MonteCarloMode;
+import com.tradewise.backtestingservice.dto.MonteCarloOptions;
+import com.tradewise.backtestingservice.dto.response.MonteCarloSummary;
+import com.tradewise.backtestingservice.engine.TradeLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MonteCarloServiceTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final MonteCarloService service = new MonteCarloService(pool, 100_000, Duration.ofSeconds(30));
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void seededRunIsReproducible() {
+        MonteCarloOptions options = options(MonteCarloMode.RESAMPLE, 5_000);
+
+        MonteCarloSummary first = service.simulate(trades(), 10_000, options);
+        MonteCarloSummary second = service.simulate(trades(), 10_000, options);
+
+        assertThat(first.getIterationsCompleted()).isEqualTo(5_000);
+        assertThat(first.getTotalReturnPercent()).isEqualTo(second.getTotalReturnPercent());
+        assertThat(first.getMaxDrawdownPercent()).isEqualTo(second.getMaxDrawdownPercent());
+    }
+
+    @Test
+    void seededRunDoesNotDependOnPoolSize() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            MonteCarloService singleThreaded = new MonteCarloService(single, 100_000, Duration.ofSeconds(30));
+            for (MonteCarloMode mode : MonteCarloMode.values()) {
+                MonteCarloOptions options = options(mode, 5_000);
+
+                MonteCarloSummary parallel = service.simulate(trades(), 10_000, options);
+                MonteCarloSummary sequential = singleThreaded.simulate(trades(), 10_000, options);
+
+                assertThat(sequential.getTotalReturnPercent()).isEqualTo(parallel.getTotalReturnPercent());
+                assertThat(sequential.getMaxDrawdownPercent()).isEqualTo(parallel.getMaxDrawdownPercent());
+                assertThat(sequential.getProbabilityOfLossPercent()).isEqualTo(parallel.getProbabilityOfLossPercent());
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void shuffleKeepsTotalReturn() {
+        MonteCarloSummary summary = service.simulate(trades(), 10_000, options(MonteCarloMode.SHUFFLE, 2_000));
+
+        // P/L is 100 + 250 - 150 - 50 + 300 = 450 on 10,000 cash in every permutation
+        assertThat(summary.getTotalReturnPercent().getP5()).isEqualByComparingTo("4.50");
+        assertThat(summary.getTotalReturnPercent().getP95()).isEqualByComparingTo("4.50");
+        assertThat(summary.getProbabilityOfLossPercent()).isEqualByComparingTo("0");
+        assertThat(summary.getMaxDrawdownPercent().getP95())
+                .isGreaterThanOrEqualTo(summary.getMaxDrawdownPercent().getP5());
+    }
+
+    private static MonteCarloOptions options(MonteCarloMode mode, int iterations) {
+        MonteCarloOptions options = new MonteCarloOptions();
+        options.setMode(mode);
+        options.setIterations(iterations);
+        options.setSeed(42L);
+        return options;
+    }
+
+    private static TradeLog trades() {
+        TradeLog tradeLog = new TradeLog(10);
+        double[][] prices = {{100, 110}, {110, 135}, {135, 120}, {120, 115}, {115, 145}};
+        for (int i = 0; i < prices.length; i++) {
+            tradeLog.enter(i * 10, prices[i][0]);
+            tradeLog.exit(i * 10 + 5, prices[i][1]);
+        }
+        return tradeLog;
+    }
+}
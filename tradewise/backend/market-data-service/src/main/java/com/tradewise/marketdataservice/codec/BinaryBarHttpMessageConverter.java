@@ -0,0 +1,125 @@
+package com.tradewise.marketdataservice.codec;
+
+import com.tradewise.marketdataservice.dto.BarDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Writes a bar history as {@value #MEDIA_TYPE_VALUE}, a columnar binary layout that
+ * backtesting-service decodes straight into primitive arrays. All values are big-endian:
+ *
+ * <pre>
+ * int     magic "TWB1"
+ * int     bar count n
+ * long    first end time, epoch millis
+ * varint  n - 1 end-time deltas in millis (unsigned LEB128; bars are sorted ascending)
+ * double  n opens, then n highs, n lows, n closes and n volumes
+ * </pre>
+ *
+ * Clients opt in through the {@code Accept} header; JSON stays the default.
+ */
+public class BinaryBarHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<BarDTO>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.tradewise.bars";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    static final int MAGIC = 0x54574231;
+
+    public BinaryBarHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return isBarList(type) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected void writeInternal(List<BarDTO> bars, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        outputMessage.getBody().write(encode(bars));
+    }
+
+    @Override
+    public List<BarDTO> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Binary bars are write-only", inputMessage);
+    }
+
+    @Override
+    protected List<BarDTO> readInternal(Class<? extends List<BarDTO>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Binary bars are write-only", inputMessage);
+    }
+
+    static byte[] encode(List<BarDTO> bars) {
+        int count = bars.size();
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 8 + Math.max(0, count - 1) * 10 + count * 40);
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(count);
+
+        long previous = count > 0 ? bars.get(0).getEndTime().toInstant().toEpochMilli() : 0;
+        buffer.putLong(previous);
+        for (int i = 1; i < count; i++) {
+            long endTime = bars.get(i).getEndTime().toInstant().toEpochMilli();
+            putVarLong(buffer, endTime - previous);
+            previous = endTime;
+        }
+
+        for (BarDTO bar : bars) {
+            buffer.putDouble(bar.getOpen().doubleValue());
+        }
+        for (BarDTO bar : bars) {
+            buffer.putDouble(bar.getHigh().doubleValue());
+        }
+        for (BarDTO bar : bars) {
+            buffer.putDouble(bar.getLow().doubleValue());
+        }
+        for (BarDTO bar : bars) {
+            buffer.putDouble(bar.getClose().doubleValue());
+        }
+        for (BarDTO bar : bars) {
+            buffer.putDouble(bar.getVolume().doubleValue());
+        }
+
+        byte[] payload = new byte[buffer.position()];
+        buffer.flip().get(payload);
+        return payload;
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bars must be sorted by ascending end time");
+        }
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static boolean isBarList(@Nullable Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() == List.class
+                && parameterized.getActualTypeArguments()[0] == BarDTO.class;
+    }
+}
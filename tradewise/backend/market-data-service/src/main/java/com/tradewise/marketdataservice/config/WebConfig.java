@@ -0,0 +1,18 @@
+package com.tradewise.marketdataservice.config;
+
+import com.tradewise.marketdataservice.codec.BinaryBarHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /** Appended after Jackson so JSON stays the default unless a client asks for binary bars. */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new BinaryBarHttpMessageConverter());
+    }
+}
@@ -1,6 +1,7 @@
 package com.tradewise.marketdataservice.controller;
 
 import com.tradewise.marketdataservice.dto.BarDTO;
+import com.tradewise.marketdataservice.dto.BarInterval;
 import com.tradewise.marketdataservice.service.MarketDataService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -44,9 +45,11 @@ public class MarketDataController {
             @RequestParam String symbol,
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate,
+            @RequestParam(defaultValue = "1d") String interval,
             @RequestHeader("X-User-Email") String userEmail) {
 
-        List<BarDTO> series = marketDataService.getHistoricalData(symbol.toUpperCase(), startDate, endDate);
+        List<BarDTO> series = marketDataService.getHistoricalData(
+                symbol.toUpperCase(), startDate, endDate, BarInterval.fromCode(interval));
         return ResponseEntity.ok(series);
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.tradewise.marketdataservice.dto;
+
+import java.time.Duration;
+
+/**
+ * Bar lengths served by the history endpoint, addressed by short codes such as {@code 5m} or
+ * {@code 1d}, with the matching Alpha Vantage intraday interval.
+ */
+public enum BarInterval {
+    ONE_MINUTE("1m", "1min", Duration.ofMinutes(1)),
+    FIVE_MINUTES("5m", "5min", Duration.ofMinutes(5)),
+    FIFTEEN_MINUTES("15m", "15min", Duration.ofMinutes(15)),
+    ONE_HOUR("1h", "60min", Duration.ofHours(1)),
+    ONE_DAY("1d", null, Duration.ofDays(1));
+
+    private final String code;
+    private final String alphaVantageInterval;
+    private final Duration duration;
+
+    BarInterval(String code, String alphaVantageInterval, Duration duration) {
+        this.code = code;
+        this.alphaVantageInterval = alphaVantageInterval;
+        this.duration = duration;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    /** Value of Alpha Vantage's {@code interval} parameter; null for daily bars. */
+    public String alphaVantageInterval() {
+        return alphaVantageInterval;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    public boolean isIntraday() {
+        return this != ONE_DAY;
+    }
+
+    public static BarInterval fromCode(String code) {
+        for (BarInterval interval : values()) {
+            if (interval.code.equalsIgnoreCase(code)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported bar interval: " + code + ". Use one of 1m, 5m, 15m, 1h or 1d");
+    }
+}
@@ -0,0 +1,29 @@
+package com.tradewise.marketdataservice.dto.alphavantage;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * TIME_SERIES_INTRADAY response. The series key names the interval, e.g. {@code "Time Series (5min)"},
+ * so it is picked up by prefix rather than a fixed property name.
+ */
+@Data
+public class AlphaVantageIntradayResponse {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, AlphaVantageDailyQuote>> SERIES = new TypeReference<>() {};
+
+    private Map<String, AlphaVantageDailyQuote> timeSeries;
+
+    @JsonAnySetter
+    public void setOther(String name, JsonNode value) {
+        if (name.startsWith("Time Series")) {
+            timeSeries = MAPPER.convertValue(value, SERIES);
+        }
+    }
+}
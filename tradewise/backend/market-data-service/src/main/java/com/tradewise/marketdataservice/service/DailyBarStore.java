@@ -0,0 +1,295 @@
+package com.tradewise.marketdataservice.service;
+
+import com.tradewise.marketdataservice.dto.BarDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Daily bar histories kept on disk, one append-only file of fixed-width records per symbol. Range
+ * queries binary-search a memory-mapped view of the file, so a warm history request makes no upstream
+ * call. A symbol is synced upstream only when a request reaches past the last settled session its file
+ * was checked through, and then only the bars after the last stored date are appended. All values are
+ * big-endian:
+ *
+ * <pre>
+ * int     magic "TWD1"
+ * int     record size in bytes (48)
+ * long    epoch day the file was last checked upstream through
+ * then, per bar in ascending date order:
+ * long    epoch day of the session
+ * double  open, high, low, close, volume
+ * </pre>
+ *
+ * Records are written before the header, so a crash mid-append leaves at worst a torn last record,
+ * which is dropped when the file is next opened, and an old check date, which triggers a re-sync.
+ */
+@Component
+public class DailyBarStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyBarStore.class);
+
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(16, 0);
+
+    static final int MAGIC = 0x54574431;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 48;
+    private static final int CHECKED_THROUGH_OFFSET = 8;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration closeGrace;
+    private final Clock clock;
+
+    private final Map<String, SymbolFile> files = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DailyBarStore(@Value("${tradewise.app.history.store.enabled:true}") boolean enabled,
+                         @Value("${tradewise.app.history.store.directory:data/bars}") Path directory,
+                         @Value("${tradewise.app.history.store.close-grace:30m}") Duration closeGrace) {
+        this(enabled, directory, closeGrace, Clock.systemUTC());
+    }
+
+    DailyBarStore(boolean enabled, Path directory, Duration closeGrace, Clock clock) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.closeGrace = closeGrace;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Latest weekday session whose close, plus the grace period for the provider to publish the bar,
+     * has passed. Holidays are not known here, so they cost one extra sync.
+     */
+    public LocalDate settledThrough() {
+        ZonedDateTime now = ZonedDateTime.now(clock.withZone(MARKET_ZONE)).minus(closeGrace);
+        LocalDate session = now.toLocalTime().isBefore(MARKET_CLOSE)
+                ? now.toLocalDate().minusDays(1)
+                : now.toLocalDate();
+        while (session.getDayOfWeek() == DayOfWeek.SATURDAY || session.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            session = session.minusDays(1);
+        }
+        return session;
+    }
+
+    /**
+     * Returns the stored bars of {@code symbol} between the two dates, inclusive. When the file was
+     * last checked before {@code min(endDate, settledThrough())}, {@code loader} is first called with
+     * the last stored date (null for a new symbol) and the bars it returns after that date, up to
+     * the date checked through, are appended. Concurrent syncs of one symbol share a single load. If a sync fails for a symbol that
+     * already has a file, the stored bars are served as they are.
+     */
+    public List<BarDTO> getRange(String symbol, LocalDate startDate, LocalDate endDate,
+                                 Function<LocalDate, List<BarDTO>> loader) {
+        String key = symbol.trim().toUpperCase(Locale.ROOT);
+        SymbolFile file = files.computeIfAbsent(key, k -> new SymbolFile(directory.resolve(k + ".bars")));
+
+        LocalDate settled = settledThrough();
+        LocalDate needed = endDate.isBefore(settled) ? endDate : settled;
+        Snapshot snapshot = file.snapshot();
+        if (snapshot == null || snapshot.checkedThrough() < needed.toEpochDay()) {
+            snapshot = file.sync(needed, loader);
+        }
+
+        return snapshot.read(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /** Immutable view of a symbol file: the mapped records and the date they were checked through. */
+    private record Snapshot(ByteBuffer records, int count, long checkedThrough) {
+
+        private long epochDayAt(int index) {
+            return records.getLong(index * RECORD_BYTES);
+        }
+
+        private Long lastEpochDay() {
+            return count == 0 ? null : epochDayAt(count - 1);
+        }
+
+        private List<BarDTO> read(long fromDay, long toDay) {
+            int lo = 0;
+            int hi = count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (epochDayAt(mid) < fromDay) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+
+            List<BarDTO> bars = new ArrayList<>();
+            for (int i = lo; i < count; i++) {
+                int offset = i * RECORD_BYTES;
+                long day = records.getLong(offset);
+                if (day > toDay) {
+                    break;
+                }
+                bars.add(new BarDTO(
+                        ZonedDateTime.of(LocalDate.ofEpochDay(day).atTime(MARKET_CLOSE), MARKET_ZONE),
+                        BigDecimal.valueOf(records.getDouble(offset + 8)),
+                        BigDecimal.valueOf(records.getDouble(offset + 16)),
+                        BigDecimal.valueOf(records.getDouble(offset + 24)),
+                        BigDecimal.valueOf(records.getDouble(offset + 32)),
+                        BigDecimal.valueOf(records.getDouble(offset + 40))
+                ));
+            }
+            return bars;
+        }
+    }
+
+    private static final class SymbolFile {
+
+        private final Path path;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Snapshot snapshot;
+        private volatile boolean opened;
+
+        private SymbolFile(Path path) {
+            this.path = path;
+        }
+
+        private Snapshot snapshot() {
+            if (!opened) {
+                lock.lock();
+                try {
+                    if (!opened) {
+                        snapshot = Files.exists(path) ? map() : null;
+                        opened = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return snapshot;
+        }
+
+        private Snapshot sync(LocalDate needed, Function<LocalDate, List<BarDTO>> loader) {
+            lock.lock();
+            try {
+                Snapshot current = snapshot();
+                if (current != null && current.checkedThrough() >= needed.toEpochDay()) {
+                    return current;
+                }
+
+                Long lastDay = current == null ? null : current.lastEpochDay();
+                List<BarDTO> loaded;
+                try {
+                    loaded = loader.apply(lastDay == null ? null : LocalDate.ofEpochDay(lastDay));
+                } catch (RuntimeException ex) {
+                    if (current == null) {
+                        throw ex;
+                    }
+                    logger.warn("Could not sync {}; serving bars stored through {}: {}",
+                            path.getFileName(), LocalDate.ofEpochDay(current.checkedThrough()), ex.getMessage());
+                    return current;
+                }
+
+                // A session past the one checked through may still be revised, so it waits for a later sync
+                List<BarDTO> fresh = loaded.stream()
+                        .filter(bar -> {
+                            long day = bar.getEndTime().toLocalDate().toEpochDay();
+                            return (lastDay == null || day > lastDay) && day <= needed.toEpochDay();
+                        })
+                        .sorted(Comparator.comparing(BarDTO::getEndTime))
+                        .toList();
+                append(fresh, needed.toEpochDay());
+                logger.info("Appended {} bars to {}, checked through {}", fresh.size(), path.getFileName(), needed);
+
+                snapshot = map();
+                return snapshot;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not update bar store file " + path, ex);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void append(List<BarDTO> bars, long checkedThrough) throws IOException {
+            Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                long end = channel.size();
+                if (end < HEADER_BYTES) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                            .putInt(MAGIC)
+                            .putInt(RECORD_BYTES)
+                            .putLong(Long.MIN_VALUE)
+                            .flip();
+                    channel.write(header, 0);
+                    end = HEADER_BYTES;
+                }
+                end = HEADER_BYTES + (end - HEADER_BYTES) / RECORD_BYTES * RECORD_BYTES;
+
+                ByteBuffer records = ByteBuffer.allocate(bars.size() * RECORD_BYTES);
+                for (BarDTO bar : bars) {
+                    records.putLong(bar.getEndTime().toLocalDate().toEpochDay())
+                            .putDouble(bar.getOpen().doubleValue())
+                            .putDouble(bar.getHigh().doubleValue())
+                            .putDouble(bar.getLow().doubleValue())
+                            .putDouble(bar.getClose().doubleValue())
+                            .putDouble(bar.getVolume().doubleValue());
+                }
+                records.flip();
+                while (records.hasRemaining()) {
+                    end += channel.write(records, end);
+                }
+                channel.truncate(end);
+                channel.force(false);
+
+                channel.write(ByteBuffer.allocate(8).putLong(checkedThrough).flip(), CHECKED_THROUGH_OFFSET);
+                channel.force(false);
+            }
+        }
+
+        private Snapshot map() {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_BYTES) {
+                    return null;
+                }
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != RECORD_BYTES) {
+                    throw new IllegalStateException("Not a daily bar store file: " + path);
+                }
+                long checkedThrough = mapped.getLong(CHECKED_THROUGH_OFFSET);
+                int count = (int) ((size - HEADER_BYTES) / RECORD_BYTES);
+                ByteBuffer records = mapped.slice(HEADER_BYTES, count * RECORD_BYTES);
+                return new Snapshot(records, count, checkedThrough);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not read bar store file " + path, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tradewise.marketdataservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known price per symbol. Live trades from {@link MarketDataBroker} count as fresh for
+ * {@code live-max-age}; quotes fetched from Alpha Vantage on a miss count as fresh for the longer
+ * {@code quote-max-age}, so symbols without a live feed are not fetched again on every request.
+ * Entries are immutable and replaced whole, so readers never take a lock.
+ */
+@Component
+public class LatestPriceCache {
+
+    private final Duration liveMaxAge;
+    private final Duration quoteMaxAge;
+    private final Clock clock;
+
+    private final Map<String, PricePoint> prices = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LatestPriceCache(@Value("${tradewise.app.price-cache.live-max-age:60s}") Duration liveMaxAge,
+                            @Value("${tradewise.app.price-cache.quote-max-age:5m}") Duration quoteMaxAge) {
+        this(liveMaxAge, quoteMaxAge, Clock.systemUTC());
+    }
+
+    LatestPriceCache(Duration liveMaxAge, Duration quoteMaxAge, Clock clock) {
+        this.liveMaxAge = liveMaxAge;
+        this.quoteMaxAge = quoteMaxAge;
+        this.clock = clock;
+    }
+
+    /** Records a trade price from the live feed. */
+    public void recordTrade(String symbol, BigDecimal price) {
+        prices.put(key(symbol), new PricePoint(price, clock.millis(), true));
+    }
+
+    /**
+     * Records a price fetched from Alpha Vantage, unless a live trade has arrived for the symbol in
+     * the meantime and is still fresh.
+     */
+    public void recordQuote(String symbol, BigDecimal price) {
+        long now = clock.millis();
+        prices.compute(key(symbol), (key, current) -> current != null && current.live() && isFresh(current, now)
+                ? current
+                : new PricePoint(price, now, false));
+    }
+
+    /** The symbol's price if one was recorded within its staleness threshold. */
+    public Optional<BigDecimal> getFresh(String symbol) {
+        PricePoint point = prices.get(key(symbol));
+        return point != null && isFresh(point, clock.millis()) ? Optional.of(point.price()) : Optional.empty();
+    }
+
+    private boolean isFresh(PricePoint point, long now) {
+        Duration maxAge = point.live() ? liveMaxAge : quoteMaxAge;
+        return now - point.recordedAtMillis() <= maxAge.toMillis();
+    }
+
+    private static String key(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record PricePoint(BigDecimal price, long recordedAtMillis, boolean live) {
+    }
+}
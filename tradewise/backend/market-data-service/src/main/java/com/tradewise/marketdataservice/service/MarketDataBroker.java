@@ -39,14 +39,17 @@ public class MarketDataBroker {
 
     private final ObjectMapper objectMapper;
     private final KafkaTemplate<String, StockPriceUpdate> kafkaTemplate;
+    private final LatestPriceCache latestPriceCache;
     private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor();
 
     private volatile WebSocketClient webSocketClient;
 
     public MarketDataBroker(ObjectMapper objectMapper,
-                            KafkaTemplate<String, StockPriceUpdate> kafkaTemplate) {
+                            KafkaTemplate<String, StockPriceUpdate> kafkaTemplate,
+                            LatestPriceCache latestPriceCache) {
         this.objectMapper = objectMapper;
         this.kafkaTemplate = kafkaTemplate;
+        this.latestPriceCache = latestPriceCache;
     }
 
     @PostConstruct
@@ -116,6 +119,7 @@ public class MarketDataBroker {
     }
 
     private void broadcastPrice(String symbol, BigDecimal price) {
+        latestPriceCache.recordTrade(symbol, price);
         StockPriceUpdate update = new StockPriceUpdate(symbol, price);
         kafkaTemplate.send("price-updates", symbol, update);
         logger.debug("Published price update to Kafka: {} -> {}", symbol, price);
@@ -1,8 +1,10 @@
 package com.tradewise.marketdataservice.service;
 
 import com.tradewise.marketdataservice.dto.BarDTO;
+import com.tradewise.marketdataservice.dto.BarInterval;
 import com.tradewise.marketdataservice.dto.alphavantage.AlphaVantageDailyQuote;
 import com.tradewise.marketdataservice.dto.alphavantage.AlphaVantageDailyResponse;
+import com.tradewise.marketdataservice.dto.alphavantage.AlphaVantageIntradayResponse;
 import com.tradewise.marketdataservice.dto.alphavantage.AlphaVantageResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,8 +14,12 @@ import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +30,15 @@ public class MarketDataService {
 
     private static final Logger logger = LoggerFactory.getLogger(MarketDataService.class);
 
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+    private static final DateTimeFormatter INTRADAY_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** Calendar days safely inside the compact daily series, which holds the latest 100 sessions. */
+    private static final int COMPACT_SERIES_DAYS = 120;
+
     private final RestTemplate restTemplate;
+    private final DailyBarStore dailyBarStore;
+    private final LatestPriceCache latestPriceCache;
 
     @Value("${tradewise.app.alphavantage.baseurl}")
     private String baseUrl;
@@ -32,12 +46,28 @@ public class MarketDataService {
     @Value("${tradewise.app.alphavantage.apikey}")
     private String apiKey;
 
-    public MarketDataService(RestTemplate restTemplate) {
+    /** Calendar months one intraday request may span; longer histories are fetched in several requests. */
+    @Value("${tradewise.app.history.max-intraday-months:3}")
+    private int maxIntradayMonths;
+
+    public MarketDataService(RestTemplate restTemplate, DailyBarStore dailyBarStore,
+                             LatestPriceCache latestPriceCache) {
         this.restTemplate = restTemplate;
+        this.dailyBarStore = dailyBarStore;
+        this.latestPriceCache = latestPriceCache;
     }
 
+    /**
+     * Latest price of {@code symbol}, served from {@link LatestPriceCache} while it is fresh. Only cold
+     * or stale symbols go to Alpha Vantage's GLOBAL_QUOTE, and the quote is cached in turn.
+     */
     public Optional<BigDecimal> getLatestPrice(String symbol) {
         String normalizedSymbol = symbol.toUpperCase();
+        Optional<BigDecimal> cached = latestPriceCache.getFresh(normalizedSymbol);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
         String url = String.format("%s?function=GLOBAL_QUOTE&symbol=%s&apikey=%s",
                 baseUrl, normalizedSymbol, apiKey);
 
@@ -49,6 +79,7 @@ public class MarketDataService {
                 return Optional.empty();
             }
 
+            latestPriceCache.recordQuote(normalizedSymbol, response.getGlobalQuote().getPrice());
             return Optional.of(response.getGlobalQuote().getPrice());
         } catch (Exception e) {
             logger.error("Error fetching latest price for {}: {}", normalizedSymbol, e.getMessage());
@@ -57,43 +88,37 @@ public class MarketDataService {
     }
 
     public List<BarDTO> getHistoricalData(String symbol, LocalDate startDate, LocalDate endDate) {
+        return getHistoricalData(symbol, startDate, endDate, BarInterval.ONE_DAY);
+    }
+
+    /**
+     * Bars of {@code interval} whose end falls between the two dates, sorted by end time. Daily bars
+     * are served from {@link DailyBarStore}, which only goes upstream for sessions it has not seen yet.
+     * Intraday ranges are limited to a few calendar months so a single response stays bounded;
+     * callers walk longer histories month by month.
+     */
+    public List<BarDTO> getHistoricalData(String symbol, LocalDate startDate, LocalDate endDate, BarInterval interval) {
         if (startDate.isAfter(endDate)) {
             throw new IllegalArgumentException("startDate cannot be after endDate");
         }
+        if (interval.isIntraday()) {
+            return getIntradayData(symbol, startDate, endDate, interval);
+        }
 
         String normalizedSymbol = symbol.toUpperCase();
-        String url = String.format("%s?function=TIME_SERIES_DAILY&symbol=%s&outputsize=full&apikey=%s",
-                baseUrl, normalizedSymbol, apiKey);
-
-        logger.info("Fetching historical data for {}", normalizedSymbol);
 
         try {
-            AlphaVantageDailyResponse response = restTemplate.getForObject(url, AlphaVantageDailyResponse.class);
-
-            if (response == null || response.getTimeSeries() == null || response.getTimeSeries().isEmpty()) {
-                logger.error("No time series data found for {}", normalizedSymbol);
-                throw new RuntimeException("No time series data found for " + normalizedSymbol);
+            List<BarDTO> filteredBars;
+            if (dailyBarStore.isEnabled()) {
+                filteredBars = dailyBarStore.getRange(normalizedSymbol, startDate, endDate,
+                        lastStored -> fetchDailySeries(normalizedSymbol, lastStored));
+            } else {
+                filteredBars = fetchDailySeries(normalizedSymbol, null).stream()
+                        .filter(bar -> !bar.getEndTime().toLocalDate().isBefore(startDate)
+                                && !bar.getEndTime().toLocalDate().isAfter(endDate))
+                        .collect(Collectors.toList());
             }
 
-            List<BarDTO> filteredBars = response.getTimeSeries().entrySet().stream()
-                    .map(entry -> {
-                        LocalDate date = LocalDate.parse(entry.getKey());
-                        AlphaVantageDailyQuote quote = entry.getValue();
-
-                        return new BarDTO(
-                                ZonedDateTime.of(date.atTime(16, 0), ZoneId.of("America/New_York")),
-                                parseDecimal(quote.getOpen()),
-                                parseDecimal(quote.getHigh()),
-                                parseDecimal(quote.getLow()),
-                                parseDecimal(quote.getClose()),
-                                parseDecimal(quote.getVolume())
-                        );
-                    })
-                    .sorted(Comparator.comparing(BarDTO::getEndTime))
-                    .filter(bar -> !bar.getEndTime().toLocalDate().isBefore(startDate)
-                            && !bar.getEndTime().toLocalDate().isAfter(endDate))
-                    .collect(Collectors.toList());
-
             if (filteredBars.isEmpty()) {
                 logger.warn("No data found for {} in range {} to {}", normalizedSymbol, startDate, endDate);
                 throw new RuntimeException("No data found for the specified date range.");
@@ -110,6 +135,100 @@ public class MarketDataService {
         }
     }
 
+    /**
+     * Downloads TIME_SERIES_DAILY sorted by end time. When the caller already holds bars through
+     * {@code lastStored} and that is recent enough, only the compact series (the latest 100 sessions)
+     * is requested instead of the full history.
+     */
+    private List<BarDTO> fetchDailySeries(String normalizedSymbol, LocalDate lastStored) {
+        boolean compact = lastStored != null
+                && lastStored.isAfter(dailyBarStore.settledThrough().minusDays(COMPACT_SERIES_DAYS));
+        String url = String.format("%s?function=TIME_SERIES_DAILY&symbol=%s&outputsize=%s&apikey=%s",
+                baseUrl, normalizedSymbol, compact ? "compact" : "full", apiKey);
+
+        logger.info("Fetching {} historical data for {}", compact ? "recent" : "full", normalizedSymbol);
+
+        AlphaVantageDailyResponse response = restTemplate.getForObject(url, AlphaVantageDailyResponse.class);
+
+        if (response == null || response.getTimeSeries() == null || response.getTimeSeries().isEmpty()) {
+            logger.error("No time series data found for {}", normalizedSymbol);
+            throw new RuntimeException("No time series data found for " + normalizedSymbol);
+        }
+
+        return response.getTimeSeries().entrySet().stream()
+                .map(entry -> {
+                    LocalDate date = LocalDate.parse(entry.getKey());
+                    AlphaVantageDailyQuote quote = entry.getValue();
+
+                    return new BarDTO(
+                            ZonedDateTime.of(date.atTime(16, 0), MARKET_ZONE),
+                            parseDecimal(quote.getOpen()),
+                            parseDecimal(quote.getHigh()),
+                            parseDecimal(quote.getLow()),
+                            parseDecimal(quote.getClose()),
+                            parseDecimal(quote.getVolume())
+                    );
+                })
+                .sorted(Comparator.comparing(BarDTO::getEndTime))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetches TIME_SERIES_INTRADAY one month at a time over the regular session. Alpha Vantage stamps
+     * intraday bars with their start time, so each bar ends one interval later. Months without trading
+     * in the range give an empty list rather than an error.
+     */
+    private List<BarDTO> getIntradayData(String symbol, LocalDate startDate, LocalDate endDate, BarInterval interval) {
+        YearMonth firstMonth = YearMonth.from(startDate);
+        YearMonth lastMonth = YearMonth.from(endDate);
+        if (!firstMonth.plusMonths(maxIntradayMonths).isAfter(lastMonth)) {
+            throw new IllegalArgumentException("Intraday requests may span at most " + maxIntradayMonths
+                    + " calendar months; request longer histories month by month");
+        }
+
+        String normalizedSymbol = symbol.toUpperCase();
+        logger.info("Fetching {} intraday data for {} from {} to {}", interval.code(), normalizedSymbol, startDate, endDate);
+
+        List<BarDTO> bars = new ArrayList<>();
+        try {
+            for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                String url = String.format(
+                        "%s?function=TIME_SERIES_INTRADAY&symbol=%s&interval=%s&month=%s&outputsize=full&extended_hours=false&apikey=%s",
+                        baseUrl, normalizedSymbol, interval.alphaVantageInterval(), month, apiKey);
+
+                AlphaVantageIntradayResponse response = restTemplate.getForObject(url, AlphaVantageIntradayResponse.class);
+                if (response == null || response.getTimeSeries() == null) {
+                    logger.error("No intraday time series found for {} in {}", normalizedSymbol, month);
+                    throw new RuntimeException("No time series data found for " + normalizedSymbol);
+                }
+
+                response.getTimeSeries().forEach((timestamp, quote) -> {
+                    ZonedDateTime endTime = LocalDateTime.parse(timestamp, INTRADAY_TIMESTAMP)
+                            .atZone(MARKET_ZONE)
+                            .plus(interval.duration());
+                    LocalDate date = endTime.toLocalDate();
+                    if (!date.isBefore(startDate) && !date.isAfter(endDate)) {
+                        bars.add(new BarDTO(
+                                endTime,
+                                parseDecimal(quote.getOpen()),
+                                parseDecimal(quote.getHigh()),
+                                parseDecimal(quote.getLow()),
+                                parseDecimal(quote.getClose()),
+                                parseDecimal(quote.getVolume())
+                        ));
+                    }
+                });
+            }
+        } catch (Exception e) {
+            logger.error("Error fetching intraday data for {}: {}", normalizedSymbol, e.getMessage());
+            throw new RuntimeException("Could not fetch intraday data for " + normalizedSymbol, e);
+        }
+
+        bars.sort(Comparator.comparing(BarDTO::getEndTime));
+        logger.info("Returning {} {} bars for {}", bars.size(), interval.code(), normalizedSymbol);
+        return bars;
+    }
+
     private BigDecimal parseDecimal(String value) {
         if (value == null || value.isBlank()) {
             return BigDecimal.ZERO;
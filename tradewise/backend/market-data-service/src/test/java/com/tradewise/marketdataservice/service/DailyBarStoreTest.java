@@ -0,0 +1,121 @@
+package com.tradewise.marketdataservice.service;
+
+import com.tradewise.marketdataservice.dto.BarDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DailyBarStoreTest {
+
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+
+    // Thursday 2024-03-07 after the close: Wednesday is the last settled session until 16:30.
+    private static final Clock THURSDAY = Clock.fixed(Instant.parse("2024-03-07T20:45:00Z"), ZoneOffset.UTC);
+    private static final Clock SATURDAY = Clock.fixed(Instant.parse("2024-03-09T15:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    private final List<LocalDate> loads = new ArrayList<>();
+
+    @Test
+    void warmRangesAreServedFromDiskAndOnlyNewSessionsAreAppended() {
+        DailyBarStore store = store(THURSDAY);
+        assertThat(store.settledThrough()).isEqualTo(LocalDate.of(2024, 3, 6));
+
+        List<BarDTO> first = store.getRange("ibm", LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 6),
+                lastStored -> load(lastStored, "2024-03-04", "2024-03-05", "2024-03-06"));
+        List<BarDTO> warm = store(THURSDAY).getRange("IBM", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                lastStored -> load(lastStored));
+
+        assertThat(dates(first)).containsExactly("2024-03-05", "2024-03-06");
+        assertThat(dates(warm)).containsExactly("2024-03-04", "2024-03-05", "2024-03-06");
+        assertThat(warm.get(2).getClose()).isEqualByComparingTo("106.25");
+        assertThat(loads).containsExactly((LocalDate) null);
+
+        DailyBarStore weekend = store(SATURDAY);
+        assertThat(weekend.settledThrough()).isEqualTo(LocalDate.of(2024, 3, 8));
+        List<BarDTO> synced = weekend.getRange("IBM", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                lastStored -> load(lastStored, "2024-03-05", "2024-03-06", "2024-03-07", "2024-03-08"));
+        weekend.getRange("IBM", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), lastStored -> load(lastStored));
+
+        assertThat(dates(synced)).containsExactly("2024-03-04", "2024-03-05", "2024-03-06", "2024-03-07", "2024-03-08");
+        assertThat(loads).containsExactly(null, LocalDate.of(2024, 3, 6));
+    }
+
+    @Test
+    void unsettledSessionIsNotStoredUntilItSettles() {
+        List<BarDTO> thursday = store(THURSDAY).getRange("IBM", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                lastStored -> load(lastStored, "2024-03-05", "2024-03-06", "2024-03-07"));
+        List<BarDTO> warm = store(THURSDAY).getRange("IBM", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                lastStored -> load(lastStored));
+
+        assertThat(dates(thursday)).containsExactly("2024-03-05", "2024-03-06");
+        assertThat(dates(warm)).containsExactly("2024-03-05", "2024-03-06");
+
+        List<BarDTO> saturday = store(SATURDAY).getRange("IBM", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                lastStored -> {
+                    List<BarDTO> bars = load(lastStored, "2024-03-07", "2024-03-08");
+                    bars.get(0).setClose(new BigDecimal("107.50"));
+                    return bars;
+                });
+
+        assertThat(dates(saturday)).containsExactly("2024-03-05", "2024-03-06", "2024-03-07", "2024-03-08");
+        assertThat(saturday.get(2).getClose()).isEqualByComparingTo("107.50");
+        assertThat(loads).containsExactly(null, LocalDate.of(2024, 3, 6));
+    }
+
+    @Test
+    void tornRecordIsDroppedAndFailedSyncServesStoredBars() throws IOException {
+        store(THURSDAY).getRange("IBM", LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 6),
+                lastStored -> load(lastStored, "2024-03-04", "2024-03-05", "2024-03-06"));
+        Files.write(directory.resolve("IBM.bars"), new byte[20], StandardOpenOption.APPEND);
+
+        List<BarDTO> stale = store(SATURDAY).getRange("IBM", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                lastStored -> {
+                    throw new RuntimeException("rate limited");
+                });
+
+        assertThat(dates(stale)).containsExactly("2024-03-04", "2024-03-05", "2024-03-06");
+        assertThatThrownBy(() -> store(SATURDAY).getRange("MSFT", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                lastStored -> {
+                    throw new RuntimeException("rate limited");
+                })).hasMessage("rate limited");
+    }
+
+    private DailyBarStore store(Clock clock) {
+        return new DailyBarStore(true, directory, Duration.ofMinutes(30), clock);
+    }
+
+    private List<BarDTO> load(LocalDate lastStored, String... dates) {
+        loads.add(lastStored);
+        List<BarDTO> bars = new ArrayList<>();
+        for (String date : dates) {
+            BigDecimal close = BigDecimal.valueOf(100 + LocalDate.parse(date).getDayOfMonth()).add(new BigDecimal("0.25"));
+            bars.add(new BarDTO(ZonedDateTime.of(LocalDate.parse(date).atTime(16, 0), MARKET_ZONE),
+                    close, close, close, close, BigDecimal.valueOf(1_000)));
+        }
+        return bars;
+    }
+
+    private static List<String> dates(List<BarDTO> bars) {
+        return bars.stream().map(bar -> bar.getEndTime().toLocalDate().toString()).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.tradewise.marketdataservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatestPriceCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-07T15:00:00Z"));
+    private final LatestPriceCache cache = new LatestPriceCache(Duration.ofSeconds(60), Duration.ofMinutes(5), clock);
+
+    @Test
+    void liveTradesExpireBeforeFetchedQuotes() {
+        cache.recordTrade("AAPL", new BigDecimal("170.10"));
+        cache.recordQuote("ibm", new BigDecimal("190.00"));
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.getFresh("aapl")).contains(new BigDecimal("170.10"));
+        assertThat(cache.getFresh("IBM")).contains(new BigDecimal("190.00"));
+
+        clock.advance(Duration.ofSeconds(45));
+        assertThat(cache.getFresh("AAPL")).isEmpty();
+        assertThat(cache.getFresh("IBM")).contains(new BigDecimal("190.00"));
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(cache.getFresh("IBM")).isEmpty();
+        assertThat(cache.getFresh("MSFT")).isEmpty();
+    }
+
+    @Test
+    void fetchedQuoteDoesNotReplaceFreshTrade() {
+        cache.recordTrade("AAPL", new BigDecimal("170.10"));
+        cache.recordQuote("AAPL", new BigDecimal("168.00"));
+        assertThat(cache.getFresh("AAPL")).contains(new BigDecimal("170.10"));
+
+        clock.advance(Duration.ofMinutes(2));
+        cache.recordQuote("AAPL", new BigDecimal("168.00"));
+        assertThat(cache.getFresh("AAPL")).contains(new BigDecimal("168.00"));
+
+        cache.recordTrade("AAPL", new BigDecimal("171.00"));
+        assertThat(cache.getFresh("AAPL")).contains(new BigDecimal("171.00"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tradewise.indicators;
+
+/**
+ * Exponential moving average with multiplier {@code 2 / (period + 1)}, seeded with the first value
+ * as ta4j's EMAIndicator is.
+ */
+public final class EmaIndicator implements RollingIndicator {
+
+    private final int period;
+    private final double multiplier;
+    private double value = Double.NaN;
+    private long count;
+
+    public EmaIndicator(int period) {
+        this.period = Indicators.requirePositivePeriod(period);
+        this.multiplier = 2.0 / (period + 1);
+    }
+
+    @Override
+    public double update(double value) {
+        this.value = count == 0 ? value : (value - this.value) * multiplier + this.value;
+        count++;
+        return this.value;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public boolean isWarmedUp() {
+        return count >= period;
+    }
+
+    @Override
+    public void reset() {
+        value = Double.NaN;
+        count = 0;
+    }
+
+    public int period() {
+        return period;
+    }
+}
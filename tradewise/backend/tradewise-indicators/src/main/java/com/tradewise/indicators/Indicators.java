@@ -0,0 +1,68 @@
+package com.tradewise.indicators;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates indicators from the names and parameters stored on strategy conditions. Validation
+ * mirrors strategy-service: PRICE takes no parameters, every other indicator needs a positive
+ * integer {@code period}.
+ */
+public final class Indicators {
+
+    public static final Set<String> SUPPORTED = Set.of("PRICE", "SMA", "EMA", "RSI");
+
+    private Indicators() {
+    }
+
+    public static RollingIndicator create(String name, Map<String, String> params) {
+        String normalized = normalize(name);
+        if ("PRICE".equals(normalized)) {
+            return new PriceIndicator();
+        }
+
+        String rawPeriod = params == null ? null : params.get("period");
+        if (rawPeriod == null || rawPeriod.isBlank()) {
+            throw new IllegalArgumentException("period is required for indicator " + normalized);
+        }
+
+        int period;
+        try {
+            period = Integer.parseInt(rawPeriod.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("period must be a valid integer for indicator " + normalized);
+        }
+
+        return create(normalized, period);
+    }
+
+    /** {@code period} is ignored for PRICE. */
+    public static RollingIndicator create(String name, int period) {
+        return switch (normalize(name)) {
+            case "PRICE" -> new PriceIndicator();
+            case "SMA" -> new SmaIndicator(period);
+            case "EMA" -> new EmaIndicator(period);
+            case "RSI" -> new RsiIndicator(period);
+            default -> throw new IllegalArgumentException("Unsupported indicator: " + name);
+        };
+    }
+
+    static int requirePositivePeriod(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be > 0");
+        }
+        return period;
+    }
+
+    private static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Indicator name is required");
+        }
+        String normalized = name.trim().toUpperCase(Locale.ROOT);
+        if (!SUPPORTED.contains(normalized)) {
+            throw new IllegalArgumentException("Unsupported indicator: " + normalized);
+        }
+        return normalized;
+    }
+}
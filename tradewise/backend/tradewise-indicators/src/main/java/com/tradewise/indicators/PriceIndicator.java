@@ -0,0 +1,36 @@
+package com.tradewise.indicators;
+
+/** The fed value itself. */
+public final class PriceIndicator implements RollingIndicator {
+
+    private double value = Double.NaN;
+    private long count;
+
+    @Override
+    public double update(double value) {
+        this.value = value;
+        count++;
+        return value;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public boolean isWarmedUp() {
+        return count > 0;
+    }
+
+    @Override
+    public void reset() {
+        value = Double.NaN;
+        count = 0;
+    }
+}
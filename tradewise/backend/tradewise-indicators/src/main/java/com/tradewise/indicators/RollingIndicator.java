@@ -0,0 +1,27 @@
+package com.tradewise.indicators;
+
+/**
+ * An indicator fed one value at a time. Each update costs O(1) and an instance holds a fixed amount
+ * of memory regardless of how many values it has seen, so it can run over a live price stream as
+ * well as over a stored history.
+ *
+ * <p>Values follow ta4j's conventions, including the output produced during warm-up, so a series fed
+ * through an instance matches the ta4j indicator of the same name. Instances are not thread-safe.
+ */
+public interface RollingIndicator {
+
+    /** Feeds the next value and returns the indicator value at that point. */
+    double update(double value);
+
+    /** The value after the most recent update, or {@code NaN} before the first one. */
+    double value();
+
+    /** Number of values fed so far. */
+    long count();
+
+    /** Whether enough values have been fed to fill the indicator's look-back period. */
+    boolean isWarmedUp();
+
+    /** Forgets all fed values. */
+    void reset();
+}
@@ -0,0 +1,72 @@
+package com.tradewise.indicators;
+
+/**
+ * Wilder's relative strength index. Gains and losses are smoothed with multiplier
+ * {@code 1 / period} starting from zero, and the first value yields 0, matching ta4j's RSIIndicator.
+ */
+public final class RsiIndicator implements RollingIndicator {
+
+    private final int period;
+    private final double multiplier;
+    private double previous;
+    private double averageGain;
+    private double averageLoss;
+    private double value = Double.NaN;
+    private long count;
+
+    public RsiIndicator(int period) {
+        this.period = Indicators.requirePositivePeriod(period);
+        this.multiplier = 1.0 / period;
+    }
+
+    @Override
+    public double update(double value) {
+        if (count == 0) {
+            this.value = 0;
+        } else {
+            double change = value - previous;
+            double gain = change > 0 ? change : 0;
+            double loss = change < 0 ? -change : 0;
+            averageGain += (gain - averageGain) * multiplier;
+            averageLoss += (loss - averageLoss) * multiplier;
+
+            if (averageLoss == 0) {
+                this.value = averageGain == 0 ? 0 : 100;
+            } else {
+                this.value = 100 - 100 / (1 + averageGain / averageLoss);
+            }
+        }
+
+        previous = value;
+        count++;
+        return this.value;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public boolean isWarmedUp() {
+        return count > period;
+    }
+
+    @Override
+    public void reset() {
+        previous = 0;
+        averageGain = 0;
+        averageLoss = 0;
+        value = Double.NaN;
+        count = 0;
+    }
+
+    public int period() {
+        return period;
+    }
+}
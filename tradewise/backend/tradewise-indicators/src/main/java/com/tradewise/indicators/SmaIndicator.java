@@ -0,0 +1,69 @@
+package com.tradewise.indicators;
+
+/**
+ * Simple moving average over a ring buffer of the last {@code period} values. Like ta4j's
+ * SMAIndicator it averages over the values available while fewer than {@code period} have been fed.
+ * The running sum is recomputed from the buffer once every {@code period} values, so rounding error
+ * cannot build up over long series and the average stays within one window's error of ta4j's.
+ */
+public final class SmaIndicator implements RollingIndicator {
+
+    private final int period;
+    private final double[] window;
+    private double sum;
+    private double value = Double.NaN;
+    private long count;
+
+    public SmaIndicator(int period) {
+        this.period = Indicators.requirePositivePeriod(period);
+        this.window = new double[period];
+    }
+
+    @Override
+    public double update(double value) {
+        int slot = (int) (count % period);
+        sum += value;
+        if (count >= period) {
+            sum -= window[slot];
+        }
+        window[slot] = value;
+        count++;
+        if (slot == period - 1) {
+            // The buffer now holds the last period values oldest first
+            double exact = 0;
+            for (double v : window) {
+                exact += v;
+            }
+            sum = exact;
+        }
+
+        this.value = sum / Math.min(period, count);
+        return this.value;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public boolean isWarmedUp() {
+        return count >= period;
+    }
+
+    @Override
+    public void reset() {
+        sum = 0;
+        value = Double.NaN;
+        count = 0;
+    }
+
+    public int period() {
+        return period;
+    }
+}
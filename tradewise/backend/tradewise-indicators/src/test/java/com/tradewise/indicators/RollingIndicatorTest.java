@@ -0,0 +1,131 @@
+package com.tradewise.indicators;
+
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class RollingIndicatorTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final double[] closes = randomWalk(3_000, 7);
+    private final BarSeries series = toSeries(closes);
+    private final ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+
+    @Test
+    void smaMatchesTa4j() {
+        for (int period : new int[]{1, 5, 20, 200}) {
+            assertMatches(new SmaIndicator(period), new SMAIndicator(closePrice, period));
+        }
+    }
+
+    @Test
+    void smaDoesNotDriftOverLongSeries() {
+        // Prices climb to the millions and fall back to single digits, so any rounding error left in a
+        // running sum from the peak dwarfs the late averages
+        double[] boomAndBust = new double[150_000];
+        Random random = new Random(11);
+        for (int i = 0; i < boomAndBust.length; i++) {
+            double trend = Math.exp(14 * Math.sin(Math.PI * i / boomAndBust.length));
+            boomAndBust[i] = Math.round(trend * (1 + random.nextGaussian() * 0.01) * 100) / 100.0 + 1;
+        }
+        ClosePriceIndicator longClose = new ClosePriceIndicator(toSeries(boomAndBust));
+
+        for (int period : new int[]{20, 200}) {
+            assertMatches(boomAndBust, new SmaIndicator(period), new SMAIndicator(longClose, period));
+        }
+    }
+
+    @Test
+    void emaMatchesTa4j() {
+        for (int period : new int[]{1, 12, 26, 100}) {
+            assertMatches(new EmaIndicator(period), new EMAIndicator(closePrice, period));
+        }
+    }
+
+    @Test
+    void rsiMatchesTa4j() {
+        for (int period : new int[]{2, 14, 50}) {
+            assertMatches(new RsiIndicator(period), new RSIIndicator(closePrice, period));
+        }
+    }
+
+    @Test
+    void resetStartsOver() {
+        SmaIndicator sma = new SmaIndicator(3);
+        sma.update(10);
+        sma.update(20);
+        sma.reset();
+
+        assertThat(sma.count()).isZero();
+        assertThat(sma.update(4)).isEqualTo(4);
+        assertThat(sma.isWarmedUp()).isFalse();
+    }
+
+    @Test
+    void validatesParametersLikeStrategyService() {
+        assertThat(Indicators.create("price", Map.of())).isInstanceOf(PriceIndicator.class);
+        assertThat(Indicators.create("sma", Map.of("period", "20"))).isInstanceOf(SmaIndicator.class);
+
+        assertThatThrownBy(() -> Indicators.create("EMA", Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("period is required");
+        assertThatThrownBy(() -> Indicators.create("RSI", Map.of("period", "abc")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("valid integer");
+        assertThatThrownBy(() -> Indicators.create("SMA", Map.of("period", "0")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must be > 0");
+        assertThatThrownBy(() -> Indicators.create("MACD", Map.of("period", "9")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported indicator");
+    }
+
+    private void assertMatches(RollingIndicator rolling, Indicator<Num> reference) {
+        assertMatches(closes, rolling, reference);
+    }
+
+    private static void assertMatches(double[] closes, RollingIndicator rolling, Indicator<Num> reference) {
+        for (int i = 0; i < closes.length; i++) {
+            double actual = rolling.update(closes[i]);
+            double expected = reference.getValue(i).doubleValue();
+            assertThat(actual).as("index %d", i).isCloseTo(expected, within(TOLERANCE * Math.max(1, Math.abs(expected))));
+        }
+    }
+
+    private static double[] randomWalk(int size, long seed) {
+        Random random = new Random(seed);
+        double[] closes = new double[size];
+        double close = 100;
+        for (int i = 0; i < size; i++) {
+            close = Math.round(Math.max(1, close * (1 + random.nextGaussian() * 0.02)) * 100) / 100.0;
+            closes[i] = close;
+        }
+        return closes;
+    }
+
+    private static BarSeries toSeries(double[] closes) {
+        BarSeries series = new BaseBarSeries("TEST");
+        ZonedDateTime time = ZonedDateTime.of(2000, 1, 3, 16, 0, 0, 0, ZoneId.of("America/New_York"));
+        for (int i = 0; i < closes.length; i++) {
+            series.addBar(Duration.ofDays(1), time.plusDays(i), closes[i], closes[i], closes[i], closes[i], 0);
+        }
+        return series;
+    }
+}
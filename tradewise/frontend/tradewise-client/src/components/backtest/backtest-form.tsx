@@ -17,10 +17,14 @@ const schema = z.object({
   startDate: z.string().min(1),
   endDate: z.string().min(1),
   initialCash: z.coerce.number().positive(),
+  interval: z.enum(["1m", "5m", "15m", "1h", "1d"]),
 });
 
 type FormValues = z.infer<typeof schema>;
 
+// Enough points for a full-width chart; the server downsamples longer series to this size.
+const CURVE_POINTS = 400;
+
 export function BacktestForm() {
   const { data: strategies, isLoading, isError } = useStrategies();
   const mutation = useRunBacktest();
@@ -35,6 +39,7 @@ export function BacktestForm() {
       startDate: "2024-01-01",
       endDate: "2024-06-30",
       initialCash: 10000,
+      interval: "1d",
     },
   });
 
@@ -43,7 +48,7 @@ export function BacktestForm() {
 
   return (
     <div className="grid gap-6 xl:grid-cols-[420px_1fr]">
-      <form className="panel p-5" onSubmit={handleSubmit((values) => mutation.mutate(values))}>
+      <form className="panel p-5" onSubmit={handleSubmit((values) => mutation.mutate({ ...values, curvePoints: CURVE_POINTS }))}>
         <div className="mb-6">
           <p className="text-xl font-semibold text-slate-100">Run backtest</p>
           <p className="text-sm text-muted">Test a saved strategy against historical market data.</p>
@@ -73,9 +78,21 @@ export function BacktestForm() {
               <input className="field-input" type="date" {...register("endDate")} />
             </div>
           </div>
-          <div>
-            <label className="field-label">Initial cash</label>
-            <input className="field-input" type="number" step="any" {...register("initialCash")} />
+          <div className="grid gap-4 md:grid-cols-2">
+            <div>
+              <label className="field-label">Initial cash</label>
+              <input className="field-input" type="number" step="any" {...register("initialCash")} />
+            </div>
+            <div>
+              <label className="field-label">Bar interval</label>
+              <select className="field-input" {...register("interval")}>
+                <option value="1d">Daily</option>
+                <option value="1h">1 hour</option>
+                <option value="15m">15 minutes</option>
+                <option value="5m">5 minutes</option>
+                <option value="1m">1 minute</option>
+              </select>
+            </div>
           </div>
           {mutation.isError ? <p className="text-sm text-red-300">{toErrorMessage(mutation.error)}</p> : null}
           <button className="primary-btn w-full" type="submit" disabled={mutation.isPending}>
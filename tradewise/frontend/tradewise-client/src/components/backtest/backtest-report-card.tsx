@@ -1,3 +1,4 @@
+import { CurveChart } from "@/components/backtest/curve-chart";
 import { MetricCard } from "@/components/backtest/metric-card";
 import { EmptyState } from "@/components/common/empty-state";
 import type { BacktestReportResponse } from "@/types/backtest";
@@ -15,6 +16,11 @@ export function BacktestReportCard({ report }: { report: BacktestReportResponse
       <div className="mb-6">
         <p className="text-xl font-semibold text-slate-100">Backtest report</p>
         <p className="text-sm text-muted">{report.strategyName} · {report.symbol}</p>
+        {report.aborted ? (
+          <p className="mt-2 text-sm text-amber-400">
+            Stopped early ({report.abortReason}){report.evaluatedUntil ? ` · metrics cover bars up to ${report.evaluatedUntil.slice(0, 10)}` : ""}
+          </p>
+        ) : null}
       </div>
       <div className="grid gap-4 md:grid-cols-2 xl:grid-cols-3">
         <MetricCard title="Total Trades" value={String(report.totalTrades)} />
@@ -22,7 +28,19 @@ export function BacktestReportCard({ report }: { report: BacktestReportResponse
         <MetricCard title="Return" value={formatPercent(report.totalReturnPercent)} tone={Number(report.totalReturnPercent) > 0 ? "positive" : Number(report.totalReturnPercent) < 0 ? "negative" : "neutral"} />
         <MetricCard title="Win Rate" value={formatPercent(report.winRatePercent)} />
         <MetricCard title="Max Drawdown" value={formatPercent(report.maxDrawdownPercent)} tone={Number(report.maxDrawdownPercent) > 0 ? "negative" : "neutral"} />
+        <MetricCard title="Sharpe Ratio" value={Number(report.sharpeRatio).toFixed(2)} />
+        <MetricCard title="Sortino Ratio" value={Number(report.sortinoRatio).toFixed(2)} />
+        <MetricCard title="CAGR" value={formatPercent(report.cagrPercent)} tone={Number(report.cagrPercent) > 0 ? "positive" : Number(report.cagrPercent) < 0 ? "negative" : "neutral"} />
+        <MetricCard title="Exposure" value={formatPercent(report.exposurePercent)} />
+        <MetricCard title="Average Trade" value={formatCurrency(report.averageTradeProfitLoss)} />
+        <MetricCard title="Longest Drawdown" value={`${report.longestDrawdownDays} days`} />
       </div>
+      {report.equityCurve && report.drawdownCurve ? (
+        <div className="mt-6 grid gap-4 xl:grid-cols-2">
+          <CurveChart title="Equity" points={report.equityCurve} tone="positive" />
+          <CurveChart title="Drawdown %" points={report.drawdownCurve} tone="negative" inverted />
+        </div>
+      ) : null}
     </div>
   );
 }
@@ -0,0 +1,48 @@
+import { cn } from "@/lib/utils/cn";
+import type { CurvePoint } from "@/types/backtest";
+
+const WIDTH = 600;
+const HEIGHT = 160;
+
+export function CurveChart({ title, points, tone, inverted = false }: {
+  title: string;
+  points: CurvePoint[];
+  tone: "positive" | "negative";
+  inverted?: boolean;
+}) {
+  if (points.length < 2) return null;
+
+  const values = points.map((point) => Number(point.value));
+  const times = points.map((point) => new Date(point.time).getTime());
+  const minValue = Math.min(...values);
+  const maxValue = Math.max(...values);
+  const valueRange = maxValue - minValue || 1;
+  const timeRange = times[times.length - 1] - times[0] || 1;
+
+  const path = points
+    .map((_, i) => {
+      const x = ((times[i] - times[0]) / timeRange) * WIDTH;
+      const scaled = (values[i] - minValue) / valueRange;
+      const y = (inverted ? scaled : 1 - scaled) * HEIGHT;
+      return `${i === 0 ? "M" : "L"}${x.toFixed(1)},${y.toFixed(1)}`;
+    })
+    .join(" ");
+
+  return (
+    <div className="panel-alt p-4">
+      <div className="mb-3 flex items-baseline justify-between">
+        <p className="text-sm text-muted">{title}</p>
+        <p className="text-xs text-muted">{minValue.toFixed(2)} – {maxValue.toFixed(2)}</p>
+      </div>
+      <svg viewBox={`0 0 ${WIDTH} ${HEIGHT}`} preserveAspectRatio="none" className="h-40 w-full">
+        <path
+          d={path}
+          fill="none"
+          strokeWidth={1.5}
+          vectorEffect="non-scaling-stroke"
+          className={cn(tone === "positive" ? "stroke-emerald-400" : "stroke-red-400")}
+        />
+      </svg>
+    </div>
+  );
+}
@@ -1,9 +1,50 @@
+export type MonteCarloMode = "RESAMPLE" | "SHUFFLE";
+
+export type MonteCarloOptions = {
+  iterations?: number;
+  mode?: MonteCarloMode;
+  timeBudgetMillis?: number;
+  seed?: number;
+};
+
+export type BarInterval = "1m" | "5m" | "15m" | "1h" | "1d";
+
 export type BacktestRequest = {
   strategyId: string;
   symbol: string;
   startDate: string;
   endDate: string;
   initialCash: number;
+  interval?: BarInterval;
+  monteCarlo?: MonteCarloOptions;
+  curvePoints?: number;
+  timeoutMillis?: number;
+};
+
+export type AbortReason = "DEADLINE" | "BAR_LIMIT" | "CANCELLED";
+
+export type PercentileSummary = {
+  p5: number;
+  p25: number;
+  p50: number;
+  p75: number;
+  p95: number;
+};
+
+export type MonteCarloSummary = {
+  mode: MonteCarloMode;
+  iterationsRequested: number;
+  iterationsCompleted: number;
+  timeBudgetExceeded: boolean;
+  elapsedMillis: number;
+  totalReturnPercent: PercentileSummary;
+  maxDrawdownPercent: PercentileSummary;
+  probabilityOfLossPercent: number;
+};
+
+export type CurvePoint = {
+  time: string;
+  value: number;
 };
 
 export type BacktestReportResponse = {
@@ -14,4 +55,16 @@ export type BacktestReportResponse = {
   totalReturnPercent: number;
   winRatePercent: number;
   maxDrawdownPercent: number;
+  sharpeRatio: number;
+  sortinoRatio: number;
+  cagrPercent: number;
+  exposurePercent: number;
+  averageTradeProfitLoss: number;
+  longestDrawdownDays: number;
+  monteCarlo?: MonteCarloSummary | null;
+  equityCurve?: CurvePoint[] | null;
+  drawdownCurve?: CurvePoint[] | null;
+  aborted?: boolean;
+  abortReason?: AbortReason | null;
+  evaluatedUntil?: string | null;
 };